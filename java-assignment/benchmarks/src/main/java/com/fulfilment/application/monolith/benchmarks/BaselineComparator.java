@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result against the checked-in baseline.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.fulfilment.application.monolith.benchmarks.BaselineComparator \
+ *     benchmarks/baseline/baseline.json target/result.json [tolerancePercent]
+ * </pre>
+ *
+ * <p>A benchmark regresses when its throughput drops, or its normalised allocation
+ * ({@code gc.alloc.rate.norm}, bytes per operation) grows, by more than the tolerance (default
+ * 10%). The process exits with status 1 if any benchmark regressed.
+ */
+public final class BaselineComparator {
+
+  private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+  private BaselineComparator() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("usage: BaselineComparator <baseline.json> <result.json> [tolerancePercent]");
+      System.exit(2);
+    }
+    double tolerance = args.length > 2 ? Double.parseDouble(args[2]) / 100.0 : 0.10;
+
+    Map<String, Score> baseline = read(Path.of(args[0]));
+    Map<String, Score> current = read(Path.of(args[1]));
+
+    boolean regressed = false;
+    System.out.printf("%-70s %14s %14s %8s %10s %10s%n",
+        "benchmark", "baseline", "current", "change", "B/op base", "B/op now");
+    for (Map.Entry<String, Score> entry : current.entrySet()) {
+      Score now = entry.getValue();
+      Score base = baseline.get(entry.getKey());
+      if (base == null) {
+        System.out.printf("%-70s %14s %14.1f %8s%n", entry.getKey(), "-", now.throughput, "new");
+        continue;
+      }
+
+      double change = (now.throughput - base.throughput) / base.throughput;
+      boolean slower = change < -tolerance;
+      boolean heavier = !Double.isNaN(base.allocPerOp) && !Double.isNaN(now.allocPerOp)
+          && now.allocPerOp > base.allocPerOp * (1 + tolerance) + 8;
+      regressed |= slower || heavier;
+
+      System.out.printf("%-70s %14.1f %14.1f %+7.1f%% %10.0f %10.0f%s%n",
+          entry.getKey(), base.throughput, now.throughput, change * 100,
+          base.allocPerOp, now.allocPerOp, slower || heavier ? "  REGRESSION" : "");
+    }
+    System.exit(regressed ? 1 : 0);
+  }
+
+  private static Map<String, Score> read(Path file) throws IOException {
+    Map<String, Score> scores = new LinkedHashMap<>();
+    for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+      String benchmark = run.path("benchmark").asText();
+      StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+      run.path("params").fields().forEachRemaining(param ->
+          key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+
+      JsonNode alloc = run.path("secondaryMetrics").path(ALLOC_NORM).path("score");
+      scores.put(key.toString(), new Score(
+          run.path("primaryMetric").path("score").asDouble(),
+          alloc.isNumber() ? alloc.asDouble() : Double.NaN));
+    }
+    return scores;
+  }
+
+  private record Score(double throughput, double allocPerOp) {
+  }
+}
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The use cases log every call at INFO. Outside Quarkus, JBoss Logging falls back to
+ * java.util.logging, which would print each of those lines to stderr synchronously, so the
+ * benchmarks raise the application's loggers to WARNING and measure only a disabled level check.
+ * Production does log these calls, through the async and sampled console handler; the results
+ * leave that cost out.
+ */
+final class BenchmarkLogging {
+
+  private static final Logger APPLICATION = Logger.getLogger("com.fulfilment.application.monolith");
+
+  private BenchmarkLogging() {
+  }
+
+  static void quiet() {
+    APPLICATION.setLevel(Level.WARNING);
+  }
+}
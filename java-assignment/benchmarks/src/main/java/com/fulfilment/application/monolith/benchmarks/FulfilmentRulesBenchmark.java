@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.fulfilment.FulfilmentRules;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The checks {@code FulfilmentService.associateProductWithWarehouse} runs once the product, the
+ * warehouse and the stores sharing its warehouses are loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FulfilmentRulesBenchmark {
+
+  @Param({"3", "50"})
+  public int stores;
+
+  private List<DbWarehouse> productWarehouses;
+  private DbWarehouse added;
+  private List<Store> storesWithWarehouse;
+
+  @Setup
+  public void setUp() {
+    productWarehouses = List.of(warehouse(1L));
+    added = warehouse(2L);
+    storesWithWarehouse = new ArrayList<>(stores);
+    for (int i = 0; i < stores; i++) {
+      Store store = new Store("STORE-" + i);
+      store.fulfilmentUnits.add(warehouse(1L + i % 2));
+      store.fulfilmentUnits.add(warehouse(10L + i));
+      store.fulfilmentUnits.add(warehouse(100L + i));
+      storesWithWarehouse.add(store);
+    }
+  }
+
+  @Benchmark
+  public Set<Long> associateProductWithWarehouse() {
+    FulfilmentRules.checkAssociable(added);
+    FulfilmentRules.checkProductsPerWarehouse(3);
+    Set<Long> ids = FulfilmentRules.warehouseIds(productWarehouses, added);
+    FulfilmentRules.checkWarehousesPerProductPerStore(ids, storesWithWarehouse);
+    return ids;
+  }
+
+  @Benchmark
+  public int associateStoreWithWarehouse() {
+    int count = storesWithWarehouse.get(0).fulfilmentUnits.size() - 1;
+    FulfilmentRules.checkAssociable(added);
+    FulfilmentRules.checkWarehousesPerStore(count);
+    return count;
+  }
+
+  private static DbWarehouse warehouse(Long id) {
+    DbWarehouse warehouse = new DbWarehouse();
+    warehouse.id = id;
+    return warehouse;
+  }
+}
@@ -0,0 +1,172 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link WarehouseStore} over a map of active warehouses, so the use cases can be measured without
+ * a database. Like the JPA adapter it hands out copies. Only the last
+ * {@value #ARCHIVED_PER_UNIT} archived versions of each business unit are kept, so long benchmark
+ * runs do not grow the heap; {@link #archivedCount()} counts all of them.
+ */
+public class InMemoryWarehouseStore implements WarehouseStore {
+
+  static final int ARCHIVED_PER_UNIT = 16;
+
+  private final Map<String, Warehouse> active = new HashMap<>();
+  private final Map<String, ArrayDeque<Warehouse>> archivedByUnit = new HashMap<>();
+  private long nextId = 1;
+  private long archived;
+
+  @Override
+  public List<Warehouse> getAll() {
+    List<Warehouse> all = new ArrayList<>(active.size());
+    for (Warehouse warehouse : active.values()) {
+      all.add(copy(warehouse));
+    }
+    return all;
+  }
+
+  @Override
+  public List<Warehouse> getAll(int limit) {
+    List<Warehouse> all = getAll();
+    return all.size() > limit ? all.subList(0, limit) : all;
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    Warehouse stored = copy(warehouse);
+    stored.id = nextId++;
+    stored.createdAt = LocalDateTime.now();
+    stored.archivedAt = null;
+    active.put(stored.businessUnitCode, stored);
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    Warehouse stored = active.get(warehouse.businessUnitCode);
+    if (stored == null) {
+      throw new IllegalArgumentException("Warehouse not found for update: " + warehouse.businessUnitCode);
+    }
+    if (warehouse.archivedAt != null) {
+      active.remove(warehouse.businessUnitCode);
+      stored.archivedAt = warehouse.archivedAt;
+      ArrayDeque<Warehouse> versions = archivedByUnit.computeIfAbsent(stored.businessUnitCode, buc -> new ArrayDeque<>());
+      if (versions.size() == ARCHIVED_PER_UNIT) {
+        versions.removeFirst();
+      }
+      versions.addLast(stored);
+      archived++;
+      return;
+    }
+    stored.location = warehouse.location;
+    stored.capacity = warehouse.capacity;
+    stored.stock = warehouse.stock;
+  }
+
+  @Override
+  public void replace(Warehouse current, Warehouse replacement) {
+    update(current);
+    create(replacement);
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    active.remove(warehouse.businessUnitCode);
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    Warehouse warehouse = active.get(buCode);
+    return warehouse == null ? null : copy(warehouse);
+  }
+
+  @Override
+  public Warehouse findWarehouseById(Long id) {
+    for (Warehouse warehouse : active.values()) {
+      if (warehouse.id.equals(id)) {
+        return copy(warehouse);
+      }
+    }
+    for (ArrayDeque<Warehouse> versions : archivedByUnit.values()) {
+      for (Warehouse warehouse : versions) {
+        if (warehouse.id.equals(id)) {
+          return copy(warehouse);
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocation(String locationIdentifier) {
+    List<Warehouse> result = new ArrayList<>();
+    for (Warehouse warehouse : active.values()) {
+      if (warehouse.location.equals(locationIdentifier)) {
+        result.add(copy(warehouse));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<Warehouse> findArchivedByBusinessUnitCode(String buCode) {
+    List<Warehouse> result = new ArrayList<>();
+    for (Warehouse warehouse : archivedByUnit.getOrDefault(buCode, new ArrayDeque<>())) {
+      result.add(copy(warehouse));
+    }
+    return result;
+  }
+
+  @Override
+  public List<Warehouse> findHistoryByBusinessUnitCode(String buCode) {
+    List<Warehouse> result = findArchivedByBusinessUnitCode(buCode);
+    Warehouse current = active.get(buCode);
+    if (current != null) {
+      result.add(copy(current));
+    }
+    result.sort(Comparator.comparing(w -> w.createdAt));
+    return result;
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCodeAsOf(String buCode, LocalDateTime at) {
+    return findHistoryByBusinessUnitCode(buCode).stream()
+        .filter(w -> !w.createdAt.isAfter(at))
+        .max(Comparator.comparing(w -> w.createdAt))
+        .filter(w -> w.archivedAt == null || w.archivedAt.isAfter(at))
+        .orElse(null);
+  }
+
+  public long archivedCount() {
+    return archived;
+  }
+
+  static Warehouse warehouse(String businessUnitCode, String location, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+
+  private static Warehouse copy(Warehouse source) {
+    Warehouse copy = new Warehouse();
+    copy.id = source.id;
+    copy.businessUnitCode = source.businessUnitCode;
+    copy.location = source.location;
+    copy.capacity = source.capacity;
+    copy.stock = source.stock;
+    copy.createdAt = source.createdAt;
+    copy.archivedAt = source.archivedAt;
+    return copy;
+  }
+}
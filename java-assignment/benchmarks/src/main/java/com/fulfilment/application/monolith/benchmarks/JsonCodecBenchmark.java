@@ -0,0 +1,98 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.json.JsonCodecs;
+import com.fulfilment.application.monolith.products.Product;
+import com.warehouse.api.beans.Warehouse;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Response and request bodies through reflective databind ({@code reflective}) and through the
+ * {@link JsonCodecs} ({@code codecs}): the list endpoints' payloads and a single request body.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+  private static final TypeReference<List<Warehouse>> WAREHOUSE_LIST = new TypeReference<>() {
+  };
+
+  @Param({"reflective", "codecs"})
+  public String mapper;
+
+  private ObjectMapper objectMapper;
+  private List<Warehouse> warehouses;
+  private List<Product> products;
+  private byte[] warehouseListJson;
+  private byte[] warehouseJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    if (mapper.equals("codecs")) {
+      objectMapper.registerModule(JsonCodecs.module());
+    }
+
+    warehouses = new ArrayList<>();
+    products = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      Warehouse warehouse = new Warehouse();
+      warehouse.setId(String.valueOf(i));
+      warehouse.setBusinessUnitCode("MWH." + i);
+      warehouse.setLocation("AMSTERDAM-001");
+      warehouse.setCapacity(100);
+      warehouse.setStock(i);
+      warehouses.add(warehouse);
+
+      Product product = new Product("PRODUCT-" + i);
+      product.id = (long) i;
+      product.description = "Product number " + i;
+      product.price = BigDecimal.valueOf(i * 100 + 99, 2);
+      product.stock = i;
+      products.add(product);
+    }
+    warehouseListJson = objectMapper.writeValueAsBytes(warehouses);
+    warehouseJson = objectMapper.writeValueAsBytes(warehouses.get(0));
+  }
+
+  @Benchmark
+  public byte[] writeWarehouseList() throws IOException {
+    return objectMapper.writeValueAsBytes(warehouses);
+  }
+
+  @Benchmark
+  public byte[] writeProductList() throws IOException {
+    return objectMapper.writeValueAsBytes(products);
+  }
+
+  @Benchmark
+  public List<Warehouse> readWarehouseList() throws IOException {
+    return objectMapper.readValue(warehouseListJson, WAREHOUSE_LIST);
+  }
+
+  @Benchmark
+  public Warehouse readWarehouse() throws IOException {
+    return objectMapper.readValue(warehouseJson, Warehouse.class);
+  }
+}
@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.logging.SuccessPathSampler;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.logmanager.formatters.JsonFormatter;
+import org.jboss.logmanager.handlers.AsyncHandler;
+import org.jboss.logmanager.handlers.OutputStreamHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code CreateWarehouseUseCase} with its INFO logs written as JSON to a file, the way the console
+ * handler writes them in production.
+ *
+ * <ul>
+ * <li>{@code sync}: formatted and flushed on the calling thread (the previous configuration).</li>
+ * <li>{@code async}: handed to a bounded {@link AsyncHandler} that discards on overflow.</li>
+ * <li>{@code async-sampled}: as {@code async}, with the {@link SuccessPathSampler} on the file
+ * handler, as configured in {@code application.properties}.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+@Threads(4)
+public class LoggingBenchmark {
+
+  private static final Logger APPLICATION = Logger.getLogger("com.fulfilment.application.monolith");
+
+  @Param({"sync", "async", "async-sampled"})
+  public String mode;
+
+  private Path logFile;
+  private Handler handler;
+
+  @State(Scope.Thread)
+  public static class PerThread {
+
+    private InMemoryWarehouseStore store;
+    private CreateWarehouseUseCase createUseCase;
+
+    @Setup
+    public void setUp() {
+      store = new InMemoryWarehouseStore();
+      createUseCase = new CreateWarehouseUseCase(store, new LocationGateway());
+    }
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    logFile = Files.createTempFile("logging-benchmark", ".json");
+    var file = new OutputStreamHandler(new FileOutputStream(logFile.toFile()), new JsonFormatter());
+    file.setAutoFlush(true);
+
+    if (mode.equals("sync")) {
+      handler = file;
+    } else {
+      if (mode.equals("async-sampled")) {
+        file.setFilter(new SuccessPathSampler(true, List.of("com.fulfilment.application.monolith.warehouses"), 20, 100, true));
+      }
+      var async = new AsyncHandler(8192);
+      async.setOverflowAction(AsyncHandler.OverflowAction.DISCARD);
+      async.addHandler(file);
+      handler = async;
+    }
+
+    APPLICATION.setLevel(Level.INFO);
+    APPLICATION.setUseParentHandlers(false);
+    APPLICATION.addHandler(handler);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    APPLICATION.removeHandler(handler);
+    handler.close();
+    Files.deleteIfExists(logFile);
+  }
+
+  @Benchmark
+  public Warehouse create(PerThread thread) {
+    Warehouse warehouse = InMemoryWarehouseStore.warehouse("MWH.NEW", "AMSTERDAM-001", 80, 30);
+    thread.createUseCase.create(warehouse);
+    thread.store.remove(warehouse);
+    return warehouse;
+  }
+}
@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code GET /warehouse} mapping chain: {@link DbWarehouse} to domain model to API bean.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseMappingBenchmark {
+
+  @Param({"1", "100"})
+  public int size;
+
+  private List<DbWarehouse> rows;
+
+  @Setup
+  public void setUp() {
+    rows = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      DbWarehouse row = new DbWarehouse();
+      row.id = (long) i;
+      row.businessUnitCode = "MWH." + i;
+      row.location = "AMSTERDAM-001";
+      row.capacity = 100;
+      row.stock = i % 100;
+      row.createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+      rows.add(row);
+    }
+  }
+
+  @Benchmark
+  public List<com.warehouse.api.beans.Warehouse> dbToApi() {
+    return rows.stream().map(DbWarehouse::toWarehouse).map(WarehouseMapper::toApiWarehouse).toList();
+  }
+}
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The warehouse use cases over an {@link InMemoryWarehouseStore} and the real {@link LocationGateway}.
+ *
+ * <p>Each operation leaves the store as it found it, so every invocation runs the same validation
+ * path: {@code create} removes what it created, {@code archive} re-creates what it archived and
+ * {@code replace} swaps an active warehouse for an equivalent one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseUseCaseBenchmark {
+
+  private InMemoryWarehouseStore store;
+  private CreateWarehouseUseCase createUseCase;
+  private ReplaceWarehouseUseCase replaceUseCase;
+  private ArchiveWarehouseUseCase archiveUseCase;
+
+  @Setup
+  public void setUp() {
+    BenchmarkLogging.quiet();
+    store = new InMemoryWarehouseStore();
+    LocationGateway locations = new LocationGateway();
+    createUseCase = new CreateWarehouseUseCase(store, locations);
+    replaceUseCase = new ReplaceWarehouseUseCase(store, locations);
+    archiveUseCase = new ArchiveWarehouseUseCase(store);
+
+    // background population: one warehouse per location slot except AMSTERDAM-001
+    store.create(InMemoryWarehouseStore.warehouse("MWH.001", "ZWOLLE-001", 40, 10));
+    store.create(InMemoryWarehouseStore.warehouse("MWH.012", "AMSTERDAM-002", 50, 5));
+    store.create(InMemoryWarehouseStore.warehouse("MWH.023", "TILBURG-001", 30, 27));
+    store.create(InMemoryWarehouseStore.warehouse("MWH.REPLACE", "EINDHOVEN-001", 60, 20));
+    store.create(InMemoryWarehouseStore.warehouse("MWH.ARCHIVE", "HELMOND-001", 45, 12));
+  }
+
+  @Benchmark
+  public Warehouse create() {
+    Warehouse warehouse = InMemoryWarehouseStore.warehouse("MWH.NEW", "AMSTERDAM-001", 80, 30);
+    createUseCase.create(warehouse);
+    store.remove(warehouse);
+    return warehouse;
+  }
+
+  @Benchmark
+  public Warehouse replace() {
+    Warehouse replacement = InMemoryWarehouseStore.warehouse("MWH.REPLACE", "EINDHOVEN-001", 65, 20);
+    replaceUseCase.replace(replacement);
+    return replacement;
+  }
+
+  @Benchmark
+  public Warehouse archive() {
+    Warehouse warehouse = store.findByBusinessUnitCode("MWH.ARCHIVE");
+    archiveUseCase.archive(warehouse);
+    store.create(warehouse);
+    return warehouse;
+  }
+}
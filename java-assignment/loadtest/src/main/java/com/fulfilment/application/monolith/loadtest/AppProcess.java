@@ -0,0 +1,142 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the packaged application as a child process against the given datasource, and waits until
+ * it serves requests. A {@code .jar} ({@code target/quarkus-app/quarkus-run.jar}) is started with
+ * the harness's JVM; anything else is taken to be a native runner and executed directly.
+ *
+ * <p>Records the time from process start to the first successful request, and reads the
+ * process's resident set size from {@code /proc} (Linux only).
+ */
+final class AppProcess implements AutoCloseable {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+  private final Process process;
+  private final boolean nativeImage;
+  private Duration timeToFirstRequest;
+
+  private AppProcess(Process process, boolean nativeImage) {
+    this.process = process;
+    this.nativeImage = nativeImage;
+  }
+
+  static AppProcess start(LoadTestOptions options, HttpClient client) throws IOException, InterruptedException {
+    return start(options, client, URI.create(options.baseUrl()), List.of(), Path.of("loadtest-app.log"));
+  }
+
+  /**
+   * Starts the application on the port of {@code base}, with {@code extraOptions} after the
+   * configured ones, writing its output to {@code log}.
+   */
+  static AppProcess start(LoadTestOptions options, HttpClient client, URI base, List<String> extraOptions, Path log)
+      throws IOException, InterruptedException {
+    boolean nativeImage = !options.launch().toString().endsWith(".jar");
+    List<String> command = new ArrayList<>();
+    command.add(nativeImage
+        ? options.launch().toAbsolutePath().toString()
+        : Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-Dquarkus.http.port=" + (base.getPort() > 0 ? base.getPort() : 8080));
+    command.add("-Dquarkus.datasource.jdbc.url=" + options.jdbcUrl());
+    command.add("-Dquarkus.datasource.username=" + options.dbUser());
+    command.add("-Dquarkus.datasource.password=" + options.dbPassword());
+    command.add("-Dquarkus.datasource.replica.jdbc.url=" + options.replicaJdbcUrl());
+    command.add("-Dquarkus.datasource.replica.username=" + options.dbUser());
+    command.add("-Dquarkus.datasource.replica.password=" + options.dbPassword());
+    command.addAll(options.appOptions());
+    command.addAll(extraOptions);
+    if (!nativeImage) {
+      command.add("-jar");
+      command.add(options.launch().toString());
+    }
+
+    long startedAt = System.nanoTime();
+    Process process = new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(log.toFile())
+        .start();
+    AppProcess app = new AppProcess(process, nativeImage);
+    System.out.printf("Started %s application (pid %d), output in %s%n", app.mode(), process.pid(),
+        log.toAbsolutePath());
+
+    long deadline = startedAt + STARTUP_TIMEOUT.toNanos();
+    HttpRequest probe = HttpRequest.newBuilder(base.resolve("/store")).timeout(Duration.ofSeconds(2)).GET().build();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IOException("Application exited with status " + process.exitValue() + "; see " + log);
+      }
+      try {
+        if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          app.timeToFirstRequest = Duration.ofNanos(System.nanoTime() - startedAt);
+          System.out.printf("First request served after %d ms, RSS %d MB%n", app.timeToFirstRequest.toMillis(),
+              app.residentKb() / 1024);
+          return app;
+        }
+      } catch (IOException e) {
+        // not listening yet
+      }
+      Thread.sleep(10);
+    }
+    app.close();
+    throw new IOException("Application did not become ready within " + STARTUP_TIMEOUT);
+  }
+
+  String mode() {
+    return nativeImage ? "native" : "jvm";
+  }
+
+  Duration timeToFirstRequest() {
+    return timeToFirstRequest;
+  }
+
+  /**
+   * Current resident set size in KiB, or -1 where {@code /proc} is not available.
+   */
+  long residentKb() {
+    return procStatus("VmRSS:");
+  }
+
+  /**
+   * Peak resident set size since the process started, in KiB, or -1 where {@code /proc} is not
+   * available.
+   */
+  long peakResidentKb() {
+    return procStatus("VmHWM:");
+  }
+
+  private long procStatus(String field) {
+    try {
+      for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+        if (line.startsWith(field)) {
+          return Long.parseLong(line.substring(field.length()).replace("kB", "").trim());
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // not Linux, or the process is gone
+    }
+    return -1;
+  }
+
+  /**
+   * Stops the application with SIGTERM so it shuts down gracefully; an instrumented native build
+   * writes its PGO profile at this point.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    process.destroy();
+    if (!process.waitFor(20, java.util.concurrent.TimeUnit.SECONDS)) {
+      process.destroyForcibly();
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Measures how long a write on one app node stays invisible on another node that has the entity in
+ * its second-level cache.
+ *
+ * <p>Runs two nodes against the same database: the one at {@code --base-url} and a second one on
+ * the next port. With {@code --launch} both are started here, the second without schema
+ * generation. Each round reads a store on the reading node (so it is cached there), renames it
+ * through the other node, and polls the reading node until the new name is served; the time from
+ * the write's response to that first fresh read is the staleness. Writes alternate between the
+ * nodes. Meanwhile background reads at {@code --rate} keep both caches busy, and at the end the
+ * hit ratio of each node's second-level cache is read from {@code /q/metrics}.
+ *
+ * <pre>
+ * java -cp loadtest.jar com.fulfilment.application.monolith.loadtest.CacheCoherenceCheck [--name=value ...]
+ * </pre>
+ */
+public final class CacheCoherenceCheck {
+
+  private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private static final Duration CONVERGENCE_TIMEOUT = Duration.ofSeconds(2);
+
+  private final LoadTestOptions options;
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+  private final Histogram staleness = new Histogram(TimeUnit.SECONDS.toMicros(10), 3);
+  private final AtomicLong backgroundReads = new AtomicLong();
+  private long staleReads;
+  private long unconverged;
+
+  private CacheCoherenceCheck(LoadTestOptions options) {
+    this.options = options;
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.exit(2);
+      return;
+    }
+    new CacheCoherenceCheck(options).run();
+  }
+
+  private void run() throws Exception {
+    URI first = URI.create(options.baseUrl());
+    URI second = URI.create(first.getScheme() + "://" + first.getHost() + ":" + (port(first) + 1));
+
+    List<AppProcess> apps = new ArrayList<>();
+    ScheduledExecutorService readers = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "coherence-reads");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // Fixed-rate tasks never overlap, so the reads themselves run on their own threads.
+    ExecutorService reads = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "coherence-reader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      if (options.launch() != null) {
+        apps.add(AppProcess.start(options, client, first, List.of(), Path.of("loadtest-app-1.log")));
+        // The first node owns the schema; the second must not drop and reload it.
+        apps.add(AppProcess.start(options, client, second, List.of(
+            "-Dquarkus.hibernate-orm.database.generation=none",
+            "-Dquarkus.hibernate-orm.sql-load-script=no-file"), Path.of("loadtest-app-2.log")));
+      }
+      URI[] nodes = {first, second};
+      List<Long> stores = seedStores(first);
+
+      SplittableRandom random = new SplittableRandom(options.seed());
+      long intervalMicros = (long) (TimeUnit.SECONDS.toMicros(1) / options.rate());
+      SplittableRandom readerRandom = random.split();
+      readers.scheduleAtFixedRate(() -> {
+        URI node = nodes[readerRandom.nextInt(2)];
+        long id = stores.get(readerRandom.nextInt(stores.size()));
+        reads.execute(() -> {
+          try {
+            get(node, "/store/" + id);
+            backgroundReads.incrementAndGet();
+          } catch (IOException | InterruptedException e) {
+            // background traffic only; failures do not affect the measurement
+          }
+        });
+      }, 0, intervalMicros, TimeUnit.MICROSECONDS);
+
+      System.out.printf("Warming caches for %s, then measuring for %s%n", options.warmup(), options.duration());
+      Thread.sleep(options.warmup().toMillis());
+
+      long end = System.nanoTime() + options.duration().toNanos();
+      int round = 0;
+      while (System.nanoTime() < end) {
+        URI writer = nodes[round % 2];
+        URI reader = nodes[(round + 1) % 2];
+        measureRound(writer, reader, stores.get(random.nextInt(stores.size())), round++);
+      }
+      readers.shutdownNow();
+      reads.shutdown();
+      reads.awaitTermination(10, TimeUnit.SECONDS);
+
+      report(round, nodes);
+    } finally {
+      readers.shutdownNow();
+      reads.shutdownNow();
+      for (AppProcess app : apps) {
+        app.close();
+      }
+    }
+  }
+
+  private void measureRound(URI writer, URI reader, long id, int round) throws IOException, InterruptedException {
+    String before = get(reader, "/store/" + id);
+    String name = "CC-" + round;
+    HttpRequest put = HttpRequest.newBuilder(writer.resolve("/store/" + id))
+        .header("Content-Type", "application/json")
+        .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"" + name + "\",\"quantityProductsInStock\":" + round % 50 + "}"))
+        .build();
+    if (before == null || client.send(put, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+      return;
+    }
+    long written = System.nanoTime();
+    long deadline = written + CONVERGENCE_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      String body = get(reader, "/store/" + id);
+      if (body != null && body.contains("\"" + name + "\"")) {
+        staleness.recordValue(Math.min(staleness.getHighestTrackableValue(), (System.nanoTime() - written) / 1000));
+        return;
+      }
+      staleReads++;
+      Thread.sleep(1);
+    }
+    unconverged++;
+  }
+
+  private List<Long> seedStores(URI node) throws IOException, InterruptedException {
+    String runId = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < options.stores(); i++) {
+      HttpRequest request = HttpRequest.newBuilder(node.resolve("/store"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(
+              "{\"name\":\"CC-SEED-" + runId + "-" + i + "\",\"quantityProductsInStock\":1}"))
+          .build();
+      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() == 201) {
+        ids.add(JSON.readTree(response.body()).path("id").asLong());
+      }
+    }
+    if (ids.isEmpty()) {
+      throw new IOException("Could not seed any store on " + node);
+    }
+    return ids;
+  }
+
+  private void report(int rounds, URI[] nodes) throws IOException, InterruptedException {
+    ObjectNode report = JSON.createObjectNode();
+    report.put("rounds", rounds);
+    report.put("backgroundReads", backgroundReads.get());
+    report.put("staleReads", staleReads);
+    report.put("unconverged", unconverged);
+    ObjectNode micros = report.putObject("stalenessMicros");
+    micros.put("p50", staleness.getValueAtPercentile(50));
+    micros.put("p99", staleness.getValueAtPercentile(99));
+    micros.put("max", staleness.getMaxValue());
+
+    System.out.printf("%n%d writes, %d converged within %d ms; staleness p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+        rounds, staleness.getTotalCount(), CONVERGENCE_TIMEOUT.toMillis(), staleness.getValueAtPercentile(50) / 1000.0,
+        staleness.getValueAtPercentile(99) / 1000.0, staleness.getMaxValue() / 1000.0);
+    for (int i = 0; i < nodes.length; i++) {
+      double[] hitMiss = cacheRequests(nodes[i]);
+      double ratio = hitMiss[0] + hitMiss[1] == 0 ? 0 : hitMiss[0] / (hitMiss[0] + hitMiss[1]);
+      ObjectNode node = report.putObject("node" + (i + 1));
+      node.put("url", nodes[i].toString());
+      node.put("cacheHits", (long) hitMiss[0]);
+      node.put("cacheMisses", (long) hitMiss[1]);
+      node.put("cacheHitRatio", ratio);
+      System.out.printf("%s: second-level cache hit ratio %.3f (%d hits, %d misses)%n", nodes[i], ratio,
+          (long) hitMiss[0], (long) hitMiss[1]);
+    }
+    JSON.writeValue(options.output().toFile(), report);
+    System.out.printf("Report written to %s%n", options.output().toAbsolutePath());
+  }
+
+  /**
+   * Hits and misses of entity lookups in the second-level cache, summed over regions.
+   */
+  private double[] cacheRequests(URI node) throws IOException, InterruptedException {
+    double[] hitMiss = new double[2];
+    String metrics = get(node, "/q/metrics");
+    if (metrics == null) {
+      return hitMiss;
+    }
+    for (String line : metrics.split("\n")) {
+      if (!line.startsWith("hibernate_second_level_cache_requests_total{")) {
+        continue;
+      }
+      double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+      if (line.contains("result=\"hit\"")) {
+        hitMiss[0] += value;
+      } else if (line.contains("result=\"miss\"")) {
+        hitMiss[1] += value;
+      }
+    }
+    return hitMiss;
+  }
+
+  private String get(URI node, String path) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(node.resolve(path)).timeout(Duration.ofSeconds(5)).GET().build();
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    return response.statusCode() == 200 ? response.body() : null;
+  }
+
+  private static int port(URI uri) {
+    return uri.getPort() > 0 ? uri.getPort() : 8080;
+  }
+}
@@ -0,0 +1,48 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes of one endpoint, recorded in microseconds.
+ *
+ * <p>{@code responseTime} is measured from the request's scheduled arrival, so queueing inside the
+ * load generator or the server counts against the system (no coordinated omission);
+ * {@code serviceTime} is measured from the moment the request was actually sent.
+ */
+final class EndpointStats {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+  final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+  final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+  final LongAdder success = new LongAdder();
+  final LongAdder clientErrors = new LongAdder();
+  final LongAdder serverErrors = new LongAdder();
+  final LongAdder ioErrors = new LongAdder();
+
+  void record(int status, long scheduledNanos, long sentNanos, long completedNanos) {
+    responseTime.recordValue(micros(completedNanos - scheduledNanos));
+    serviceTime.recordValue(micros(completedNanos - sentNanos));
+    switch (status / 100) {
+      case 2 -> success.increment();
+      case 4 -> clientErrors.increment();
+      default -> serverErrors.increment();
+    }
+  }
+
+  void recordFailure(long scheduledNanos, long completedNanos) {
+    responseTime.recordValue(micros(completedNanos - scheduledNanos));
+    ioErrors.increment();
+  }
+
+  long count() {
+    return success.sum() + clientErrors.sum() + serverErrors.sum() + ioErrors.sum();
+  }
+
+  private static long micros(long nanos) {
+    return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+  }
+}
@@ -0,0 +1,230 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares insert throughput of database sequence ids with application-generated, time-ordered
+ * ids, directly over JDBC against the database of {@code --jdbc-url}.
+ *
+ * <p>Each cell of the run inserts into a fresh {@code id_bench} table for {@code --duration} (after
+ * {@code --warmup}) from 1, 4 and 16 threads, one row per transaction (as the REST create paths do)
+ * and 50 rows per transaction (a bulk path), with these id strategies:
+ *
+ * <ul>
+ *   <li>{@code SEQUENCE_POOLED}: Hibernate's former default, one {@code nextval} per 50 ids;
+ *   <li>{@code SEQUENCE_IN_INSERT}: {@code nextval} inside each insert, the cheapest use of a sequence;
+ *   <li>{@code SNOWFLAKE}: ids generated in the client with the layout of the app's
+ *       {@code SnowflakeIds};
+ *   <li>{@code RANDOM}: random positive ids, for the cost of inserting all over the primary key index.
+ * </ul>
+ *
+ * <p>Besides rows per second, each cell reports the size of the primary key index per thousand rows;
+ * keys arriving in order fill index pages instead of splitting them.
+ *
+ * <pre>
+ * java -cp loadtest.jar com.fulfilment.application.monolith.loadtest.IdInsertBenchmark [--name=value ...]
+ * </pre>
+ */
+public final class IdInsertBenchmark {
+
+  private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private static final int[] THREADS = {1, 4, 16};
+  private static final int[] ROWS_PER_TRANSACTION = {1, 50};
+  private static final int ALLOCATION_SIZE = 50;
+
+  enum Strategy {
+    SEQUENCE_POOLED, SEQUENCE_IN_INSERT, SNOWFLAKE, RANDOM
+  }
+
+  private final LoadTestOptions options;
+
+  private IdInsertBenchmark(LoadTestOptions options) {
+    this.options = options;
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.exit(2);
+      return;
+    }
+    new IdInsertBenchmark(options).run();
+  }
+
+  private void run() throws Exception {
+    ArrayNode cells = JSON.createArrayNode();
+    System.out.printf("%-17s %7s %6s %12s %16s%n", "strategy", "threads", "batch", "rows/s", "index KB/1k rows");
+    for (int rowsPerTransaction : ROWS_PER_TRANSACTION) {
+      for (int threads : THREADS) {
+        for (Strategy strategy : Strategy.values()) {
+          ObjectNode cell = measure(strategy, threads, rowsPerTransaction);
+          cells.add(cell);
+          System.out.printf("%-17s %7d %6d %12.0f %16.1f%n", strategy, threads, rowsPerTransaction,
+              cell.get("rowsPerSecond").asDouble(), cell.get("indexKbPerThousandRows").asDouble());
+        }
+      }
+    }
+    try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS id_bench");
+      statement.execute("DROP SEQUENCE IF EXISTS id_bench_pooled_seq");
+      statement.execute("DROP SEQUENCE IF EXISTS id_bench_row_seq");
+    }
+    ObjectNode report = JSON.createObjectNode();
+    report.set("cells", cells);
+    JSON.writeValue(options.output().toFile(), report);
+    System.out.printf("Report written to %s%n", options.output().toAbsolutePath());
+  }
+
+  private ObjectNode measure(Strategy strategy, int threads, int rowsPerTransaction) throws Exception {
+    try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS id_bench");
+      statement.execute("CREATE TABLE id_bench (id bigint PRIMARY KEY, payload varchar(64), createdAt timestamp)");
+      statement.execute("DROP SEQUENCE IF EXISTS id_bench_pooled_seq");
+      statement.execute("CREATE SEQUENCE id_bench_pooled_seq INCREMENT BY " + ALLOCATION_SIZE);
+      statement.execute("DROP SEQUENCE IF EXISTS id_bench_row_seq");
+      statement.execute("CREATE SEQUENCE id_bench_row_seq");
+    }
+
+    AtomicLong recorded = new AtomicLong();
+    long start = System.nanoTime();
+    long measureFrom = start + options.warmup().toNanos();
+    long end = measureFrom + options.duration().toNanos();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int node = t;
+        workers.add(executor.submit(() -> {
+          insertUntil(strategy, node, rowsPerTransaction, measureFrom, end, recorded);
+          return null;
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long rows;
+    long indexBytes;
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT count(*), pg_relation_size('id_bench_pkey') FROM id_bench")) {
+      resultSet.next();
+      rows = resultSet.getLong(1);
+      indexBytes = resultSet.getLong(2);
+    }
+
+    ObjectNode cell = JSON.createObjectNode();
+    cell.put("strategy", strategy.name());
+    cell.put("threads", threads);
+    cell.put("rowsPerTransaction", rowsPerTransaction);
+    cell.put("rowsPerSecond", recorded.get() / (options.duration().toNanos() / 1e9));
+    cell.put("rows", rows);
+    cell.put("indexKbPerThousandRows", rows == 0 ? 0 : indexBytes / 1024.0 / (rows / 1000.0));
+    return cell;
+  }
+
+  private void insertUntil(Strategy strategy, int node, int rowsPerTransaction, long measureFrom, long end,
+      AtomicLong recorded) throws SQLException {
+    Snowflake snowflake = new Snowflake(node);
+    long[] pooled = {0, 0};
+    try (Connection connection = connect();
+        PreparedStatement insert = connection.prepareStatement(strategy == Strategy.SEQUENCE_IN_INSERT
+            ? "INSERT INTO id_bench (id, payload, createdAt) VALUES (nextval('id_bench_row_seq'), ?, ?)"
+            : "INSERT INTO id_bench (id, payload, createdAt) VALUES (?, ?, ?)");
+        PreparedStatement nextBlock = connection.prepareStatement("SELECT nextval('id_bench_pooled_seq')")) {
+      connection.setAutoCommit(false);
+      long now;
+      while ((now = System.nanoTime()) < end) {
+        java.sql.Timestamp createdAt = java.sql.Timestamp.from(Instant.now());
+        for (int i = 0; i < rowsPerTransaction; i++) {
+          int parameter = 1;
+          switch (strategy) {
+            case SEQUENCE_POOLED -> insert.setLong(parameter++, pooled(nextBlock, pooled));
+            case SNOWFLAKE -> insert.setLong(parameter++, snowflake.next());
+            case RANDOM -> insert.setLong(parameter++, ThreadLocalRandom.current().nextLong(Long.MAX_VALUE));
+            case SEQUENCE_IN_INSERT -> { }
+          }
+          insert.setString(parameter++, "row-" + node + "-" + i);
+          insert.setTimestamp(parameter, createdAt);
+          if (rowsPerTransaction == 1) {
+            insert.executeUpdate();
+          } else {
+            insert.addBatch();
+          }
+        }
+        if (rowsPerTransaction > 1) {
+          insert.executeBatch();
+        }
+        connection.commit();
+        if (now >= measureFrom) {
+          recorded.addAndGet(rowsPerTransaction);
+        }
+      }
+    }
+  }
+
+  /**
+   * Hibernate's pooled optimizer: each {@code nextval} reserves the next {@value #ALLOCATION_SIZE}
+   * ids for this connection.
+   */
+  private static long pooled(PreparedStatement nextBlock, long[] block) throws SQLException {
+    if (block[1] == 0) {
+      try (ResultSet resultSet = nextBlock.executeQuery()) {
+        resultSet.next();
+        block[0] = resultSet.getLong(1);
+        block[1] = ALLOCATION_SIZE;
+      }
+    }
+    block[1]--;
+    return block[0]++;
+  }
+
+  private Connection connect() throws SQLException {
+    return DriverManager.getConnection(options.jdbcUrl(), options.dbUser(), options.dbPassword());
+  }
+
+  /**
+   * Same layout as the app's {@code SnowflakeIds}: 41 bits of milliseconds since 2024-01-01, 10 bits
+   * of node id, 12 bits of counter. Each benchmark thread plays its own node.
+   */
+  private static final class Snowflake {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private final long node;
+    private long last;
+
+    Snowflake(int node) {
+      this.node = node;
+    }
+
+    long next() {
+      last = Math.max(last + 1, (System.currentTimeMillis() - EPOCH_MILLIS) << 12);
+      return (last >>> 12) << 22 | node << 12 | last & 0xFFF;
+    }
+  }
+}
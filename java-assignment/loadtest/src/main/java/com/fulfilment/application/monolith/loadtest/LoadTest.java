@@ -0,0 +1,294 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model HTTP load generator for the fulfilment API.
+ *
+ * <p>Requests are scheduled at a fixed arrival rate, independent of how quickly the application
+ * answers, and each runs on its own (virtual, when the JVM supports it) thread. Latency is recorded
+ * per endpoint in HdrHistograms and written as JSON so runs of different builds can be diffed.
+ */
+public final class LoadTest {
+
+  private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private final LoadTestOptions options;
+  private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+  private final Phaser inFlight = new Phaser(1);
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  private LoadTest(LoadTestOptions options) {
+    this.options = options;
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new EndpointStats());
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.exit(2);
+      return;
+    }
+    new LoadTest(options).run();
+  }
+
+  private void run() throws Exception {
+    ExecutorService executor = requestExecutor();
+    HttpClient client = HttpClient.newBuilder()
+        .executor(executor)
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    AppProcess app = options.launch() != null ? AppProcess.start(options, client) : null;
+    try {
+      long idleResidentKb = app != null ? app.residentKb() : -1;
+      Workload workload = new Seeder(client, options.baseUrl())
+          .seed(options.stores(), options.products(), options.warehouses());
+      Instant startedAt = Instant.now();
+      long recordedNanos = drive(client, executor, workload);
+      ObjectNode report = writeReport(startedAt, recordedNanos);
+      if (app != null) {
+        ObjectNode application = report.putObject("application");
+        application.put("mode", app.mode());
+        application.put("launch", options.launch().toString());
+        application.put("timeToFirstRequestMillis", app.timeToFirstRequest().toMillis());
+        application.put("rssIdleKb", idleResidentKb);
+        application.put("rssPeakKb", app.peakResidentKb());
+        JSON.writeValue(options.output().toFile(), report);
+        System.out.printf("%s: first request after %d ms, RSS %d MB idle, %d MB peak%n", app.mode(),
+            app.timeToFirstRequest().toMillis(), idleResidentKb / 1024, app.peakResidentKb() / 1024);
+      }
+    } finally {
+      executor.shutdownNow();
+      if (app != null) {
+        app.close();
+      }
+    }
+  }
+
+  /**
+   * Issues arrivals for warm-up plus duration, then waits for outstanding requests.
+   *
+   * @return the length of the recorded interval in nanoseconds
+   */
+  private long drive(HttpClient client, ExecutorService executor, Workload workload) throws InterruptedException {
+    Operation[] operations = Operation.values();
+    int[] cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += Math.max(0, options.mix().get(operations[i]));
+      cumulativeWeights[i] = total;
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("The workload mix has no positive weights.");
+    }
+
+    SplittableRandom random = new SplittableRandom(options.seed());
+    double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+    long start = System.nanoTime();
+    long recordFrom = start + options.warmup().toNanos();
+    long end = recordFrom + options.duration().toNanos();
+    System.out.printf("Driving %.0f req/s: %s warm-up, %s recorded%n", options.rate(), options.warmup(),
+        options.duration());
+
+    double next = start;
+    while (next < end) {
+      long scheduled = (long) next;
+      long wait = scheduled - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      int pick = random.nextInt(total);
+      int index = 0;
+      while (cumulativeWeights[index] <= pick) {
+        index++;
+      }
+      Operation operation = operations[index];
+      boolean recorded = scheduled >= recordFrom;
+
+      inFlight.register();
+      maxInFlight.accumulateAndGet(inFlight.getRegisteredParties() - 1, Math::max);
+      executor.execute(() -> {
+        try {
+          send(client, workload, operation, scheduled, recorded);
+        } finally {
+          inFlight.arriveAndDeregister();
+        }
+      });
+
+      next += options.poisson() ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+    }
+
+    try {
+      inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 60, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      System.err.printf("%d requests still outstanding after 60s; reporting without them%n",
+          inFlight.getRegisteredParties() - 1);
+    }
+    return end - recordFrom;
+  }
+
+  private void send(HttpClient client, Workload workload, Operation operation, long scheduled, boolean recorded) {
+    EndpointStats endpoint = stats.get(operation);
+    long sent = System.nanoTime();
+    try {
+      HttpResponse<String> response = client.send(workload.request(operation), HttpResponse.BodyHandlers.ofString());
+      long completed = System.nanoTime();
+      workload.onResponse(operation, response.statusCode(), response.body());
+      if (recorded) {
+        endpoint.record(response.statusCode(), scheduled, sent, completed);
+      }
+    } catch (Exception e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      if (recorded) {
+        endpoint.recordFailure(scheduled, System.nanoTime());
+      }
+    }
+  }
+
+  private ObjectNode writeReport(Instant startedAt, long recordedNanos) throws Exception {
+    double seconds = recordedNanos / 1e9;
+    ObjectNode report = JSON.createObjectNode();
+    report.put("startedAt", startedAt.toString());
+    report.put("baseUrl", options.baseUrl());
+    report.put("javaVersion", Runtime.version().toString());
+    report.put("virtualThreads", virtualThreadsAvailable());
+
+    ObjectNode config = report.putObject("config");
+    config.put("rate", options.rate());
+    config.put("arrivals", options.poisson() ? "poisson" : "uniform");
+    config.put("warmupSeconds", options.warmup().toSeconds());
+    config.put("durationSeconds", options.duration().toSeconds());
+    config.put("stores", options.stores());
+    config.put("products", options.products());
+    config.put("warehouses", options.warehouses());
+    ObjectNode mix = config.putObject("mix");
+    options.mix().forEach((operation, weight) -> mix.put(operation.name(), weight));
+
+    Histogram all = new Histogram(3);
+    long requests = 0;
+    long failures = 0;
+    ObjectNode endpoints = report.putObject("endpoints");
+    System.out.printf("%n%-48s %8s %9s %9s %9s %9s %9s %7s%n",
+        "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+    for (Operation operation : Operation.values()) {
+      EndpointStats endpoint = stats.get(operation);
+      long count = endpoint.count();
+      if (count == 0) {
+        continue;
+      }
+      requests += count;
+      long errors = endpoint.serverErrors.sum() + endpoint.ioErrors.sum();
+      failures += errors;
+      all.add(endpoint.responseTime);
+
+      ObjectNode node = endpoints.putObject(operation.endpoint);
+      node.put("count", count);
+      node.put("throughputPerSecond", count / seconds);
+      ObjectNode status = node.putObject("status");
+      status.put("2xx", endpoint.success.sum());
+      status.put("4xx", endpoint.clientErrors.sum());
+      status.put("5xx", endpoint.serverErrors.sum());
+      status.put("io", endpoint.ioErrors.sum());
+      node.set("responseTimeMicros", percentiles(endpoint.responseTime));
+      node.set("serviceTimeMicros", percentiles(endpoint.serviceTime));
+      node.put("responseTimeHistogram", encode(endpoint.responseTime));
+
+      System.out.printf("%-48s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", operation.endpoint, count,
+          count / seconds, millis(endpoint.responseTime, 50), millis(endpoint.responseTime, 99),
+          millis(endpoint.responseTime, 99.9), endpoint.responseTime.getMaxValue() / 1000.0, errors);
+    }
+
+    ObjectNode totals = report.putObject("totals");
+    totals.put("requests", requests);
+    totals.put("throughputPerSecond", requests / seconds);
+    totals.put("errors", failures);
+    totals.put("maxInFlight", maxInFlight.get());
+    totals.set("responseTimeMicros", percentiles(all));
+
+    JSON.writeValue(options.output().toFile(), report);
+    System.out.printf("%nTotal %d requests, %.1f req/s, p99 %.2f ms; report written to %s%n", requests,
+        requests / seconds, millis(all, 99), options.output().toAbsolutePath());
+    return report;
+  }
+
+  private static ObjectNode percentiles(Histogram histogram) {
+    ObjectNode node = JSON.createObjectNode();
+    node.put("p50", histogram.getValueAtPercentile(50));
+    node.put("p90", histogram.getValueAtPercentile(90));
+    node.put("p99", histogram.getValueAtPercentile(99));
+    node.put("p999", histogram.getValueAtPercentile(99.9));
+    node.put("max", histogram.getMaxValue());
+    node.put("mean", histogram.getMean());
+    return node;
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / 1000.0;
+  }
+
+  /**
+   * Compressed, base64-encoded histogram, decodable with {@code Histogram.decodeFromCompressedByteBuffer}
+   * for merging runs or plotting full percentile spectra.
+   */
+  private static String encode(Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+  }
+
+  /**
+   * One virtual thread per request on JDK 21+, otherwise an unbounded pool of daemon threads, so a
+   * slow server never throttles the arrival rate.
+   */
+  private static ExecutorService requestExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      AtomicInteger counter = new AtomicInteger();
+      return Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "loadtest-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  private static boolean virtualThreadsAvailable() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ */
+record LoadTestOptions(
+    String baseUrl,
+    Path launch,
+    List<String> appOptions,
+    String jdbcUrl,
+    String replicaJdbcUrl,
+    String dbUser,
+    String dbPassword,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    boolean poisson,
+    int stores,
+    int products,
+    int warehouses,
+    Map<Operation, Integer> mix,
+    Path output,
+    long seed) {
+
+  static final String USAGE = """
+      usage: java -jar loadtest.jar [--name=value ...]
+
+        --base-url=URL        application to load (default http://localhost:8080)
+        --launch=PATH         start this quarkus-run.jar or native runner first, on the port of --base-url
+        --jdbc-url=URL        datasource for the launched app (default jdbc:postgresql://localhost:15432/quarkus_test)
+        --replica-jdbc-url=URL  read replica for the launched app (default: --jdbc-url, reads share the primary)
+        --db-user=NAME        (default quarkus_test)
+        --db-password=SECRET  (default quarkus_test)
+        --app-opts="-D..."    extra JVM or native options for the launched app, space separated
+        --rate=N              arrivals per second (default 200)
+        --warmup=DURATION     unrecorded warm-up, e.g. 30s (default 20s)
+        --duration=DURATION   recorded run, e.g. 2m (default 60s)
+        --arrivals=MODE       uniform | poisson (default uniform)
+        --stores=N            stores to seed (default 200)
+        --products=N          products to seed (default 200)
+        --warehouses=N        warehouses to seed, capped by location capacity (default 10)
+        --mix=OP:W,...        weight overrides, e.g. GET_STORE:30,CREATE_STORE:0
+        --output=FILE         JSON report (default loadtest-report.json)
+        --seed=N              random seed (default 42)
+      """;
+
+  static LoadTestOptions parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      if (arg.equals("--help") || arg.equals("-h")) {
+        throw new IllegalArgumentException(USAGE);
+      }
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        throw new IllegalArgumentException("Unrecognised argument '" + arg + "'\n" + USAGE);
+      }
+      values.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+
+    Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      mix.put(operation, operation.defaultWeight);
+    }
+    String mixOverrides = values.remove("mix");
+    if (mixOverrides != null) {
+      for (String entry : mixOverrides.split(",")) {
+        String[] parts = entry.split(":");
+        mix.put(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+      }
+    }
+
+    String launch = values.remove("launch");
+    String appOpts = values.remove("app-opts");
+    LoadTestOptions options = new LoadTestOptions(
+        stripTrailingSlash(values.getOrDefault("base-url", "http://localhost:8080")),
+        launch == null ? null : Path.of(launch),
+        appOpts == null || appOpts.isBlank() ? List.of() : new ArrayList<>(List.of(appOpts.trim().split("\\s+"))),
+        values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:15432/quarkus_test"),
+        values.getOrDefault("replica-jdbc-url",
+            values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:15432/quarkus_test")),
+        values.getOrDefault("db-user", "quarkus_test"),
+        values.getOrDefault("db-password", "quarkus_test"),
+        Double.parseDouble(values.getOrDefault("rate", "200")),
+        duration(values.getOrDefault("warmup", "20s")),
+        duration(values.getOrDefault("duration", "60s")),
+        values.getOrDefault("arrivals", "uniform").equalsIgnoreCase("poisson"),
+        Integer.parseInt(values.getOrDefault("stores", "200")),
+        Integer.parseInt(values.getOrDefault("products", "200")),
+        Integer.parseInt(values.getOrDefault("warehouses", "10")),
+        mix,
+        Path.of(values.getOrDefault("output", "loadtest-report.json")),
+        Long.parseLong(values.getOrDefault("seed", "42")));
+
+    values.keySet().removeAll(List.of("base-url", "jdbc-url", "replica-jdbc-url", "db-user", "db-password", "rate", "warmup",
+        "duration", "arrivals", "stores", "products", "warehouses", "output", "seed"));
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown options " + values.keySet() + "\n" + USAGE);
+    }
+    return options;
+  }
+
+  /**
+   * Accepts {@code 500ms}, {@code 30s}, {@code 2m} or an ISO-8601 duration.
+   */
+  static Duration duration(String value) {
+    String v = value.trim().toLowerCase();
+    if (v.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+    }
+    if (v.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+    }
+    if (v.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+    }
+    return Duration.parse(value);
+  }
+
+  private static String stripTrailingSlash(String url) {
+    return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+  }
+}
@@ -0,0 +1,28 @@
+package com.fulfilment.application.monolith.loadtest;
+
+/**
+ * The request types in the workload mix, with their default relative weights: mostly reads, with
+ * enough creates, replacements and associations to exercise the write paths.
+ */
+enum Operation {
+  LIST_WAREHOUSES("GET /warehouse", 10),
+  GET_WAREHOUSE("GET /warehouse/{id}", 15),
+  REPLACE_WAREHOUSE("POST /warehouse/{businessUnitCode}/replacement", 4),
+  LIST_STORES("GET /store", 5),
+  GET_STORE("GET /store/{id}", 15),
+  CREATE_STORE("POST /store", 5),
+  UPDATE_STORE("PUT /store/{id}", 8),
+  ASSOCIATE_STORE("POST /store/{id}/fulfilment/{warehouseId}", 3),
+  LIST_PRODUCTS("GET /product", 5),
+  GET_PRODUCT("GET /product/{id}", 15),
+  CREATE_PRODUCT("POST /product", 5),
+  ASSOCIATE_PRODUCT("POST /product/{id}/fulfilment/{warehouseId}", 3);
+
+  final String endpoint;
+  final int defaultWeight;
+
+  Operation(String endpoint, int defaultWeight) {
+    this.endpoint = endpoint;
+    this.defaultWeight = defaultWeight;
+  }
+}
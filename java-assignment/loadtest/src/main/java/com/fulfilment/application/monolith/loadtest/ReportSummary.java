@@ -0,0 +1,45 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Prints startup, memory and latency figures of several load-test reports side by side, e.g. a JVM
+ * and a native run of the same workload.
+ *
+ * <pre>
+ * java -cp loadtest/target/loadtest.jar \
+ *     com.fulfilment.application.monolith.loadtest.ReportSummary jvm.json native.json
+ * </pre>
+ */
+public final class ReportSummary {
+
+  private ReportSummary() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("usage: ReportSummary <report.json> ...");
+      System.exit(2);
+    }
+
+    ObjectMapper json = new ObjectMapper();
+    System.out.printf("%-32s %-7s %10s %10s %10s %9s %9s%n",
+        "report", "mode", "ttfr ms", "rss idle", "rss peak", "req/s", "p99 ms");
+    for (String file : args) {
+      JsonNode report = json.readTree(Path.of(file).toFile());
+      JsonNode application = report.path("application");
+      JsonNode totals = report.path("totals");
+      System.out.printf("%-32s %-7s %10d %9dM %9dM %9.1f %9.2f%n",
+          Path.of(file).getFileName(),
+          application.path("mode").asText("-"),
+          application.path("timeToFirstRequestMillis").asLong(-1),
+          application.path("rssIdleKb").asLong(-1024) / 1024,
+          application.path("rssPeakKb").asLong(-1024) / 1024,
+          totals.path("throughputPerSecond").asDouble(),
+          totals.path("responseTimeMicros").path("p99").asLong() / 1000.0);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seeds stores, products and warehouses through the public API, then reads back everything that is
+ * active so the workload also targets pre-existing data.
+ */
+final class Seeder {
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  /**
+   * The locations known to the application's {@code LocationGateway}, with their warehouse slots and
+   * maximum capacity. Warehouses are seeded into free slots only.
+   */
+  private static final Object[][] LOCATIONS = {
+      {"ZWOLLE-001", 1, 40}, {"ZWOLLE-002", 2, 50}, {"AMSTERDAM-001", 5, 100}, {"AMSTERDAM-002", 3, 75},
+      {"TILBURG-001", 1, 40}, {"HELMOND-001", 1, 45}, {"EINDHOVEN-001", 2, 70}, {"VETSBY-001", 1, 90}};
+
+  private final HttpClient client;
+  private final String baseUrl;
+  private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+
+  Seeder(HttpClient client, String baseUrl) {
+    this.client = client;
+    this.baseUrl = baseUrl;
+  }
+
+  Workload seed(int stores, int products, int warehouses) throws IOException, InterruptedException {
+    int createdStores = 0;
+    for (int i = 0; i < stores; i++) {
+      createdStores += post("/store", "{\"name\":\"LT-SEED-S-" + runId + "-" + i + "\",\"quantityProductsInStock\":"
+          + (i % 50) + "}") ? 1 : 0;
+    }
+    int createdProducts = 0;
+    for (int i = 0; i < products; i++) {
+      createdProducts += post("/product", "{\"name\":\"LT-SEED-P-" + runId + "-" + i + "\",\"stock\":"
+          + (i % 50) + "}") ? 1 : 0;
+    }
+
+    JsonNode active = getJson("/warehouse");
+    int createdWarehouses = 0;
+    for (Object[] location : LOCATIONS) {
+      String identifier = (String) location[0];
+      long used = 0;
+      for (JsonNode warehouse : active) {
+        used += identifier.equals(warehouse.path("location").asText()) ? 1 : 0;
+      }
+      for (long slot = used; slot < (int) location[1] && createdWarehouses < warehouses; slot++) {
+        String code = "LT." + runId + "." + createdWarehouses;
+        createdWarehouses += post("/warehouse", "{\"businessUnitCode\":\"" + code + "\",\"location\":\""
+            + identifier + "\",\"capacity\":" + ((int) location[2] / 2) + ",\"stock\":0}") ? 1 : 0;
+      }
+    }
+    System.out.printf("Seeded %d stores, %d products, %d warehouses%n", createdStores, createdProducts,
+        createdWarehouses);
+
+    List<Workload.WarehouseSeed> warehouseSeeds = new ArrayList<>();
+    Map<String, Long> warehouseIds = new ConcurrentHashMap<>();
+    for (JsonNode warehouse : getJson("/warehouse")) {
+      String code = warehouse.path("businessUnitCode").asText();
+      warehouseSeeds.add(new Workload.WarehouseSeed(code, warehouse.path("location").asText(),
+          warehouse.path("capacity").asInt(), warehouse.path("stock").asInt()));
+      warehouseIds.put(code, warehouse.path("id").asLong());
+    }
+    return new Workload(baseUrl, ids(getJson("/store")), ids(getJson("/product")), warehouseSeeds, warehouseIds);
+  }
+
+  private static List<Long> ids(JsonNode array) {
+    List<Long> ids = new ArrayList<>(array.size());
+    array.forEach(node -> ids.add(node.path("id").asLong()));
+    return ids;
+  }
+
+  private boolean post(String path, String body) throws IOException, InterruptedException {
+    HttpResponse<String> response = client.send(
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+    return response.statusCode() / 100 == 2;
+  }
+
+  private JsonNode getJson(String path) throws IOException, InterruptedException {
+    HttpResponse<String> response = client.send(
+        HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Accept", "application/json").GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException("GET " + path + " returned " + response.statusCode());
+    }
+    return JSON.readTree(response.body());
+  }
+}
@@ -0,0 +1,116 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the request for each {@link Operation} against the ids known after seeding.
+ *
+ * <p>Replacements give a warehouse a new id; {@link #onResponse} keeps the current id per business
+ * unit code so later reads and associations target the active warehouse.
+ */
+final class Workload {
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  record WarehouseSeed(String businessUnitCode, String location, int capacity, int stock) {
+  }
+
+  private final String baseUrl;
+  private final String runId;
+  private final long[] storeIds;
+  private final long[] productIds;
+  private final WarehouseSeed[] warehouses;
+  private final Map<String, Long> warehouseIds;
+  private final AtomicLong created = new AtomicLong();
+
+  Workload(String baseUrl, List<Long> storeIds, List<Long> productIds, List<WarehouseSeed> warehouses,
+      Map<String, Long> warehouseIds) {
+    if (storeIds.isEmpty() || productIds.isEmpty() || warehouses.isEmpty()) {
+      throw new IllegalStateException("Seeding left no stores, products or warehouses to load.");
+    }
+    this.baseUrl = baseUrl;
+    this.runId = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+    this.storeIds = storeIds.stream().mapToLong(Long::longValue).toArray();
+    this.productIds = productIds.stream().mapToLong(Long::longValue).toArray();
+    this.warehouses = warehouses.toArray(WarehouseSeed[]::new);
+    this.warehouseIds = warehouseIds;
+  }
+
+  HttpRequest request(Operation operation) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return switch (operation) {
+      case LIST_WAREHOUSES -> get("/warehouse");
+      case GET_WAREHOUSE -> get("/warehouse/" + warehouseId(random));
+      case REPLACE_WAREHOUSE -> {
+        WarehouseSeed seed = warehouses[random.nextInt(warehouses.length)];
+        yield post("/warehouse/" + seed.businessUnitCode() + "/replacement",
+            "{\"businessUnitCode\":\"" + seed.businessUnitCode() + "\",\"location\":\"" + seed.location()
+                + "\",\"capacity\":" + seed.capacity() + ",\"stock\":" + seed.stock() + "}");
+      }
+      case LIST_STORES -> get("/store");
+      case GET_STORE -> get("/store/" + pick(storeIds, random));
+      case CREATE_STORE -> post("/store", "{\"name\":\"" + uniqueName("S") + "\",\"quantityProductsInStock\":"
+          + random.nextInt(100) + "}");
+      case UPDATE_STORE -> {
+        long id = pick(storeIds, random);
+        yield builder("/store/" + id)
+            .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"LT-STORE-" + id + "\",\"quantityProductsInStock\":"
+                + random.nextInt(100) + "}"))
+            .build();
+      }
+      case ASSOCIATE_STORE -> post("/store/" + pick(storeIds, random) + "/fulfilment/" + warehouseId(random), "");
+      case LIST_PRODUCTS -> get("/product");
+      case GET_PRODUCT -> get("/product/" + pick(productIds, random));
+      case CREATE_PRODUCT -> post("/product", "{\"name\":\"" + uniqueName("P") + "\",\"stock\":"
+          + random.nextInt(100) + "}");
+      case ASSOCIATE_PRODUCT -> post("/product/" + pick(productIds, random) + "/fulfilment/" + warehouseId(random), "");
+    };
+  }
+
+  void onResponse(Operation operation, int status, String body) {
+    if (operation == Operation.REPLACE_WAREHOUSE && status == 200) {
+      try {
+        JsonNode replaced = JSON.readTree(body);
+        warehouseIds.put(replaced.path("businessUnitCode").asText(), replaced.path("id").asLong());
+      } catch (Exception e) {
+        // keep the previous id; reads of an archived warehouse still succeed
+      }
+    }
+  }
+
+  private long warehouseId(ThreadLocalRandom random) {
+    return warehouseIds.get(warehouses[random.nextInt(warehouses.length)].businessUnitCode());
+  }
+
+  private String uniqueName(String prefix) {
+    return "LT-" + prefix + "-" + runId + "-" + created.incrementAndGet();
+  }
+
+  private static long pick(long[] ids, ThreadLocalRandom random) {
+    return ids[random.nextInt(ids.length)];
+  }
+
+  private HttpRequest get(String path) {
+    return builder(path).GET().build();
+  }
+
+  private HttpRequest post(String path, String body) {
+    return builder(path).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+  }
+
+  private HttpRequest.Builder builder(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .header("Accept", "application/json");
+  }
+}
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Starts each given build under the load harness and compares time to first request, RSS at idle
+# and under load, throughput and p99.
+#
+#   loadtest/startup-benchmark.sh target/quarkus-app/quarkus-run.jar target/*-runner
+#
+# Extra harness options (rate, duration, datasource, ...) are taken from LOADTEST_OPTS.
+set -euo pipefail
+
+if [ $# -eq 0 ]; then
+  echo "usage: $0 <quarkus-run.jar|native-runner> ..." >&2
+  exit 2
+fi
+
+here="$(cd "$(dirname "$0")" && pwd)"
+jar="$here/target/loadtest.jar"
+out="${OUTPUT_DIR:-$here/target/startup-benchmark}"
+mkdir -p "$out"
+
+reports=()
+for build in "$@"; do
+  name="$(basename "$build")"
+  report="$out/${name%.jar}.json"
+  java -jar "$jar" --launch="$build" --base-url=http://localhost:18080 \
+      --warmup=10s --duration=60s ${LOADTEST_OPTS:-} --output="$report"
+  reports+=("$report")
+done
+
+echo
+java -cp "$jar" com.fulfilment.application.monolith.loadtest.ReportSummary "${reports[@]}"
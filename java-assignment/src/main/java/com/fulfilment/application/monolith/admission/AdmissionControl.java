@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The adaptive concurrency limits of reads (GET, HEAD) and writes, which are limited separately
+ * so a burst of slow writes cannot starve the reads and the other way round.
+ *
+ * <p>Publishes {@code http.server.admission.limit} and {@code http.server.admission.inflight} per
+ * class, and counts shed requests in {@code http.server.admission.rejected}, tagged by class and
+ * whether the request had priority.
+ */
+@ApplicationScoped
+public class AdmissionControl {
+
+  static final String REJECTED_METRIC = "http.server.admission.rejected";
+
+  private final boolean enabled;
+  private final Set<String> priorityEndpoints;
+  private final ConcurrencyLimiter reads;
+  private final ConcurrencyLimiter writes;
+  private final MeterRegistry registry;
+
+  public AdmissionControl(
+      MeterRegistry registry,
+      @ConfigProperty(name = "admission.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "admission.min-limit", defaultValue = "2") int minLimit,
+      @ConfigProperty(name = "admission.reads.limit", defaultValue = "20") int readLimit,
+      @ConfigProperty(name = "admission.reads.max-limit", defaultValue = "200") int readMaxLimit,
+      @ConfigProperty(name = "admission.writes.limit", defaultValue = "8") int writeLimit,
+      @ConfigProperty(name = "admission.writes.max-limit", defaultValue = "32") int writeMaxLimit,
+      @ConfigProperty(name = "admission.rtt-tolerance", defaultValue = "2.0") double tolerance,
+      @ConfigProperty(name = "admission.priority-reserve", defaultValue = "0.2") double priorityReserve,
+      @ConfigProperty(name = "admission.priority-endpoints",
+          defaultValue = "WarehouseResourceImpl#getAWarehouseUnitByID,StoreResource#getSingle,ProductResource#getSingle")
+      List<String> priorityEndpoints) {
+    this.registry = registry;
+    this.enabled = enabled;
+    this.priorityEndpoints = Set.copyOf(priorityEndpoints);
+    this.reads = new ConcurrencyLimiter(readLimit, minLimit, readMaxLimit, tolerance, priorityReserve);
+    this.writes = new ConcurrencyLimiter(writeLimit, minLimit, writeMaxLimit, tolerance, priorityReserve);
+
+    register(registry, "read", reads);
+    register(registry, "write", writes);
+  }
+
+  private static void register(MeterRegistry registry, String requestClass, ConcurrencyLimiter limiter) {
+    Gauge.builder("http.server.admission.limit", limiter, ConcurrencyLimiter::limit)
+        .tag("class", requestClass)
+        .description("Current adaptive concurrency limit")
+        .register(registry);
+    Gauge.builder("http.server.admission.inflight", limiter, ConcurrencyLimiter::inflight)
+        .tag("class", requestClass)
+        .description("Admitted requests in flight")
+        .register(registry);
+  }
+
+  boolean enabled() {
+    return enabled;
+  }
+
+  boolean isPriority(String operation) {
+    return priorityEndpoints.contains(operation);
+  }
+
+  ConcurrencyLimiter limiter(boolean read) {
+    return read ? reads : writes;
+  }
+
+  void rejected(boolean read, boolean priority) {
+    registry.counter(REJECTED_METRIC, "class", read ? "read" : "write", "priority", Boolean.toString(priority)).increment();
+  }
+}
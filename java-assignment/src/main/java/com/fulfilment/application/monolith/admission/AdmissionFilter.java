@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fulfilment.application.monolith.errors.ErrorResponse;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+/**
+ * Sheds requests beyond the {@link AdmissionControl} limit of their class with an immediate 503,
+ * before they take a worker thread or a connection.
+ *
+ * <p>Runs on the event loop, ahead of the other request filters and of the switch to a worker
+ * thread, so a shed request never waits in the worker queue behind the ones that were admitted. An admitted request holds its place until the
+ * response has been written or the connection closed; its round trip time then feeds the limit,
+ * and a 503 or 504 answer counts as a sign of overload.
+ */
+public class AdmissionFilter {
+
+  static final String RETRY_AFTER_SECONDS = "1";
+
+  private final AdmissionControl control;
+
+  public AdmissionFilter(AdmissionControl control) {
+    this.control = control;
+  }
+
+  @ServerRequestFilter(priority = Priorities.USER - 100, nonBlocking = true)
+  Response onRequest(ContainerRequestContext request, SimpleResourceInfo resource, RoutingContext routing) {
+    if (!control.enabled() || resource == null || resource.getResourceClass() == null) {
+      return null;
+    }
+    boolean read = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+    boolean priority = read
+        && control.isPriority(resource.getResourceClass().getSimpleName() + "#" + resource.getMethodName());
+    ConcurrencyLimiter limiter = control.limiter(read);
+
+    int inflight = limiter.tryAcquire(priority);
+    if (inflight == 0) {
+      control.rejected(read, priority);
+      return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+          .type(MediaType.APPLICATION_JSON_TYPE)
+          .entity(new ErrorResponse(null, 503, null, "Too many concurrent requests, retry later."))
+          .build();
+    }
+    long started = System.nanoTime();
+    routing.addEndHandler(result -> {
+      int status = routing.response().getStatusCode();
+      limiter.release(System.nanoTime() - started, inflight, result.failed() || status == 503 || status == 504);
+    });
+    return null;
+  }
+}
@@ -0,0 +1,128 @@
+package com.fulfilment.application.monolith.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests in flight of one class at a limit that adapts to their latency.
+ *
+ * <p>The limit is revised once per window of as many completed requests as the limit, about one
+ * round trip under load. It follows the gradient between a baseline round trip time and the
+ * window's average: while the window is no slower than {@code tolerance} times the baseline the
+ * limit grows by about its square root, once it is the limit shrinks in proportion, by at most
+ * half. A window with a request that failed because the system is overloaded (timed out, shed
+ * downstream) cuts the limit by {@link #BACKOFF} instead. The limit only grows while the traffic
+ * actually uses at least half of it.
+ *
+ * <p>The baseline is the average latency of requests admitted while at most half the limit, or
+ * no more than the minimum limit, was in use, so queueing under overload never raises it. When
+ * the latency itself rises for good, the limit settles lower than the capacity would allow until
+ * the load eases and the baseline is relearned.
+ *
+ * <p>Priority requests may use the whole limit; the others are admitted only up to
+ * {@code 1 - priorityReserve} of it, so cheap reads keep a lane when everything else is shed.
+ */
+final class ConcurrencyLimiter {
+
+  static final double BACKOFF = 0.9;
+  private static final double SMOOTHING = 0.2;
+  private static final double BASELINE_WINDOW = 100;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double priorityReserve;
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private volatile double limit;
+  private double baselineRtt;
+  private int windowRequests;
+  private int windowSamples;
+  private double windowRtt;
+  private int windowInflight;
+  private boolean windowDropped;
+
+  ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double priorityReserve) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Expected 1 <= min-limit <= limit <= max-limit, got "
+          + minLimit + " <= " + initialLimit + " <= " + maxLimit);
+    }
+    if (tolerance < 1 || priorityReserve < 0 || priorityReserve >= 1) {
+      throw new IllegalArgumentException("Expected rtt-tolerance >= 1 and 0 <= priority-reserve < 1");
+    }
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.priorityReserve = priorityReserve;
+  }
+
+  /**
+   * Admits a request if there is room for it.
+   *
+   * @return the requests in flight including this one, to be passed back to
+   *     {@link #release}, or 0 when the request is rejected
+   */
+  int tryAcquire(boolean priority) {
+    int cap = priority ? limit() : Math.max(1, (int) (limit() * (1 - priorityReserve)));
+    while (true) {
+      int current = inflight.get();
+      if (current >= cap) {
+        return 0;
+      }
+      if (inflight.compareAndSet(current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  /**
+   * Ends an admitted request and feeds its round trip time into the limit.
+   *
+   * @param inflightAtStart what {@link #tryAcquire} returned for it
+   * @param dropped whether the request failed because the system is overloaded
+   */
+  void release(long rttNanos, int inflightAtStart, boolean dropped) {
+    inflight.decrementAndGet();
+    update(rttNanos, inflightAtStart, dropped);
+  }
+
+  private synchronized void update(long rttNanos, int inflightAtStart, boolean dropped) {
+    double current = limit;
+    if (dropped) {
+      windowDropped = true;
+    } else {
+      if (baselineRtt == 0) {
+        baselineRtt = rttNanos;
+      } else if (inflightAtStart <= Math.max(minLimit, current / 2)) {
+        baselineRtt += (rttNanos - baselineRtt) / BASELINE_WINDOW;
+      }
+      windowRtt += rttNanos;
+      windowSamples++;
+      windowInflight = Math.max(windowInflight, inflightAtStart);
+    }
+    if (++windowRequests < current) {
+      return;
+    }
+
+    if (windowDropped) {
+      limit = Math.max(minLimit, current * BACKOFF);
+    } else if (windowInflight >= current / 2) {
+      double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRtt / (windowRtt / windowSamples)));
+      double next = current * gradient + Math.sqrt(current);
+      limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + next * SMOOTHING));
+    }
+    windowRequests = 0;
+    windowSamples = 0;
+    windowRtt = 0;
+    windowInflight = 0;
+    windowDropped = false;
+  }
+
+  int limit() {
+    return (int) limit;
+  }
+
+  int inflight() {
+    return inflight.get();
+  }
+}
@@ -0,0 +1,48 @@
+package com.fulfilment.application.monolith.cacheinvalidation;
+
+import io.quarkus.arc.Arc;
+import org.hibernate.event.spi.AbstractEvent;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Publishes an invalidation for every update or delete of a cached entity, from inside the
+ * flushing transaction. Inserts need none: other nodes cannot hold a cached copy of a new row.
+ */
+public class CacheInvalidationListener implements PostUpdateEventListener, PostDeleteEventListener {
+
+  private volatile ClusterCacheInvalidation invalidation;
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    publish(event.getPersister(), event.getId(), event);
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    publish(event.getPersister(), event.getId(), event);
+  }
+
+  private void publish(EntityPersister persister, Object id, AbstractEvent event) {
+    if (persister.canWriteToCache()) {
+      invalidation().publish(event.getSession(), persister.getEntityName(), id);
+    }
+  }
+
+  private ClusterCacheInvalidation invalidation() {
+    ClusterCacheInvalidation current = invalidation;
+    if (current == null) {
+      current = Arc.container().instance(ClusterCacheInvalidation.class).get();
+      invalidation = current;
+    }
+    return current;
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+}
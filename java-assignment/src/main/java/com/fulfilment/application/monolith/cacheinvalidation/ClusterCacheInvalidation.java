@@ -0,0 +1,283 @@
+package com.fulfilment.application.monolith.cacheinvalidation;
+
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer;
+import com.fulfilment.application.monolith.conditional.EntityVersions;
+import com.fulfilment.application.monolith.sharding.ShardRouter;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Keeps the second-level entity cache of every app node coherent with writes made on the others.
+ *
+ * <p>Each update or delete of a cached entity sends {@code NOTIFY <channel>} on the connection of
+ * the writing transaction (see {@link CacheInvalidationListener}), so Postgres delivers it only
+ * if, and once, that transaction commits. Every node keeps one connection per datasource in
+ * {@code LISTEN} and invalidates the named entity when a notification from another node arrives.
+ *
+ * <p>The invalidation goes through the region's own removal path inside a short transaction. That
+ * marks the key as invalidated at that instant: a load which began before it (and may have read
+ * the old row) is refused when it tries to put its result into the cache, so a late load cannot
+ * resurrect the stale version. Staleness on the other nodes is therefore bounded by the commit to
+ * notification delay, recorded as {@code cache.invalidation.delay}.
+ *
+ * <p>Every change, local or remote, also detaches the entity's coalesced read in progress on this
+ * node (see {@link ReadCoalescer}) and forgets the version this node last served for it (see
+ * {@link EntityVersions}); local changes do so once their transaction has committed, whether or
+ * not invalidation between nodes is enabled.
+ *
+ * <p>Notifications sent while a listening connection is down are lost, so after reconnecting a
+ * node evicts its whole second-level cache and forgets every served version. Each listening connection is held for the lifetime of
+ * the node and does not return to the pool.
+ */
+@ApplicationScoped
+public class ClusterCacheInvalidation {
+
+  private static final Logger LOGGER = Logger.getLogger(ClusterCacheInvalidation.class.getName());
+
+  private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+  private static final String PRIMARY_TENANT = "primary";
+
+  private final SessionFactoryImplementor sessionFactory;
+  private final AgroalDataSource primary;
+  private final ShardRouter shardRouter;
+  private final ReadCoalescer readCoalescer;
+  private final EntityVersions entityVersions;
+  private final boolean enabled;
+  private final String channel;
+  private final String nodeId;
+  private final Duration reconnectDelay;
+  private final Counter sent;
+  private final Counter received;
+  private final Timer delay;
+
+  private final List<Thread> listeners = new ArrayList<>();
+  private volatile boolean running;
+
+  public ClusterCacheInvalidation(
+      SessionFactory sessionFactory,
+      AgroalDataSource primary,
+      ShardRouter shardRouter,
+      ReadCoalescer readCoalescer,
+      EntityVersions entityVersions,
+      MeterRegistry registry,
+      @ConfigProperty(name = "cache-invalidation.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "cache-invalidation.channel", defaultValue = "l2_invalidation") String channel,
+      @ConfigProperty(name = "cache-invalidation.node-id") Optional<String> nodeId,
+      @ConfigProperty(name = "cache-invalidation.reconnect-delay", defaultValue = "1s") Duration reconnectDelay) {
+    if (!CHANNEL.matcher(channel).matches()) {
+      throw new IllegalArgumentException("cache-invalidation.channel must be a plain lower-case identifier, got '" + channel + "'");
+    }
+    this.sessionFactory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+    this.primary = primary;
+    this.shardRouter = shardRouter;
+    this.readCoalescer = readCoalescer;
+    this.entityVersions = entityVersions;
+    this.enabled = enabled;
+    this.channel = channel;
+    this.nodeId = nodeId.orElseGet(() -> UUID.randomUUID().toString());
+    this.reconnectDelay = reconnectDelay;
+
+    this.sent = Counter.builder("cache.invalidation.messages").tag("direction", "sent")
+        .description("Second-level cache invalidations exchanged with other nodes")
+        .register(registry);
+    this.received = Counter.builder("cache.invalidation.messages").tag("direction", "received")
+        .description("Second-level cache invalidations exchanged with other nodes")
+        .register(registry);
+    this.delay = Timer.builder("cache.invalidation.delay")
+        .description("Time from the writing node sending an invalidation to this node applying it")
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled) {
+      LOGGER.info("Cluster cache invalidation disabled on this node.");
+      return;
+    }
+    running = true;
+    for (String shard : shardRouter.shards()) {
+      Thread thread = new Thread(() -> listen(shard), "l2-invalidation-" + shard.replaceAll("[<>]", ""));
+      thread.setDaemon(true);
+      thread.start();
+      listeners.add(thread);
+    }
+    LOGGER.infof("Cluster cache invalidation started [node=%s, channel=%s, datasources=%d]",
+        nodeId, channel, listeners.size());
+  }
+
+  void onShutdown(@Observes ShutdownEvent event) {
+    running = false;
+    listeners.forEach(Thread::interrupt);
+  }
+
+  public String nodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Tells the other nodes to invalidate {@code entityName#id} once the current transaction of
+   * {@code session} commits. Use this for writes that bypass entity events, such as bulk updates.
+   */
+  public void publish(SharedSessionContractImplementor session, String entityName, Object id) {
+    invalidateLocallyAfterCommit(session, entityName, id);
+    if (!enabled) {
+      return;
+    }
+    String payload = nodeId + '|' + entityName + '|' + id + '|' + System.currentTimeMillis();
+    Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+    try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+      statement.setString(1, channel);
+      statement.setString(2, payload);
+      statement.execute();
+      sent.increment();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not publish cache invalidation for " + entityName + "#" + id, e);
+    }
+  }
+
+  public void publish(EntityManager entityManager, Class<?> entity, Object id) {
+    publish(entityManager.unwrap(SharedSessionContractImplementor.class), entity.getName(), id);
+  }
+
+  // A read that started before the commit may still see the old row, so only act once it is in.
+  private void invalidateLocallyAfterCommit(SharedSessionContractImplementor session, String entityName, Object id) {
+    if (!session.isTransactionInProgress()) {
+      invalidateLocally(entityName, id);
+      return;
+    }
+    session.asEventSource().getActionQueue().registerProcess((success, completed) -> {
+      if (success) {
+        invalidateLocally(entityName, id);
+      }
+    });
+  }
+
+  private void invalidateLocally(String entityName, Object id) {
+    readCoalescer.invalidate(entityName, id);
+    entityVersions.forget(entityName, id);
+  }
+
+  private void listen(String shard) {
+    boolean reconnecting = false;
+    while (running) {
+      try (Connection connection = dataSource(shard).getConnection()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        if (reconnecting) {
+          LOGGER.infof("Cache invalidation listener on %s reconnected, evicting the second-level cache", shard);
+          sessionFactory.getCache().evictAllRegions();
+          entityVersions.forgetAll();
+        }
+        reconnecting = true;
+        try {
+          poll(connection.unwrap(PGConnection.class));
+        } finally {
+          // The connection goes back to the pool; it must not keep listening there.
+          try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+          }
+        }
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        LOGGER.warnf(e, "Cache invalidation listener on %s failed, reconnecting in %dms", shard, reconnectDelay.toMillis());
+        reconnecting = true;
+        try {
+          Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void poll(PGConnection connection) throws SQLException {
+    while (running && !Thread.currentThread().isInterrupted()) {
+      PGNotification[] notifications = connection.getNotifications(500);
+      if (notifications == null) {
+        continue;
+      }
+      for (PGNotification notification : notifications) {
+        receive(notification.getParameter());
+      }
+    }
+  }
+
+  void receive(String payload) {
+    String[] parts = payload.split("\\|", 4);
+    if (parts.length != 4) {
+      LOGGER.warnf("Ignoring malformed cache invalidation '%s'", payload);
+      return;
+    }
+    if (parts[0].equals(nodeId)) {
+      return;
+    }
+    received.increment();
+    try {
+      invalidateLocally(parts[1], parts[2]);
+      invalidate(parts[1], parts[2]);
+    } catch (RuntimeException e) {
+      LOGGER.warnf(e, "Evicting region of %s after failed invalidation of id %s", parts[1], parts[2]);
+      sessionFactory.getCache().evictEntityData(parts[1]);
+    }
+    long sentAt = Long.parseLong(parts[3]);
+    delay.record(Math.max(0, System.currentTimeMillis() - sentAt), TimeUnit.MILLISECONDS);
+  }
+
+  private void invalidate(String entityName, String rawId) {
+    EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+    if (persister == null || !persister.canWriteToCache()) {
+      return;
+    }
+    Object id = persister.getIdentifierMapping().getJavaType().fromString(rawId);
+    EntityDataAccess access = persister.getCacheAccessStrategy();
+    Object key = access.generateCacheKey(id, persister, sessionFactory, null);
+    QuarkusTransaction.requiringNew().run(() -> {
+      try (SessionImplementor session = (SessionImplementor) sessionFactory.withOptions()
+          .tenantIdentifier((Object) PRIMARY_TENANT)
+          .openSession()) {
+        access.remove(session, key);
+      }
+    });
+  }
+
+  private AgroalDataSource dataSource(String shard) {
+    if (ShardRouter.DEFAULT_SHARD.equals(shard)) {
+      return primary;
+    }
+    return Arc.container().instance(AgroalDataSource.class, new DataSource.DataSourceLiteral(shard)).get();
+  }
+}
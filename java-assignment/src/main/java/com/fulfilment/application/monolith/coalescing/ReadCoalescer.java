@@ -0,0 +1,151 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Single-flight reads of one entity by id: while a lookup for an id is in progress, identical
+ * requests wait for its serialized response instead of running their own.
+ *
+ * <p>Nothing is kept once the lookup has answered; the next request starts a new one. A committed
+ * write to an entity, on this node or another, detaches the lookup in progress for it, so requests
+ * arriving after the write never share a response read before it.
+ *
+ * <p>Requests pinned to the primary by the read-your-writes window and replica-eligible ones fly
+ * separately, so a client that just wrote never receives a response read from the replica.
+ *
+ * <p>Counts requests in {@code http.server.coalescing.requests}, tagged {@code leader} for those
+ * that ran the lookup and {@code follower} for those served its response; the coalescing ratio is
+ * followers over the sum.
+ */
+@ApplicationScoped
+public class ReadCoalescer {
+
+  static final String METRIC = "http.server.coalescing.requests";
+
+  private static final Map<String, String> ENTITY_BY_OPERATION = Map.of(
+      "StoreResource#getSingle", Store.class.getName(),
+      "ProductResource#getSingle", Product.class.getName(),
+      "WarehouseResourceImpl#getAWarehouseUnitByID", DbWarehouse.class.getName());
+
+  /**
+   * A single entity, named as Hibernate names it.
+   */
+  public record Key(String entityName, long id) {
+
+    /**
+     * The entity read by a request for {@code Resource#method} with the given id path parameter,
+     * or {@code null} when that operation is not a single-entity GET.
+     */
+    public static Key forRead(String operation, String id) {
+      String entityName = ENTITY_BY_OPERATION.get(operation);
+      if (entityName == null || id == null) {
+        return null;
+      }
+      try {
+        return new Key(entityName, Long.parseLong(id));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    public static Key of(String entityName, Object id) {
+      return new Key(entityName, id instanceof Number number ? number.longValue() : Long.parseLong(id.toString()));
+    }
+  }
+
+  /**
+   * The response of a lookup as shared with the requests that waited for it.
+   */
+  record SharedResponse(byte[] body, String entityTag) {
+  }
+
+  /**
+   * A lookup in progress. Its response completes with the serialized entity, or with {@code null}
+   * when the lookup did not answer 200 and each waiting request has to run its own.
+   */
+  record Flight(Key key, boolean primary, CompletableFuture<SharedResponse> response) {
+  }
+
+  record Joined(Flight flight, boolean leader) {
+  }
+
+  private final boolean enabled;
+  private final Map<Key, Flight> replicaEligibleFlights = new ConcurrentHashMap<>();
+  private final Map<Key, Flight> primaryFlights = new ConcurrentHashMap<>();
+  private final Counter leaders;
+  private final Counter followers;
+
+  public ReadCoalescer(
+      MeterRegistry registry,
+      @ConfigProperty(name = "read-coalescing.enabled", defaultValue = "true") boolean enabled) {
+    this.enabled = enabled;
+    this.leaders = Counter.builder(METRIC).tag("role", "leader")
+        .description("Single-entity reads that ran their lookup or shared another's")
+        .register(registry);
+    this.followers = Counter.builder(METRIC).tag("role", "follower")
+        .description("Single-entity reads that ran their lookup or shared another's")
+        .register(registry);
+  }
+
+  /**
+   * The key of a request for {@code Resource#method} with the given id path parameter, or
+   * {@code null} when such requests are not coalesced.
+   */
+  Key keyFor(String operation, String id) {
+    return enabled ? Key.forRead(operation, id) : null;
+  }
+
+  /**
+   * Joins the lookup in progress for {@code key} routed the same way, or starts one that the caller
+   * then leads and must {@link #land}.
+   */
+  Joined join(Key key, boolean primary) {
+    Flight started = new Flight(key, primary, new CompletableFuture<>());
+    Flight current = flights(primary).putIfAbsent(key, started);
+    if (current == null) {
+      leaders.increment();
+      return new Joined(started, true);
+    }
+    return new Joined(current, false);
+  }
+
+  /**
+   * Ends a lookup with its serialized response, or {@code null} if it has none to share. Later
+   * calls for the same flight do nothing.
+   */
+  void land(Flight flight, SharedResponse response) {
+    flights(flight.primary()).remove(flight.key(), flight);
+    flight.response().complete(response);
+  }
+
+  void followed() {
+    followers.increment();
+  }
+
+  Flight inFlight(Key key, boolean primary) {
+    return flights(primary).get(key);
+  }
+
+  /**
+   * Detaches the lookup in progress for the entity, if any; requests waiting for it still get its
+   * response.
+   */
+  public void invalidate(String entityName, Object id) {
+    Key key = Key.of(entityName, id);
+    replicaEligibleFlights.remove(key);
+    primaryFlights.remove(key);
+  }
+
+  private Map<Key, Flight> flights(boolean primary) {
+    return primary ? primaryFlights : replicaEligibleFlights;
+  }
+}
@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.readrouting.ReadRoutingContext;
+import io.smallrye.mutiny.Uni;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+/**
+ * Coalesces concurrent GETs of one entity through the {@link ReadCoalescer}.
+ *
+ * <p>The first request for an id runs as usual; on its way out its entity is serialized once and
+ * the same bytes are written to it and to every request that arrived meanwhile. Those wait without
+ * holding a worker thread. If the first request does not answer 200, each of them runs its own
+ * lookup instead. Runs after admission control, so a shed request never leads, and after read
+ * routing, so a request only shares a lookup routed the way its own would be.
+ *
+ * <p>Followers also get the leader's {@code ETag}, which the conditional request filter has set by
+ * the time this one serializes the entity.
+ */
+public class ReadCoalescingFilter {
+
+  static final String FLIGHT = ReadCoalescingFilter.class.getName() + ".flight";
+
+  private final ReadCoalescer coalescer;
+  private final ReadRoutingContext readRouting;
+  private final ObjectMapper json;
+
+  public ReadCoalescingFilter(ReadCoalescer coalescer, ReadRoutingContext readRouting, ObjectMapper json) {
+    this.coalescer = coalescer;
+    this.readRouting = readRouting;
+    this.json = json;
+  }
+
+  @ServerRequestFilter(priority = Priorities.USER - 50)
+  Uni<Response> onRequest(ContainerRequestContext request, SimpleResourceInfo resource, RoutingContext routing) {
+    if (!HttpMethod.GET.equals(request.getMethod()) || resource == null || resource.getResourceClass() == null) {
+      return Uni.createFrom().nullItem();
+    }
+    ReadCoalescer.Key key = coalescer.keyFor(resource.getResourceClass().getSimpleName() + "#" + resource.getMethodName(),
+        request.getUriInfo().getPathParameters().getFirst("id"));
+    if (key == null) {
+      return Uni.createFrom().nullItem();
+    }
+
+    ReadCoalescer.Joined joined = coalescer.join(key, !readRouting.isReplicaEligible());
+    if (joined.leader()) {
+      request.setProperty(FLIGHT, joined.flight());
+      // Releases the followers if the response never reaches the response filter.
+      routing.addEndHandler(ignored -> coalescer.land(joined.flight(), null));
+      return Uni.createFrom().nullItem();
+    }
+    return Uni.createFrom().completionStage(joined.flight().response()).map(shared -> {
+      if (shared == null) {
+        return null;
+      }
+      coalescer.followed();
+      return Response.ok(shared.body(), MediaType.APPLICATION_JSON_TYPE)
+          .header(HttpHeaders.ETAG, shared.entityTag())
+          .build();
+    });
+  }
+
+  @ServerResponseFilter
+  void onResponse(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+    if (!(request.getProperty(FLIGHT) instanceof ReadCoalescer.Flight flight)) {
+      return;
+    }
+    ReadCoalescer.SharedResponse shared = null;
+    if (response.getStatus() == 200 && response.hasEntity()) {
+      byte[] body = json.writeValueAsBytes(response.getEntity());
+      response.setEntity(body, response.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+      shared = new ReadCoalescer.SharedResponse(body, response.getHeaderString(HttpHeaders.ETAG));
+    }
+    coalescer.land(flight, shared);
+  }
+}
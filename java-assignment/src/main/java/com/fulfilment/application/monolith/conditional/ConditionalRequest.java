@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.conditional;
+
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * The entity version a request is about: the one its GET returned, which becomes the
+ * {@code ETag}, and the one its write expects to replace, taken from {@code If-Match}.
+ */
+@RequestScoped
+public class ConditionalRequest {
+
+  private final EntityVersions versions;
+  private String ifMatch;
+  private Long servedVersion;
+
+  public ConditionalRequest(EntityVersions versions) {
+    this.versions = versions;
+  }
+
+  void expect(String ifMatch) {
+    this.ifMatch = ifMatch;
+  }
+
+  /**
+   * Whether the request is a write made conditional by {@code If-Match}.
+   */
+  public boolean hasPrecondition() {
+    return ifMatch != null;
+  }
+
+  /**
+   * Records the version of the entity a single-entity GET answers with.
+   */
+  public void served(long version) {
+    this.servedVersion = version;
+  }
+
+  Long servedVersion() {
+    return servedVersion;
+  }
+
+  /**
+   * Rejects the write with 412 unless its {@code If-Match}, if any, names {@code version}. A change
+   * committed after this check fails the write on its version column instead.
+   */
+  public void requireMatch(String entity, Object id, long version) {
+    if (ifMatch != null && !EntityTags.matchesStrongly(ifMatch, EntityTags.of(version))) {
+      versions.count("precondition-failed");
+      throw new RequestRejectedException(entity + " with id of " + id + " has been modified since it was read.", 412);
+    }
+  }
+}
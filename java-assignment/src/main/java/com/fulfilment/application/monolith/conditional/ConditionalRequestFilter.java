@@ -0,0 +1,106 @@
+package com.fulfilment.application.monolith.conditional;
+
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer.Key;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+/**
+ * Conditional requests for single warehouses, stores and products.
+ *
+ * <p>A GET answered 200 carries the entity's version as a strong {@code ETag}. A GET whose
+ * {@code If-None-Match} names the version {@link EntityVersions} remembers is answered 304 before
+ * the resource runs, so nothing is loaded or serialized; otherwise the lookup runs and the
+ * response is turned into a 304 afterwards if the tag still matches. Runs after admission control
+ * and before read coalescing, so a request answered from a remembered version never leads or joins
+ * a coalesced lookup.
+ *
+ * <p>{@code If-Match} on PUT and PATCH is handed to {@link ConditionalRequest}, which the resource
+ * checks against the entity it loaded.
+ */
+public class ConditionalRequestFilter {
+
+  static final String KEY = ConditionalRequestFilter.class.getName() + ".key";
+  static final String CHANGES = ConditionalRequestFilter.class.getName() + ".changes";
+
+  private final EntityVersions versions;
+  private final ConditionalRequest conditional;
+
+  public ConditionalRequestFilter(EntityVersions versions, ConditionalRequest conditional) {
+    this.versions = versions;
+    this.conditional = conditional;
+  }
+
+  @ServerRequestFilter(priority = Priorities.USER - 75)
+  Response onRequest(ContainerRequestContext request, SimpleResourceInfo resource) {
+    if (resource == null || resource.getResourceClass() == null) {
+      return null;
+    }
+    String method = request.getMethod();
+    if (HttpMethod.PUT.equals(method) || HttpMethod.PATCH.equals(method)) {
+      conditional.expect(request.getHeaderString(HttpHeaders.IF_MATCH));
+      return null;
+    }
+    if (!HttpMethod.GET.equals(method)) {
+      return null;
+    }
+    Key key = versions.keyFor(resource.getResourceClass().getSimpleName() + "#" + resource.getMethodName(),
+        request.getUriInfo().getPathParameters().getFirst("id"));
+    if (key == null) {
+      return null;
+    }
+    request.setProperty(KEY, key);
+    request.setProperty(CHANGES, versions.changes());
+
+    String ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    Long known = ifNoneMatch == null ? null : versions.known(key);
+    if (known == null || !EntityTags.matchesWeakly(ifNoneMatch, EntityTags.of(known))) {
+      return null;
+    }
+    versions.count("cached");
+    return Response.notModified().header(HttpHeaders.ETAG, EntityTags.of(known)).build();
+  }
+
+  /**
+   * Tags the response before read coalescing shares it; response filters run from the highest
+   * priority down.
+   */
+  @ServerResponseFilter(priority = Priorities.USER + 50)
+  void tagResponse(ContainerRequestContext request, ContainerResponseContext response) {
+    if (!(request.getProperty(KEY) instanceof Key key) || response.getStatus() != 200) {
+      return;
+    }
+    // A coalesced follower never ran the resource; it already carries the tag of the response it shares.
+    Long version = conditional.servedVersion();
+    if (version == null) {
+      return;
+    }
+    response.getHeaders().putSingle(HttpHeaders.ETAG, EntityTags.of(version));
+    versions.remember(key, version, (Long) request.getProperty(CHANGES));
+  }
+
+  /**
+   * Answers 304 once read coalescing has shared the full response with any followers.
+   */
+  @ServerResponseFilter(priority = Priorities.USER - 50)
+  void answerNotModified(ContainerRequestContext request, ContainerResponseContext response) {
+    String ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    String tag = response.getHeaderString(HttpHeaders.ETAG);
+    if (request.getProperty(KEY) == null || response.getStatus() != 200 || ifNoneMatch == null || tag == null) {
+      return;
+    }
+    if (!EntityTags.matchesWeakly(ifNoneMatch, tag)) {
+      versions.count("modified");
+      return;
+    }
+    versions.count("not-modified");
+    response.setStatus(304);
+    response.setEntity(null);
+  }
+}
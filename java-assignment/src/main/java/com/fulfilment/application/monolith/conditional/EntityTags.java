@@ -0,0 +1,48 @@
+package com.fulfilment.application.monolith.conditional;
+
+/**
+ * Strong entity tags derived from entity versions, and the comparisons of RFC 9110: weak for
+ * {@code If-None-Match}, strong for {@code If-Match}.
+ */
+final class EntityTags {
+
+  private EntityTags() {
+  }
+
+  static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Whether an {@code If-None-Match} value matches {@code tag}; weak tags match their strong form.
+   */
+  static boolean matchesWeakly(String header, String tag) {
+    return matches(header, tag, true);
+  }
+
+  /**
+   * Whether an {@code If-Match} value matches {@code tag}; weak tags never match.
+   */
+  static boolean matchesStrongly(String header, String tag) {
+    return matches(header, tag, false);
+  }
+
+  private static boolean matches(String header, String tag, boolean weak) {
+    if (header.strip().equals("*")) {
+      return true;
+    }
+    for (String candidate : header.split(",")) {
+      candidate = candidate.strip();
+      if (candidate.startsWith("W/")) {
+        if (!weak) {
+          continue;
+        }
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,112 @@
+package com.fulfilment.application.monolith.conditional;
+
+import com.fulfilment.application.monolith.cacheinvalidation.ClusterCacheInvalidation;
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer.Key;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The version this node last served for each single entity, so a GET whose {@code If-None-Match}
+ * names it can be answered {@code 304} without loading the entity.
+ *
+ * <p>A version is forgotten when a change to the entity commits, on this node or another (see
+ * {@link ClusterCacheInvalidation}), and after {@code conditional-requests.version-ttl} at the
+ * latest. The time limit bounds how long a version read from a lagging replica, or kept past a lost
+ * notification, can be confirmed. A version read by a request that overlapped any change on this
+ * node is not remembered, since the change may have been forgotten before the read was done.
+ *
+ * <p>Counts conditional GETs in {@code http.server.conditional.requests}, tagged by result:
+ * {@code cached} when answered from a remembered version, {@code not-modified} when answered after
+ * the lookup, and {@code modified} when the client's copy was out of date; writes refused for a
+ * failed {@code If-Match} count as {@code precondition-failed}.
+ */
+@ApplicationScoped
+public class EntityVersions {
+
+  static final String METRIC = "http.server.conditional.requests";
+
+  private record Remembered(long version, long expiresAtNanos) {
+  }
+
+  private final boolean enabled;
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final MeterRegistry registry;
+  private final Map<Key, Remembered> versions = new ConcurrentHashMap<>();
+  private final AtomicLong changes = new AtomicLong();
+
+  public EntityVersions(
+      MeterRegistry registry,
+      @ConfigProperty(name = "conditional-requests.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "conditional-requests.version-ttl", defaultValue = "30s") Duration ttl,
+      @ConfigProperty(name = "conditional-requests.max-versions", defaultValue = "100000") int maxEntries) {
+    this.registry = registry;
+    this.enabled = enabled;
+    this.ttlNanos = ttl.toNanos();
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * The key of a request for {@code Resource#method} with the given id path parameter, or
+   * {@code null} when such requests are not conditional.
+   */
+  Key keyFor(String operation, String id) {
+    return enabled ? Key.forRead(operation, id) : null;
+  }
+
+  /**
+   * The remembered version of the entity, or {@code null} if there is none still valid.
+   */
+  Long known(Key key) {
+    Remembered remembered = versions.get(key);
+    if (remembered == null) {
+      return null;
+    }
+    if (System.nanoTime() - remembered.expiresAtNanos() >= 0) {
+      versions.remove(key, remembered);
+      return null;
+    }
+    return remembered.version();
+  }
+
+  /**
+   * Changes seen so far; taken before a read and handed back to {@link #remember}.
+   */
+  long changes() {
+    return changes.get();
+  }
+
+  /**
+   * Remembers the version a read returned, unless a change was forgotten since it began.
+   */
+  void remember(Key key, long version, long changesBeforeRead) {
+    if (versions.size() >= maxEntries) {
+      versions.clear();
+    }
+    Remembered remembered = new Remembered(version, System.nanoTime() + ttlNanos);
+    versions.put(key, remembered);
+    // forget() counts before it removes, so either it removes this entry or this sees its count.
+    if (changes.get() != changesBeforeRead) {
+      versions.remove(key, remembered);
+    }
+  }
+
+  public void forget(String entityName, Object id) {
+    changes.incrementAndGet();
+    versions.remove(Key.of(entityName, id));
+  }
+
+  public void forgetAll() {
+    changes.incrementAndGet();
+    versions.clear();
+  }
+
+  void count(String result) {
+    registry.counter(METRIC, "result", result).increment();
+  }
+}
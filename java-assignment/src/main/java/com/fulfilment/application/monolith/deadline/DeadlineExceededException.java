@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.deadline;
+
+import jakarta.ws.rs.WebApplicationException;
+
+/**
+ * Thrown when a request's deadline passes before its work is done. Answered with 504.
+ */
+public class DeadlineExceededException extends WebApplicationException {
+
+  public DeadlineExceededException(String message) {
+    super(message, 504);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
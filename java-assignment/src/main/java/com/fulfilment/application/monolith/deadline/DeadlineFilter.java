@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.deadline;
+
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import io.quarkus.runtime.configuration.DurationConverter;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+/**
+ * Starts the {@link RequestDeadline} of each request for a resource method.
+ *
+ * <p>The budget is {@code request-deadline.default}, or the entry for the endpoint in
+ * {@code request-deadline.endpoints} ({@code Resource#method=DURATION}). A client may shorten it,
+ * never extend it, with an {@code X-Request-Timeout} header holding a duration such as
+ * {@code 800ms} or {@code 2s}, or plain milliseconds.
+ */
+public class DeadlineFilter {
+
+  static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+  private final RequestDeadline deadline;
+  private final Duration defaultBudget;
+  private final Map<String, Duration> endpointBudgets = new HashMap<>();
+
+  public DeadlineFilter(
+      RequestDeadline deadline,
+      @ConfigProperty(name = "request-deadline.default", defaultValue = "10s") Duration defaultBudget,
+      @ConfigProperty(name = "request-deadline.endpoints") Optional<List<String>> endpoints) {
+    this.deadline = deadline;
+    this.defaultBudget = defaultBudget;
+    for (String entry : endpoints.orElse(List.of())) {
+      String[] parts = entry.split("=", 2);
+      if (parts.length != 2 || !parts[0].contains("#")) {
+        throw new IllegalArgumentException("Expected Resource#method=DURATION in request-deadline.endpoints, got '" + entry + "'");
+      }
+      endpointBudgets.put(parts[0].trim(), DurationConverter.parseDuration(parts[1].trim()));
+    }
+  }
+
+  @ServerRequestFilter
+  void onRequest(ContainerRequestContext request, SimpleResourceInfo resource) {
+    if (resource == null || resource.getResourceClass() == null) {
+      return;
+    }
+    String operation = resource.getResourceClass().getSimpleName() + "#" + resource.getMethodName();
+    Duration budget = endpointBudgets.getOrDefault(operation, defaultBudget);
+    String requested = request.getHeaderString(TIMEOUT_HEADER);
+    if (requested != null) {
+      Duration clientBudget = parse(requested);
+      if (clientBudget.compareTo(budget) < 0) {
+        budget = clientBudget;
+      }
+    }
+    deadline.start(budget, operation);
+  }
+
+  private static Duration parse(String value) {
+    String trimmed = value.trim();
+    Duration duration;
+    try {
+      duration = trimmed.chars().allMatch(Character::isDigit)
+          ? Duration.ofMillis(Long.parseLong(trimmed))
+          : DurationConverter.parseDuration(trimmed);
+    } catch (RuntimeException e) {
+      duration = null;
+    }
+    if (duration == null || duration.isNegative() || duration.isZero()) {
+      throw new RequestRejectedException(TIMEOUT_HEADER + " must be a positive duration such as 800ms or 2s, got '" + value + "'.", 400);
+    }
+    return duration;
+  }
+}
@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.deadline;
+
+import io.quarkus.arc.Arc;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.TransactionManager;
+
+/**
+ * Runs before the {@code @Transactional} interceptor: rejects the call if the deadline has passed
+ * and gives a transaction the call starts the remaining time, rounded up to whole seconds, as its
+ * timeout. The transaction manager's own default applies again once the outermost call returns.
+ */
+@EnforceDeadline
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class DeadlineInterceptor {
+
+  @Inject
+  RequestDeadline deadline;
+
+  @Inject
+  TransactionManager transactionManager;
+
+  @AroundInvoke
+  Object enforce(InvocationContext context) throws Exception {
+    if (!Arc.container().requestContext().isActive() || !deadline.isSet()) {
+      return context.proceed();
+    }
+    deadline.check();
+    boolean outermost = deadline.enter() == 0;
+    transactionManager.setTransactionTimeout((int) QueryTimeoutInterceptor.wholeSeconds(deadline.remainingMillis()));
+    try {
+      return context.proceed();
+    } finally {
+      deadline.exit();
+      if (outermost) {
+        transactionManager.setTransactionTimeout(0);
+      }
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.deadline;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated bean's methods within the current request's {@link RequestDeadline}: calls
+ * after it has passed fail fast, transactions they start time out with it, and queries they create
+ * get the remaining time as their timeout.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface EnforceDeadline {
+}
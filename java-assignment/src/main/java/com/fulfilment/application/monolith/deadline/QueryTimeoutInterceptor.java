@@ -0,0 +1,45 @@
+package com.fulfilment.application.monolith.deadline;
+
+import io.quarkus.arc.Arc;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs inside the {@code @Transactional} interceptor, so it reaches the session of the call's
+ * transaction (or the request's session outside one). Hibernate copies the session's
+ * {@code jakarta.persistence.query.timeout} into every query it creates afterwards; the value is
+ * the time left on entry, rounded up to whole seconds, and is refreshed by each nested call.
+ * Entity loads by id and flushes are not queries and are bounded by the transaction timeout only.
+ */
+@EnforceDeadline
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 300)
+public class QueryTimeoutInterceptor {
+
+  static final String QUERY_TIMEOUT = "jakarta.persistence.query.timeout";
+
+  @Inject
+  RequestDeadline deadline;
+
+  @Inject
+  EntityManager entityManager;
+
+  @AroundInvoke
+  Object applyTimeout(InvocationContext context) throws Exception {
+    if (Arc.container().requestContext().isActive() && deadline.isSet()) {
+      deadline.check();
+      entityManager.setProperty(QUERY_TIMEOUT, (int) Math.min(Integer.MAX_VALUE, wholeSeconds(deadline.remainingMillis()) * 1000));
+    }
+    return context.proceed();
+  }
+
+  // JDBC query timeouts are whole seconds; Hibernate truncates, which would turn anything under a
+  // second into no timeout at all.
+  static long wholeSeconds(long millis) {
+    return (millis + 999) / 1000;
+  }
+}
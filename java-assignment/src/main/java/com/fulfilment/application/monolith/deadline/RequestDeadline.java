@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.deadline;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.time.Duration;
+
+/**
+ * The point in time by which the current HTTP request must be answered, set by
+ * {@link DeadlineFilter}. Requests without a resource method (and work outside a request) have no
+ * deadline.
+ */
+@RequestScoped
+public class RequestDeadline {
+
+  private long deadlineNanos;
+  private boolean set;
+  private String operation;
+  private int depth;
+
+  void start(Duration budget, String operation) {
+    this.deadlineNanos = System.nanoTime() + budget.toNanos();
+    this.set = true;
+    this.operation = operation;
+  }
+
+  public boolean isSet() {
+    return set;
+  }
+
+  /**
+   * The deadline as a {@link System#nanoTime()} value; only meaningful while {@link #isSet()}.
+   */
+  public long deadlineNanos() {
+    return deadlineNanos;
+  }
+
+  /**
+   * Starts this request context's deadline at one read from another, for work a request hands to
+   * a thread with a request context of its own.
+   */
+  public void continueFrom(long deadlineNanos, String operation) {
+    this.deadlineNanos = deadlineNanos;
+    this.set = true;
+    this.operation = operation;
+  }
+
+  /**
+   * {@code Resource#method} of the request, for metric tags.
+   */
+  public String operation() {
+    return operation;
+  }
+
+  public boolean expired() {
+    return set && System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  /**
+   * Time left, at least one millisecond; callers check {@link #expired()} first.
+   */
+  public long remainingMillis() {
+    return Math.max(1, (deadlineNanos - System.nanoTime()) / 1_000_000);
+  }
+
+  public void check() {
+    if (expired()) {
+      throw new DeadlineExceededException("Request deadline exceeded before " + operation + " completed.");
+    }
+  }
+
+  // Nesting depth of DeadlineInterceptor, so only the outermost call resets the transaction timeout.
+  int enter() {
+    return depth++;
+  }
+
+  void exit() {
+    depth--;
+  }
+}
@@ -0,0 +1,10 @@
+package com.fulfilment.application.monolith.errors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Body of every error response. {@code errorCode} is set for business-rule rejections only.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(String exceptionType, int code, String errorCode, String error) {
+}
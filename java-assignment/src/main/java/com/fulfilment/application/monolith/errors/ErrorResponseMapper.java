@@ -0,0 +1,130 @@
+package com.fulfilment.application.monolith.errors;
+
+import com.fulfilment.application.monolith.conditional.ConditionalRequest;
+import com.fulfilment.application.monolith.deadline.DeadlineExceededException;
+import com.fulfilment.application.monolith.deadline.RequestDeadline;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.hibernate.StaleStateException;
+import org.jboss.logging.Logger;
+
+/**
+ * Turns every exception escaping a resource into an {@link ErrorResponse}.
+ *
+ * <p>Business-rule rejections get their status from their {@link ErrorCode}; other
+ * {@link WebApplicationException}s keep theirs and anything else is a 500. Only server errors are
+ * logged with their stack trace; client errors are expected traffic and logged at DEBUG.
+ *
+ * <p>A request that ran out of its {@link RequestDeadline} is answered with 504 and counted in
+ * {@code http.server.deadline.exceeded}, tagged by cause: {@code expired} when a call was refused
+ * after the deadline, {@code query-timeout} when the database cancelled a statement, and
+ * {@code transaction-timeout} for any other failure once the deadline has passed, typically the
+ * transaction being rolled back by its timeout.
+ *
+ * <p>A write that lost a race on an entity's version column is answered with 412 if the request
+ * was conditional on {@code If-Match}, whose precondition no longer holds, and 409 otherwise.
+ */
+@Provider
+public class ErrorResponseMapper implements ExceptionMapper<Exception> {
+
+  private static final Logger LOGGER = Logger.getLogger(ErrorResponseMapper.class.getName());
+
+  static final String DEADLINE_METRIC = "http.server.deadline.exceeded";
+
+  private final RequestDeadline deadline;
+  private final ConditionalRequest conditionalRequest;
+  private final MeterRegistry registry;
+
+  @Inject
+  public ErrorResponseMapper(RequestDeadline deadline, ConditionalRequest conditionalRequest, MeterRegistry registry) {
+    this.deadline = deadline;
+    this.conditionalRequest = conditionalRequest;
+    this.registry = registry;
+  }
+
+  @Override
+  public Response toResponse(Exception exception) {
+    int status;
+    String errorCode = null;
+    String deadlineCause = deadlineCause(exception);
+    if (deadlineCause != null) {
+      status = 504;
+    } else if (exception instanceof WarehouseValidationException validation) {
+      status = status(validation.getCode());
+      errorCode = validation.getCode().name();
+    } else if (exception instanceof WebApplicationException web) {
+      status = web.getResponse().getStatus();
+    } else if (isVersionConflict(exception)) {
+      status = conditionalRequest.hasPrecondition() ? 412 : 409;
+    } else {
+      status = 500;
+    }
+
+    if (deadlineCause != null) {
+      String operation = deadline.operation() != null ? deadline.operation() : "unknown";
+      registry.counter(DEADLINE_METRIC, "cause", deadlineCause, "operation", operation).increment();
+      LOGGER.warnf("Request deadline exceeded (%s) in %s: %s", deadlineCause, operation, exception.getMessage());
+    } else if (status >= 500) {
+      LOGGER.error("Failed to handle request", exception);
+    } else {
+      LOGGER.debugf("Request rejected with %d: %s", status, exception.getMessage());
+    }
+
+    return Response.status(status)
+        .type(MediaType.APPLICATION_JSON_TYPE)
+        .entity(new ErrorResponse(exception.getClass().getName(), status, errorCode, exception.getMessage()))
+        .build();
+  }
+
+  private String deadlineCause(Exception exception) {
+    if (exception instanceof DeadlineExceededException) {
+      return "expired";
+    }
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof QueryTimeoutException || cause instanceof org.hibernate.QueryTimeoutException) {
+        return "query-timeout";
+      }
+    }
+    if (!(exception instanceof WebApplicationException) && !(exception instanceof WarehouseValidationException)
+        && deadline.expired()) {
+      return "transaction-timeout";
+    }
+    return null;
+  }
+
+  private static boolean isVersionConflict(Exception exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static int status(ErrorCode code) {
+    return switch (code) {
+      case WAREHOUSE_NOT_FOUND, PRODUCT_NOT_FOUND, STORE_NOT_FOUND -> 404;
+      case DUPLICATE_BUSINESS_UNIT_CODE,
+          LOCATION_NOT_FOUND,
+          LOCATION_WAREHOUSE_LIMIT_REACHED,
+          LOCATION_CAPACITY_EXCEEDED,
+          STOCK_EXCEEDS_CAPACITY,
+          CAPACITY_BELOW_EXISTING_STOCK,
+          STOCK_MISMATCH,
+          WAREHOUSE_ARCHIVED,
+          WAREHOUSE_PRODUCT_LIMIT_REACHED,
+          STORE_WAREHOUSE_LIMIT_REACHED,
+          PRODUCT_WAREHOUSES_PER_STORE_LIMIT_REACHED,
+          REPLACEMENT_CHANGES_SHARD -> 400;
+    };
+  }
+}
@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.errors;
+
+import jakarta.ws.rs.WebApplicationException;
+
+/**
+ * A client error (4xx) detected by a resource, such as a missing entity or an invalid payload.
+ *
+ * <p>Carries no stack trace: the status and message say everything, and filling in the stack on
+ * every rejected request is most of its cost.
+ */
+public class RequestRejectedException extends WebApplicationException {
+
+  public RequestRejectedException(String message, int status) {
+    super(message, status);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,73 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The fulfilment constraints, evaluated against already-loaded state so they can be checked (and
+ * benchmarked) without a database.
+ */
+public final class FulfilmentRules {
+
+    static final int MAX_PRODUCTS_PER_WAREHOUSE = 5;
+    static final int MAX_WAREHOUSES_PER_STORE = 3;
+    static final int MAX_WAREHOUSES_PER_PRODUCT_PER_STORE = 2;
+
+    private FulfilmentRules() {
+    }
+
+    public static void checkAssociable(DbWarehouse warehouse) {
+        if (warehouse.archivedAt != null) {
+            throw new WarehouseValidationException(
+                    ErrorCode.WAREHOUSE_ARCHIVED, "Cannot associate an archived warehouse.");
+        }
+    }
+
+    public static void checkProductsPerWarehouse(long productCount) {
+        if (productCount >= MAX_PRODUCTS_PER_WAREHOUSE) {
+            throw new WarehouseValidationException(
+                    ErrorCode.WAREHOUSE_PRODUCT_LIMIT_REACHED,
+                    "Warehouse can store a maximum of " + MAX_PRODUCTS_PER_WAREHOUSE + " types of products.");
+        }
+    }
+
+    public static void checkWarehousesPerStore(int warehouseCount) {
+        if (warehouseCount >= MAX_WAREHOUSES_PER_STORE) {
+            throw new WarehouseValidationException(
+                    ErrorCode.STORE_WAREHOUSE_LIMIT_REACHED,
+                    "Store can be fulfilled by a maximum of " + MAX_WAREHOUSES_PER_STORE + " warehouses.");
+        }
+    }
+
+    /**
+     * Ids of the warehouses fulfilling a product once {@code added} is associated with it.
+     */
+    public static Set<Long> warehouseIds(Collection<DbWarehouse> current, DbWarehouse added) {
+        Set<Long> ids = new HashSet<>(current.size() + 1);
+        for (DbWarehouse warehouse : current) {
+            ids.add(warehouse.id);
+        }
+        ids.add(added.id);
+        return ids;
+    }
+
+    public static void checkWarehousesPerProductPerStore(
+            Set<Long> productWarehouseIds, Collection<Store> storesWithWarehouse) {
+        for (Store store : storesWithWarehouse) {
+            long shared = store.fulfilmentUnits.stream()
+                    .filter(w -> productWarehouseIds.contains(w.id))
+                    .count();
+            if (shared > MAX_WAREHOUSES_PER_PRODUCT_PER_STORE) {
+                throw new WarehouseValidationException(
+                        ErrorCode.PRODUCT_WAREHOUSES_PER_STORE_LIMIT_REACHED,
+                        "Product can be fulfilled by a maximum of " + MAX_WAREHOUSES_PER_PRODUCT_PER_STORE
+                                + " warehouses per store.");
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.ids;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.jboss.logging.Logger;
+
+/**
+ * Hibernate side of {@link SnowflakeId}. All annotated entities share one {@link SnowflakeIds}, so
+ * the node id is read once, from {@code id-generator.node-id}.
+ *
+ * <p>Every node writing to the same tables needs its own node id. Without one configured, a random
+ * id is picked, which is fine for a single node but may collide between several; with
+ * {@code id-generator.node-id-required} set, as in the prod profile, an unset node id fails
+ * startup instead (see {@link SnowflakeNodeIdCheck}).
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+  private static final Logger LOGGER = Logger.getLogger(SnowflakeIdentifierGenerator.class.getName());
+
+  private static volatile SnowflakeIds ids;
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+    return ids().next();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+
+  static SnowflakeIds ids() {
+    SnowflakeIds current = ids;
+    if (current == null) {
+      synchronized (SnowflakeIdentifierGenerator.class) {
+        current = ids;
+        if (current == null) {
+          current = new SnowflakeIds(nodeId());
+          ids = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private static int nodeId() {
+    Config config = ConfigProvider.getConfig();
+    return nodeId(config.getOptionalValue("id-generator.node-id", Integer.class),
+        config.getOptionalValue("id-generator.node-id-required", Boolean.class).orElse(false));
+  }
+
+  static int nodeId(Optional<Integer> configured, boolean required) {
+    if (configured.isPresent()) {
+      return configured.get();
+    }
+    if (required) {
+      throw new IllegalStateException(
+          "id-generator.node-id must be set to a node id (0-" + SnowflakeIds.MAX_NODE_ID + ") unique to this node");
+    }
+    int random = ThreadLocalRandom.current().nextInt(SnowflakeIds.MAX_NODE_ID + 1);
+    LOGGER.infof("No id-generator.node-id configured, generating ids as node %d", random);
+    return random;
+  }
+}
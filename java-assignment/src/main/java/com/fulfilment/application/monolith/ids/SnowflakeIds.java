@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.ids;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a 12-bit
+ * counter, most significant first. Ids from one node strictly increase, and ids from all nodes are
+ * ordered to within the clock skew between them, so primary key indexes grow at their right edge.
+ *
+ * <p>Millisecond and counter advance together: the next id is the last one plus one, or the current
+ * millisecond with counter zero if that is larger. More than 4096 ids in a millisecond therefore
+ * borrow from the next millisecond instead of waiting, and a clock that steps back does not repeat
+ * ids; it only pauses the time component until the clock catches up.
+ */
+public final class SnowflakeIds {
+
+  static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+  static final int NODE_BITS = 10;
+  static final int COUNTER_BITS = 12;
+  public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+  private final long node;
+  private final LongSupplier clock;
+  // Milliseconds since the epoch, shifted left by COUNTER_BITS, plus the counter.
+  private final AtomicLong last = new AtomicLong();
+
+  public SnowflakeIds(int nodeId) {
+    this(nodeId, System::currentTimeMillis);
+  }
+
+  SnowflakeIds(int nodeId, LongSupplier clock) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+    }
+    this.node = nodeId;
+    this.clock = clock;
+  }
+
+  public long next() {
+    long now = (clock.getAsLong() - EPOCH_MILLIS) << COUNTER_BITS;
+    long state = last.updateAndGet(previous -> Math.max(previous + 1, now));
+    return (state >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS) | node << COUNTER_BITS | state & COUNTER_MASK;
+  }
+
+  public static Instant timestampOf(long id) {
+    return Instant.ofEpochMilli((id >>> (NODE_BITS + COUNTER_BITS)) + EPOCH_MILLIS);
+  }
+
+  public static int nodeOf(long id) {
+    return (int) (id >>> COUNTER_BITS) & MAX_NODE_ID;
+  }
+}
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.ids;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Resolves the node id of {@link SnowflakeIdentifierGenerator} at startup, so a node missing a
+ * required one fails to start rather than on its first insert.
+ */
+@ApplicationScoped
+public class SnowflakeNodeIdCheck {
+
+  void onStart(@Observes StartupEvent event) {
+    SnowflakeIdentifierGenerator.ids();
+  }
+}
@@ -0,0 +1,123 @@
+package com.fulfilment.application.monolith.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.warehouse.api.beans.Warehouse;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Registers hand-written codecs for the types on the hot request paths: {@link Product},
+ * {@link Store} and the API {@link Warehouse}, in both directions and for the list endpoints.
+ *
+ * <p>The codecs read and write fields directly, so Jackson never introspects these types and they
+ * need no reflection registration in a native image. They must stay in line with the fields of
+ * the types; {@code JsonCodecsTest} compares them with reflective databind, and {@code JsonCodecsIT}
+ * round-trips each type over HTTP against the native image built with {@code -Dnative}.
+ */
+@Singleton
+public class JsonCodecs implements ObjectMapperCustomizer {
+
+  @Override
+  public void customize(ObjectMapper objectMapper) {
+    objectMapper.registerModule(module());
+  }
+
+  public static SimpleModule module() {
+    return new SimpleModule("json-codecs")
+        .addSerializer(Product.class, new ProductCodec.Serializer())
+        .addDeserializer(Product.class, new ProductCodec.Deserializer())
+        .addSerializer(Store.class, new StoreCodec.Serializer())
+        .addDeserializer(Store.class, new StoreCodec.Deserializer())
+        .addSerializer(Warehouse.class, new WarehouseCodec.Serializer())
+        .addDeserializer(Warehouse.class, new WarehouseCodec.Deserializer());
+  }
+
+  // ─── Scalar readers; the parser is positioned on the value ───
+
+  static String readString(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (!token.isScalarValue()) {
+      context.reportInputMismatch(type, "Expected a string for '%s' but found %s", parser.currentName(), token);
+    }
+    return parser.getText();
+  }
+
+  static Integer readInteger(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getIntValue();
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return Integer.valueOf(parser.getText().trim());
+      } catch (NumberFormatException e) {
+        // reported below
+      }
+    }
+    context.reportInputMismatch(type, "Expected an integer for '%s' but found %s", parser.currentName(), token);
+    return null;
+  }
+
+  static int readInt(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    Integer value = readInteger(parser, context, type);
+    return value == null ? 0 : value;
+  }
+
+  static Long readLong(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getLongValue();
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return Long.valueOf(parser.getText().trim());
+      } catch (NumberFormatException e) {
+        // reported below
+      }
+    }
+    context.reportInputMismatch(type, "Expected an integer for '%s' but found %s", parser.currentName(), token);
+    return null;
+  }
+
+  static BigDecimal readDecimal(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token.isNumeric()) {
+      return parser.getDecimalValue();
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return new BigDecimal(parser.getText().trim());
+      } catch (NumberFormatException e) {
+        // reported below
+      }
+    }
+    context.reportInputMismatch(type, "Expected a number for '%s' but found %s", parser.currentName(), token);
+    return null;
+  }
+
+  static void expectObject(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      context.reportInputMismatch(type, "Expected a JSON object but found %s", parser.currentToken());
+    }
+  }
+}
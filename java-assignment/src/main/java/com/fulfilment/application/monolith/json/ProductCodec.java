@@ -0,0 +1,74 @@
+package com.fulfilment.application.monolith.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fulfilment.application.monolith.products.Product;
+import java.io.IOException;
+
+/**
+ * {@link Product} as {@code {"id", "name", "description", "price", "stock"}}; the
+ * {@code fulfilmentUnits} association is never read or written. The id is written as a string, as
+ * on the entity, and read from either a string or a number.
+ */
+final class ProductCodec {
+
+  private ProductCodec() {
+  }
+
+  static final class Serializer extends StdSerializer<Product> {
+
+    Serializer() {
+      super(Product.class);
+    }
+
+    @Override
+    public void serialize(Product product, JsonGenerator json, SerializerProvider provider) throws IOException {
+      json.writeStartObject(product);
+      if (product.id == null) {
+        json.writeNullField("id");
+      } else {
+        json.writeStringField("id", product.id.toString());
+      }
+      json.writeStringField("name", product.name);
+      json.writeStringField("description", product.description);
+      if (product.price == null) {
+        json.writeNullField("price");
+      } else {
+        json.writeNumberField("price", product.price);
+      }
+      json.writeNumberField("stock", product.stock);
+      json.writeEndObject();
+    }
+  }
+
+  static final class Deserializer extends StdDeserializer<Product> {
+
+    Deserializer() {
+      super(Product.class);
+    }
+
+    @Override
+    public Product deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      JsonCodecs.expectObject(parser, context, Product.class);
+      Product product = new Product();
+      for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+        String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "id" -> product.id = JsonCodecs.readLong(parser, context, Product.class);
+          case "name" -> product.name = JsonCodecs.readString(parser, context, Product.class);
+          case "description" -> product.description = JsonCodecs.readString(parser, context, Product.class);
+          case "price" -> product.price = JsonCodecs.readDecimal(parser, context, Product.class);
+          case "stock" -> product.stock = JsonCodecs.readInt(parser, context, Product.class);
+          default -> parser.skipChildren();
+        }
+      }
+      return product;
+    }
+  }
+}
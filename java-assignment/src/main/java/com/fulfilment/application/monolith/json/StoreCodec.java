@@ -0,0 +1,66 @@
+package com.fulfilment.application.monolith.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fulfilment.application.monolith.stores.Store;
+import java.io.IOException;
+
+/**
+ * {@link Store} as {@code {"id", "name", "quantityProductsInStock"}}; the {@code fulfilmentUnits}
+ * association is never read or written.
+ */
+final class StoreCodec {
+
+  private StoreCodec() {
+  }
+
+  static final class Serializer extends StdSerializer<Store> {
+
+    Serializer() {
+      super(Store.class);
+    }
+
+    @Override
+    public void serialize(Store store, JsonGenerator json, SerializerProvider provider) throws IOException {
+      json.writeStartObject(store);
+      if (store.id == null) {
+        json.writeNullField("id");
+      } else {
+        json.writeNumberField("id", store.id);
+      }
+      json.writeStringField("name", store.name);
+      json.writeNumberField("quantityProductsInStock", store.quantityProductsInStock);
+      json.writeEndObject();
+    }
+  }
+
+  static final class Deserializer extends StdDeserializer<Store> {
+
+    Deserializer() {
+      super(Store.class);
+    }
+
+    @Override
+    public Store deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      JsonCodecs.expectObject(parser, context, Store.class);
+      Store store = new Store();
+      for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+        String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "id" -> store.id = JsonCodecs.readLong(parser, context, Store.class);
+          case "name" -> store.name = JsonCodecs.readString(parser, context, Store.class);
+          case "quantityProductsInStock" ->
+              store.quantityProductsInStock = JsonCodecs.readInt(parser, context, Store.class);
+          default -> parser.skipChildren();
+        }
+      }
+      return store;
+    }
+  }
+}
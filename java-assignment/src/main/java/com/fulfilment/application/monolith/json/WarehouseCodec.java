@@ -0,0 +1,76 @@
+package com.fulfilment.application.monolith.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.warehouse.api.beans.Warehouse;
+import java.io.IOException;
+
+/**
+ * The generated API {@link Warehouse} bean, honouring its {@code NON_NULL} inclusion and property
+ * order.
+ */
+final class WarehouseCodec {
+
+  private WarehouseCodec() {
+  }
+
+  static final class Serializer extends StdSerializer<Warehouse> {
+
+    Serializer() {
+      super(Warehouse.class);
+    }
+
+    @Override
+    public void serialize(Warehouse warehouse, JsonGenerator json, SerializerProvider provider) throws IOException {
+      json.writeStartObject(warehouse);
+      if (warehouse.getId() != null) {
+        json.writeStringField("id", warehouse.getId());
+      }
+      if (warehouse.getBusinessUnitCode() != null) {
+        json.writeStringField("businessUnitCode", warehouse.getBusinessUnitCode());
+      }
+      if (warehouse.getLocation() != null) {
+        json.writeStringField("location", warehouse.getLocation());
+      }
+      if (warehouse.getCapacity() != null) {
+        json.writeNumberField("capacity", warehouse.getCapacity());
+      }
+      if (warehouse.getStock() != null) {
+        json.writeNumberField("stock", warehouse.getStock());
+      }
+      json.writeEndObject();
+    }
+  }
+
+  static final class Deserializer extends StdDeserializer<Warehouse> {
+
+    Deserializer() {
+      super(Warehouse.class);
+    }
+
+    @Override
+    public Warehouse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      JsonCodecs.expectObject(parser, context, Warehouse.class);
+      Warehouse warehouse = new Warehouse();
+      for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+        String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "id" -> warehouse.setId(JsonCodecs.readString(parser, context, Warehouse.class));
+          case "businessUnitCode" ->
+              warehouse.setBusinessUnitCode(JsonCodecs.readString(parser, context, Warehouse.class));
+          case "location" -> warehouse.setLocation(JsonCodecs.readString(parser, context, Warehouse.class));
+          case "capacity" -> warehouse.setCapacity(JsonCodecs.readInteger(parser, context, Warehouse.class));
+          case "stock" -> warehouse.setStock(JsonCodecs.readInteger(parser, context, Warehouse.class));
+          default -> parser.skipChildren();
+        }
+      }
+      return warehouse;
+    }
+  }
+}
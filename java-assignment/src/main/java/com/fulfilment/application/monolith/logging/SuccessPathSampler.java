@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.logging;
+
+import io.quarkus.logging.LoggingFilter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Rate-limits the success-path logs of busy categories.
+ *
+ * <p>Records below {@code WARNING} from a logger under one of the configured {@code categories} are
+ * let through up to {@code maxPerSecond} times per second and logger; beyond that only one in
+ * {@code sampleRate} is kept. Every other category always passes.
+ *
+ * <p>Attached to the console handler with {@code quarkus.log.console.filter=success-path-sampler}.
+ * That handler discards records when its queue is full, so with {@code passWarnings} off it leaves
+ * warnings and errors to a separate handler that blocks instead; otherwise they always pass.
+ */
+@LoggingFilter(name = "success-path-sampler")
+public final class SuccessPathSampler implements Filter {
+
+  private final boolean enabled;
+  private final boolean passWarnings;
+  private final List<String> categories;
+  private final int maxPerSecond;
+  private final int sampleRate;
+
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+  private final AtomicLong suppressed = new AtomicLong();
+
+  public SuccessPathSampler(
+      @ConfigProperty(name = "logging.sampling.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "logging.sampling.categories") List<String> categories,
+      @ConfigProperty(name = "logging.sampling.max-per-second", defaultValue = "20") int maxPerSecond,
+      @ConfigProperty(name = "logging.sampling.rate", defaultValue = "100") int sampleRate,
+      @ConfigProperty(name = "logging.sampling.pass-warnings", defaultValue = "true") boolean passWarnings) {
+    this.enabled = enabled;
+    this.passWarnings = passWarnings;
+    this.categories = List.copyOf(categories);
+    this.maxPerSecond = maxPerSecond;
+    this.sampleRate = Math.max(1, sampleRate);
+  }
+
+  @Override
+  public boolean isLoggable(LogRecord record) {
+    if (record.getLevel().intValue() >= Level.WARNING.intValue()) {
+      return passWarnings;
+    }
+    if (!enabled || !sampled(record.getLoggerName())) {
+      return true;
+    }
+
+    Window window = windows.computeIfAbsent(record.getLoggerName(), name -> new Window());
+    long count = window.next(record.getMillis() / 1000);
+    if (count <= maxPerSecond || (count - maxPerSecond) % sampleRate == 0) {
+      return true;
+    }
+    suppressed.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Number of records dropped since startup.
+   */
+  public long suppressed() {
+    return suppressed.get();
+  }
+
+  private boolean sampled(String loggerName) {
+    if (loggerName == null) {
+      return false;
+    }
+    for (String category : categories) {
+      if (loggerName.startsWith(category)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Fixed one-second window per logger; a racing reset may let a handful of extra records through.
+  private static final class Window {
+
+    private final AtomicLong second = new AtomicLong();
+    private final AtomicLong count = new AtomicLong();
+
+    long next(long now) {
+      long current = second.get();
+      if (current != now && second.compareAndSet(current, now)) {
+        count.set(0);
+      }
+      return count.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.fulfilment.application.monolith.metrics;
+
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Increments {@code warehouse.validation.failures} for every rejected operation. Tags are the
+ * error code and the method name, both bounded, so the counter stays low-cardinality.
+ */
+@CountValidationFailures
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE)
+public class ValidationFailureInterceptor {
+
+  static final String METRIC = "warehouse.validation.failures";
+
+  @Inject
+  MeterRegistry registry;
+
+  @AroundInvoke
+  Object count(InvocationContext context) throws Exception {
+    try {
+      return context.proceed();
+    } catch (WarehouseValidationException e) {
+      registry.counter(METRIC,
+          "reason", e.getCode().name(),
+          "operation", context.getMethod().getName())
+          .increment();
+      throw e;
+    }
+  }
+}
@@ -1,23 +1,31 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fulfilment.application.monolith.ids.SnowflakeId;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import org.hibernate.annotations.OptimisticLock;
 
 @Entity
 @Cacheable
 public class Product {
 
+  // Snowflake ids pass 2^53, beyond which JSON numbers lose precision in JavaScript clients.
   @Id
-  @GeneratedValue
+  @SnowflakeId
+  @JsonSerialize(using = ToStringSerializer.class)
   public Long id;
 
   @jakarta.persistence.ManyToMany
   @jakarta.persistence.JoinTable(name = "product_warehouse", joinColumns = @jakarta.persistence.JoinColumn(name = "product_id"), inverseJoinColumns = @jakarta.persistence.JoinColumn(name = "warehouse_id"))
   @com.fasterxml.jackson.annotation.JsonIgnore
+  @OptimisticLock(excluded = true)
   public java.util.List<com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse> fulfilmentUnits = new java.util.ArrayList<>();
 
   @Column(length = 40, unique = true)
@@ -31,6 +39,11 @@ public class Product {
 
   public int stock;
 
+  // Sent as the ETag of single-product responses rather than in the body.
+  @Version
+  @JsonIgnore
+  public long version;
+
   public Product() {
   }
 
@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.readrouting;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Maps the tenants chosen by {@link ReadRoutingTenantResolver} to the default and the
+ * {@code replica} datasource, and any other tenant to the warehouse shard datasource of that name.
+ * Hibernate caches the provider per tenant.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadRoutingConnectionResolver implements TenantConnectionResolver {
+
+  private final AgroalDataSource primary;
+  private final AgroalDataSource replica;
+
+  public ReadRoutingConnectionResolver(AgroalDataSource primary, @DataSource("replica") AgroalDataSource replica) {
+    this.primary = primary;
+    this.replica = replica;
+  }
+
+  @Override
+  public ConnectionProvider resolve(String tenantId) {
+    return switch (tenantId) {
+      case ReadRoutingTenantResolver.PRIMARY -> new QuarkusConnectionProvider(primary);
+      case ReadRoutingTenantResolver.REPLICA -> new QuarkusConnectionProvider(replica);
+      default -> new QuarkusConnectionProvider(shard(tenantId));
+    };
+  }
+
+  private static AgroalDataSource shard(String datasource) {
+    InstanceHandle<AgroalDataSource> handle =
+        Arc.container().instance(AgroalDataSource.class, new DataSource.DataSourceLiteral(datasource));
+    if (!handle.isAvailable()) {
+      throw new IllegalStateException("No datasource '" + datasource + "' configured for warehouse shard");
+    }
+    return handle.get();
+  }
+}
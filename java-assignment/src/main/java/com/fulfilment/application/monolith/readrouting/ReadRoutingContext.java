@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.readrouting;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Whether the current HTTP request may read from the replica. Set by {@link ReadRoutingFilter}
+ * before the resource method opens a session; requests it does not mark stay on the primary.
+ */
+@RequestScoped
+public class ReadRoutingContext {
+
+  private boolean replicaEligible;
+
+  public boolean isReplicaEligible() {
+    return replicaEligible;
+  }
+
+  void markReplicaEligible() {
+    this.replicaEligible = true;
+  }
+}
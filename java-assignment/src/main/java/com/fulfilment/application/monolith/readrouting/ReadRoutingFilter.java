@@ -0,0 +1,88 @@
+package com.fulfilment.application.monolith.readrouting;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+/**
+ * Marks GET and HEAD requests as replica-eligible, except for clients that wrote recently.
+ *
+ * <p>A successful write answers with a {@code read-primary-until} cookie holding the end of the
+ * read-your-writes window (epoch millis). Until then that client's reads stay on the primary, so
+ * it never reads its own change from a replica that has not replayed it yet. Clients that drop
+ * cookies get no such guarantee.
+ *
+ * <p>The replica and primary tenants share one second-level cache keyspace, so a session that
+ * ended up on the replica only reads from the cache: a row it loaded may predate a write the
+ * primary has already evicted, and putting it back would serve it to primary sessions too.
+ */
+public class ReadRoutingFilter {
+
+  static final String PRIMARY_UNTIL_COOKIE = "read-primary-until";
+
+  @Inject
+  ReadRoutingContext context;
+
+  @Inject
+  Session session;
+
+  @ConfigProperty(name = "read-routing.read-your-writes-window", defaultValue = "5s")
+  Duration readYourWritesWindow;
+
+  // Decided before read coalescing, which only lets requests routed alike share a lookup.
+  @ServerRequestFilter(priority = Priorities.USER - 60)
+  void onRequest(ContainerRequestContext request) {
+    if (isRead(request.getMethod()) && !recentlyWrote(request.getCookies().get(PRIMARY_UNTIL_COOKIE))) {
+      context.markReplicaEligible();
+      // Opens the request's session now, so its tenant is known before anything is loaded.
+      // find() takes its store mode from the session properties, queries from the cache mode.
+      if (ReadRoutingTenantResolver.REPLICA.equals(session.getTenantIdentifier())) {
+        session.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        session.setCacheMode(CacheMode.GET);
+      }
+    }
+  }
+
+  @ServerResponseFilter
+  void onResponse(ContainerRequestContext request, ContainerResponseContext response) {
+    if (isRead(request.getMethod()) || response.getStatus() >= 400) {
+      return;
+    }
+    long until = System.currentTimeMillis() + readYourWritesWindow.toMillis();
+    response.getHeaders().add(HttpHeaders.SET_COOKIE,
+        new NewCookie.Builder(PRIMARY_UNTIL_COOKIE)
+            .value(Long.toString(until))
+            .path("/")
+            .maxAge((int) Math.max(1, readYourWritesWindow.toSeconds()))
+            .httpOnly(true)
+            .build());
+  }
+
+  private static boolean isRead(String method) {
+    return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+  }
+
+  static boolean recentlyWrote(Cookie cookie) {
+    if (cookie == null) {
+      return false;
+    }
+    try {
+      return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.readrouting;
+
+import com.fulfilment.application.monolith.sharding.ShardContext;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Chooses the datasource for each new Hibernate session, using database multitenancy with one
+ * "tenant" per datasource.
+ *
+ * <p>A session goes to the replica only when it is opened outside a transaction, for a request
+ * {@link ReadRoutingFilter} marked replica-eligible, while {@link ReplicaLagMonitor} considers the
+ * replica usable. Sessions opened on a {@link ShardContext} worker use that shard's datasource.
+ * Everything else, including background work and schema management, uses the primary. Quarkus
+ * opens a new session per transaction, so a transaction started by a read request still writes to
+ * the primary.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadRoutingTenantResolver implements TenantResolver {
+
+  static final String PRIMARY = "primary";
+  static final String REPLICA = "replica";
+
+  private final ReplicaLagMonitor lagMonitor;
+
+  public ReadRoutingTenantResolver(ReplicaLagMonitor lagMonitor) {
+    this.lagMonitor = lagMonitor;
+  }
+
+  @Override
+  public String getDefaultTenantId() {
+    return PRIMARY;
+  }
+
+  @Override
+  public String resolveTenantId() {
+    String shard = ShardContext.current();
+    if (shard != null) {
+      return shard;
+    }
+    return replicaEligible() && !QuarkusTransaction.isActive() && lagMonitor.isUsable() ? REPLICA : PRIMARY;
+  }
+
+  private static boolean replicaEligible() {
+    ArcContainer container = Arc.container();
+    return container != null
+        && container.requestContext().isActive()
+        && container.instance(ReadRoutingContext.class).get().isReplicaEligible();
+  }
+}
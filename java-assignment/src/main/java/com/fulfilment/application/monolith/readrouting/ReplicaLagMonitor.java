@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.readrouting;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Polls the replica's replay lag and takes it out of rotation while the lag exceeds
+ * {@code maxLag} or the replica cannot be reached.
+ *
+ * <p>A replica that has replayed everything it received reports no lag, even if the primary has
+ * been idle for a while; a server that is not in recovery (a stand-in pointing at the primary)
+ * reports no lag at all. Neither holds once its WAL receiver is gone: receive and replay positions
+ * then stay equal however far the replica falls behind, so a replica without a running receiver
+ * reports a lag of -1 and is treated like an unreachable one.
+ */
+@ApplicationScoped
+public class ReplicaLagMonitor {
+
+  private static final Logger LOGGER = Logger.getLogger(ReplicaLagMonitor.class.getName());
+
+  static final String LAG_QUERY = """
+      SELECT CASE
+        WHEN NOT pg_is_in_recovery() THEN 0
+        WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN -1
+        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+      END""";
+
+  private final AgroalDataSource replica;
+  private final boolean enabled;
+  private final Duration maxLag;
+  private final Duration checkInterval;
+
+  private volatile long lagMillis = -1;
+  private volatile boolean checked;
+  private ScheduledExecutorService executor;
+
+  public ReplicaLagMonitor(
+      @DataSource("replica") AgroalDataSource replica,
+      MeterRegistry registry,
+      @ConfigProperty(name = "read-routing.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "read-routing.max-replica-lag", defaultValue = "2s") Duration maxLag,
+      @ConfigProperty(name = "read-routing.lag-check-interval", defaultValue = "1s") Duration checkInterval) {
+    this.replica = replica;
+    this.enabled = enabled;
+    this.maxLag = maxLag;
+    this.checkInterval = checkInterval;
+
+    TimeGauge.builder("datasource.replica.lag", this, TimeUnit.MILLISECONDS, m -> m.lagMillis)
+        .description("Replay lag of the read replica, -1 while unknown, unreachable or not receiving WAL")
+        .register(registry);
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled) {
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-lag-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  void onShutdown(@Observes ShutdownEvent event) {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  void check() {
+    long previous = lagMillis;
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+      resultSet.next();
+      lagMillis = resultSet.getLong(1);
+    } catch (SQLException e) {
+      lagMillis = -1;
+      if (previous != -1 || !checked) {
+        LOGGER.warnf(e, "Replica lag check failed, reads go to the primary");
+      }
+      return;
+    } finally {
+      checked = true;
+    }
+    if (isUsable() != isUsable(previous)) {
+      LOGGER.infof("Replica %s rotation [lag=%dms, max=%dms]",
+          isUsable() ? "back in" : "taken out of", lagMillis, maxLag.toMillis());
+    }
+  }
+
+  /**
+   * Whether reads may currently go to the replica.
+   */
+  public boolean isUsable() {
+    return isUsable(lagMillis);
+  }
+
+  private boolean isUsable(long lag) {
+    return enabled && lag >= 0 && lag <= maxLag.toMillis();
+  }
+
+  public long lagMillis() {
+    return lagMillis;
+  }
+}
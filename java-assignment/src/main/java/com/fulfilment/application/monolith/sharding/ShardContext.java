@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.sharding;
+
+/**
+ * The shard datasource that sessions opened on the current thread must use. Only set on
+ * {@link ShardRouter} worker threads; {@code null} everywhere else.
+ */
+public final class ShardContext {
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private ShardContext() {
+  }
+
+  public static String current() {
+    return CURRENT.get();
+  }
+
+  static void set(String datasource) {
+    CURRENT.set(datasource);
+  }
+
+  static void clear() {
+    CURRENT.remove();
+  }
+}
@@ -0,0 +1,243 @@
+package com.fulfilment.application.monolith.sharding;
+
+import com.fulfilment.application.monolith.deadline.DeadlineExceededException;
+import com.fulfilment.application.monolith.deadline.RequestDeadline;
+import com.fulfilment.application.monolith.sqlaccounting.SqlRequestStats;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.TransactionRunnerOptions;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Maps location regions to shard datasources and runs work against them.
+ *
+ * <p>The region is the part of a location identifier before the first {@code -}
+ * ({@code AMSTERDAM-001} → {@code AMSTERDAM}). Regions listed in {@code warehouse-sharding.regions}
+ * as {@code REGION=datasource} live on that named datasource; all others stay on the default
+ * datasource, which is also the default shard.
+ *
+ * <p>Work for the default shard runs on the caller's thread, inside the caller's transaction.
+ * Work for any other shard runs on a worker thread with its own request context, so Hibernate
+ * opens a separate session on that shard's datasource. A {@link #writeOnShard write} there runs in
+ * one transaction of its own, committed before the call returns; it cannot join the caller's, so
+ * one transaction may write to a single shard only and a later rollback of the caller's transaction
+ * does not reach it. The worker carries the caller's {@link RequestDeadline}: the shard's queries
+ * and transaction get the time left, and the caller stops waiting when it runs out. Its SQL work
+ * counts into the caller's {@link SqlRequestStats}.
+ */
+@ApplicationScoped
+public class ShardRouter {
+
+  private static final Logger LOGGER = Logger.getLogger(ShardRouter.class.getName());
+
+  public static final String DEFAULT_SHARD = "<default>";
+
+  private final Map<String, String> shardByRegion = new LinkedHashMap<>();
+  private final List<String> shards;
+  private final Duration timeout;
+  private final ExecutorService executor;
+  private final TransactionSynchronizationRegistry transactions;
+
+  public ShardRouter(
+      TransactionSynchronizationRegistry transactions,
+      @ConfigProperty(name = "warehouse-sharding.regions") Optional<List<String>> regions,
+      @ConfigProperty(name = "warehouse-sharding.workers", defaultValue = "8") int workers,
+      @ConfigProperty(name = "warehouse-sharding.timeout", defaultValue = "5s") Duration timeout) {
+    Set<String> distinct = new LinkedHashSet<>();
+    distinct.add(DEFAULT_SHARD);
+    for (String entry : regions.orElse(List.of())) {
+      String[] parts = entry.split("=", 2);
+      if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+        throw new IllegalArgumentException("Expected REGION=datasource in warehouse-sharding.regions, got '" + entry + "'");
+      }
+      shardByRegion.put(parts[0].trim().toUpperCase(Locale.ROOT), parts[1].trim());
+      distinct.add(parts[1].trim());
+    }
+    this.shards = List.copyOf(distinct);
+    this.timeout = timeout;
+    this.transactions = transactions;
+
+    if (shards.size() == 1) {
+      this.executor = null;
+      return;
+    }
+    AtomicInteger threads = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+      Thread thread = new Thread(runnable, "warehouse-shard-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    LOGGER.infof("Warehouse data sharded by region %s", shardByRegion);
+  }
+
+  /**
+   * The shards in routing order, the default shard first.
+   */
+  public List<String> shards() {
+    return shards;
+  }
+
+  public String shardFor(String location) {
+    if (location == null) {
+      return DEFAULT_SHARD;
+    }
+    int dash = location.indexOf('-');
+    String region = (dash < 0 ? location : location.substring(0, dash)).toUpperCase(Locale.ROOT);
+    return shardByRegion.getOrDefault(region, DEFAULT_SHARD);
+  }
+
+  public <T> T onShard(String shard, Supplier<T> work) {
+    if (DEFAULT_SHARD.equals(shard)) {
+      return work.get();
+    }
+    Deadline deadline = Deadline.current();
+    SqlRequestStats sqlStats = SqlRequestStats.owner();
+    return await(shard, deadline, executor.submit(() -> runOn(shard, deadline, sqlStats, work)));
+  }
+
+  /**
+   * Runs a write on one shard: in the caller's transaction on the default shard, otherwise in a
+   * transaction of its own on a worker. Refused when the caller's transaction already wrote to
+   * another shard.
+   */
+  public void writeOnShard(String shard, Runnable work) {
+    if (transactions.getTransactionStatus() == Status.STATUS_ACTIVE) {
+      Object written = transactions.getResource(ShardRouter.class);
+      if (written != null && !written.equals(shard)) {
+        throw new IllegalStateException("A transaction that wrote to shard '" + written
+            + "' cannot also write to shard '" + shard + "'");
+      }
+      transactions.putResource(ShardRouter.class, shard);
+    }
+    if (DEFAULT_SHARD.equals(shard)) {
+      work.run();
+      return;
+    }
+    Deadline deadline = Deadline.current();
+    SqlRequestStats sqlStats = SqlRequestStats.owner();
+    await(shard, deadline, executor.submit(() -> runOn(shard, deadline, sqlStats, () -> {
+      TransactionRunnerOptions transaction = QuarkusTransaction.requiringNew();
+      if (deadline != null) {
+        // Whole seconds, rounded up like the query timeouts.
+        transaction = transaction.timeout((int) ((deadline.remainingMillis() + 999) / 1000));
+      }
+      transaction.run(work);
+      return null;
+    })));
+  }
+
+  /**
+   * Runs {@code work} on every shard in parallel (scatter-gather) and returns the results in
+   * {@link #shards()} order.
+   */
+  public <T> List<T> onAllShards(Supplier<T> work) {
+    if (executor == null) {
+      return Collections.singletonList(work.get());
+    }
+    Deadline deadline = Deadline.current();
+    SqlRequestStats sqlStats = SqlRequestStats.owner();
+    List<Future<T>> remote = new ArrayList<>(shards.size() - 1);
+    for (String shard : shards.subList(1, shards.size())) {
+      remote.add(executor.submit(() -> runOn(shard, deadline, sqlStats, work)));
+    }
+
+    List<T> results = new ArrayList<>(shards.size());
+    results.add(work.get());
+    for (int i = 0; i < remote.size(); i++) {
+      results.add(await(shards.get(i + 1), deadline, remote.get(i)));
+    }
+    return results;
+  }
+
+  private static <T> T runOn(String shard, Deadline deadline, SqlRequestStats sqlStats, Supplier<T> work) {
+    ManagedContext requestContext = Arc.container().requestContext();
+    requestContext.activate();
+    ShardContext.set(shard);
+    try {
+      if (sqlStats != null) {
+        Arc.container().instance(SqlRequestStats.class).get().countInto(sqlStats);
+      }
+      if (deadline != null) {
+        RequestDeadline requestDeadline = Arc.container().instance(RequestDeadline.class).get();
+        requestDeadline.continueFrom(deadline.nanos(), deadline.operation());
+        requestDeadline.check();
+      }
+      return work.get();
+    } finally {
+      ShardContext.clear();
+      requestContext.terminate();
+    }
+  }
+
+  private <T> T await(String shard, Deadline deadline, Future<T> future) {
+    long waitMillis = deadline == null ? timeout.toMillis() : Math.min(timeout.toMillis(), deadline.remainingMillis());
+    try {
+      return future.get(waitMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Shard '" + shard + "' failed", e.getCause());
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      if (waitMillis < timeout.toMillis()) {
+        throw new DeadlineExceededException("Request deadline exceeded before " + deadline.operation()
+            + " got an answer from shard '" + shard + "'.");
+      }
+      throw new IllegalStateException("Shard '" + shard + "' did not answer within " + timeout.toMillis() + "ms");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for shard '" + shard + "'", e);
+    }
+  }
+
+  /**
+   * The caller's request deadline, read on the caller's thread for a worker to carry over.
+   */
+  private record Deadline(long nanos, String operation) {
+
+    static Deadline current() {
+      if (!Arc.container().requestContext().isActive()) {
+        return null;
+      }
+      RequestDeadline deadline = Arc.container().instance(RequestDeadline.class).get();
+      return deadline.isSet() ? new Deadline(deadline.deadlineNanos(), deadline.operation()) : null;
+    }
+
+    long remainingMillis() {
+      return Math.max(1, (nanos - System.nanoTime()) / 1_000_000);
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Measures JDBC execution time per session and charges it to the current request. Hibernate
+ * creates one instance per session (see {@code hibernate.session.events.auto}).
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+  private long executeStart;
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    executeStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    charge();
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    executeStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    charge();
+  }
+
+  private void charge() {
+    SqlRequestStats stats = SqlRequestStats.current();
+    if (stats != null) {
+      stats.jdbcExecuted(System.nanoTime() - executeStart);
+    }
+  }
+}
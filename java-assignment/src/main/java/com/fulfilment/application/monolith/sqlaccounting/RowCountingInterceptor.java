@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entity rows materialised for the current request, which is where N+1 loading shows up.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class RowCountingInterceptor implements Interceptor {
+
+  @Override
+  public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+    SqlRequestStats stats = SqlRequestStats.current();
+    if (stats != null) {
+      stats.rowLoaded();
+    }
+    return false;
+  }
+}
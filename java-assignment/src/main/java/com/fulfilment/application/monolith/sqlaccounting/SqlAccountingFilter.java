@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+/**
+ * Reports the SQL work of each request: optionally as a {@code Server-Timing} header
+ * ({@code db;dur=<jdbc ms>;desc="statements=<n> rows=<n>"}), and as a WARN line when the request
+ * was slow or issued more statements than expected.
+ */
+public class SqlAccountingFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(SqlAccountingFilter.class.getName());
+
+  static final String SERVER_TIMING = "Server-Timing";
+
+  @Inject
+  SqlRequestStats stats;
+
+  @ConfigProperty(name = "sql-accounting.server-timing", defaultValue = "false")
+  boolean serverTiming;
+
+  @ConfigProperty(name = "sql-accounting.slow-request-threshold", defaultValue = "500ms")
+  Duration slowRequestThreshold;
+
+  @ConfigProperty(name = "sql-accounting.statement-warning-threshold", defaultValue = "20")
+  int statementWarningThreshold;
+
+  @ServerRequestFilter
+  void onRequest() {
+    stats.start();
+  }
+
+  @ServerResponseFilter
+  void onResponse(ContainerRequestContext request, ContainerResponseContext response) {
+    int statements = stats.statements();
+    long elapsedNanos = stats.elapsedNanos();
+    double jdbcMillis = stats.jdbcNanos() / 1_000_000.0;
+
+    if (serverTiming) {
+      response.getHeaders().add(SERVER_TIMING,
+          String.format(Locale.ROOT, "db;dur=%.3f;desc=\"statements=%d rows=%d\"", jdbcMillis, statements, stats.rows()));
+    }
+
+    if (elapsedNanos > slowRequestThreshold.toNanos() || statements > statementWarningThreshold) {
+      LOGGER.warnf("Slow request %s %s: %d ms, %d statements, %d rows, %.1f ms in JDBC",
+          request.getMethod(), request.getUriInfo().getPath(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          statements, stats.rows(), jdbcMillis);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.ClientProxy;
+import jakarta.enterprise.context.RequestScoped;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL work done on behalf of the current HTTP request: statements prepared, entity rows loaded
+ * and time spent executing JDBC statements.
+ *
+ * <p>Work the request hands to a thread with a request context of its own, such as a shard
+ * worker, counts here too once that context has been pointed at this one with
+ * {@link #countInto}. JDBC time of work running in parallel is summed, so it can exceed the time
+ * the request took.
+ */
+@RequestScoped
+public class SqlRequestStats {
+
+  private final AtomicInteger statements = new AtomicInteger();
+  private final AtomicInteger rows = new AtomicInteger();
+  private final AtomicLong jdbcNanos = new AtomicLong();
+  private volatile long startNanos = System.nanoTime();
+  private volatile SqlRequestStats owner;
+
+  /**
+   * The stats of the active request, or {@code null} outside a request (e.g. on background
+   * threads), so callers from Hibernate hooks can skip accounting cheaply.
+   */
+  static SqlRequestStats current() {
+    ArcContainer container = Arc.container();
+    if (container == null || !container.requestContext().isActive()) {
+      return null;
+    }
+    return container.instance(SqlRequestStats.class).get();
+  }
+
+  /**
+   * The stats work handed to another thread should count into, read on the handing thread; or
+   * {@code null} outside a request.
+   */
+  public static SqlRequestStats owner() {
+    SqlRequestStats stats = current();
+    return stats == null ? null : ClientProxy.unwrap(stats).target();
+  }
+
+  /**
+   * Counts the SQL work of this request context into {@code owner} instead, for a thread doing
+   * work on behalf of the request {@code owner} belongs to.
+   */
+  public void countInto(SqlRequestStats owner) {
+    this.owner = owner;
+  }
+
+  private SqlRequestStats target() {
+    SqlRequestStats target = owner;
+    return target == null ? this : target;
+  }
+
+  void start() {
+    startNanos = System.nanoTime();
+  }
+
+  void statementPrepared() {
+    target().statements.incrementAndGet();
+  }
+
+  void rowLoaded() {
+    target().rows.incrementAndGet();
+  }
+
+  void jdbcExecuted(long nanos) {
+    target().jdbcNanos.addAndGet(nanos);
+  }
+
+  public int statements() {
+    return statements.get();
+  }
+
+  public int rows() {
+    return rows.get();
+  }
+
+  public long jdbcNanos() {
+    return jdbcNanos.get();
+  }
+
+  public long elapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+}
@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares towards the current request.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class StatementCountingInspector implements StatementInspector {
+
+  @Override
+  public String inspect(String sql) {
+    SqlRequestStats stats = SqlRequestStats.current();
+    if (stats != null) {
+      stats.statementPrepared();
+    }
+    return sql;
+  }
+}
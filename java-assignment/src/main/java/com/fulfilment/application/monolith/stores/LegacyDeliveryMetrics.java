@@ -0,0 +1,62 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes the legacy hand-off pipeline: dispatcher queue and outcomes, and how much the
+ * {@link StoreEventCoalescer} saves.
+ */
+@Singleton
+public class LegacyDeliveryMetrics implements MeterBinder {
+
+  private final LegacyStoreDispatcher dispatcher;
+  private final StoreEventCoalescer coalescer;
+
+  public LegacyDeliveryMetrics(LegacyStoreDispatcher dispatcher, StoreEventCoalescer coalescer) {
+    this.dispatcher = dispatcher;
+    this.coalescer = coalescer;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("legacy.dispatch.queue.depth", dispatcher, LegacyStoreDispatcher::queueDepth)
+        .description("Deliveries waiting for a dispatcher worker")
+        .register(registry);
+    TimeGauge.builder("legacy.dispatch.oldest.pending", dispatcher, TimeUnit.MILLISECONDS,
+            d -> d.oldestPendingAge().toMillis())
+        .description("Age of the oldest queued delivery")
+        .register(registry);
+    TimeGauge.builder("legacy.dispatch.lag", dispatcher, TimeUnit.MILLISECONDS, d -> d.lastLag().toMillis())
+        .description("Queueing delay of the most recent delivery")
+        .register(registry);
+
+    deliveries(registry, "submitted", LegacyStoreDispatcher::submittedCount);
+    deliveries(registry, "delivered", LegacyStoreDispatcher::deliveredCount);
+    deliveries(registry, "failed", LegacyStoreDispatcher::failedCount);
+    deliveries(registry, "dropped", LegacyStoreDispatcher::droppedCount);
+    deliveries(registry, "rejected", LegacyStoreDispatcher::rejectedCount);
+
+    FunctionCounter.builder("legacy.coalescer.events", coalescer, StoreEventCoalescer::eventsIn)
+        .tag("stage", "in")
+        .register(registry);
+    FunctionCounter.builder("legacy.coalescer.events", coalescer, StoreEventCoalescer::eventsOut)
+        .tag("stage", "out")
+        .register(registry);
+    Gauge.builder("legacy.coalescer.ratio", coalescer, StoreEventCoalescer::coalescingRatio)
+        .description("Share of store events collapsed before delivery")
+        .register(registry);
+  }
+
+  private void deliveries(MeterRegistry registry, String outcome, ToDoubleFunction<LegacyStoreDispatcher> count) {
+    FunctionCounter.builder("legacy.dispatch.deliveries", dispatcher, count)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
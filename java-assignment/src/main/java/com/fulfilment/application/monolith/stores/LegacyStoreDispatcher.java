@@ -0,0 +1,217 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs legacy deliveries on a small pool of worker threads behind a bounded queue, so the request
+ * thread that committed a store change never waits for the legacy system.
+ *
+ * <p>When the queue is full the configured {@link BackpressurePolicy} applies:
+ * <ul>
+ * <li>{@code BLOCK}: the submitter waits up to {@code blockTimeout} for space, then the delivery is
+ * rejected.</li>
+ * <li>{@code DROP_OLDEST}: the oldest queued delivery is discarded to make room.</li>
+ * <li>{@code REJECT}: the new delivery is discarded.</li>
+ * </ul>
+ *
+ * <p>On shutdown the dispatcher stops accepting work and drains the queue for up to
+ * {@code shutdownTimeout}. With a single worker, deliveries run in submission order.
+ */
+@ApplicationScoped
+public class LegacyStoreDispatcher {
+
+  private static final Logger LOGGER = Logger.getLogger(LegacyStoreDispatcher.class.getName());
+
+  public enum BackpressurePolicy {
+    BLOCK,
+    DROP_OLDEST,
+    REJECT
+  }
+
+  private final BlockingQueue<Delivery> queue;
+  private final BackpressurePolicy policy;
+  private final long blockTimeoutNanos;
+  private final Duration shutdownTimeout;
+  private final List<Thread> workers = new ArrayList<>();
+
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private volatile long lastLagNanos;
+  private volatile boolean accepting = true;
+  private volatile boolean stopping;
+
+  public LegacyStoreDispatcher(
+      @ConfigProperty(name = "legacy.dispatch.queue-capacity", defaultValue = "10000") int queueCapacity,
+      @ConfigProperty(name = "legacy.dispatch.workers", defaultValue = "1") int workerCount,
+      @ConfigProperty(name = "legacy.dispatch.backpressure", defaultValue = "block") BackpressurePolicy policy,
+      @ConfigProperty(name = "legacy.dispatch.block-timeout", defaultValue = "1s") Duration blockTimeout,
+      @ConfigProperty(name = "legacy.dispatch.shutdown-timeout", defaultValue = "10s") Duration shutdownTimeout) {
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.policy = policy;
+    this.blockTimeoutNanos = blockTimeout.toNanos();
+    this.shutdownTimeout = shutdownTimeout;
+    for (int i = 0; i < workerCount; i++) {
+      Thread worker = new Thread(this::work, "legacy-store-dispatcher-" + i);
+      worker.setDaemon(true);
+      worker.start();
+      workers.add(worker);
+    }
+  }
+
+  /**
+   * Queues a delivery according to the backpressure policy.
+   *
+   * @return {@code false} if the delivery was rejected
+   */
+  public boolean submit(Runnable task) {
+    if (!accepting) {
+      rejected.incrementAndGet();
+      LOGGER.warn("Legacy dispatcher is shutting down; delivery rejected.");
+      return false;
+    }
+
+    Delivery delivery = new Delivery(task, System.nanoTime());
+    boolean queued = switch (policy) {
+      case BLOCK -> offerBlocking(delivery);
+      case DROP_OLDEST -> offerDroppingOldest(delivery);
+      case REJECT -> queue.offer(delivery);
+    };
+
+    if (queued) {
+      submitted.incrementAndGet();
+    } else {
+      rejected.incrementAndGet();
+      LOGGER.warnf("Legacy dispatch queue full (%d pending); delivery rejected.", queue.size());
+    }
+    return queued;
+  }
+
+  private boolean offerBlocking(Delivery delivery) {
+    try {
+      return queue.offer(delivery, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private boolean offerDroppingOldest(Delivery delivery) {
+    while (!queue.offer(delivery)) {
+      if (queue.poll() != null) {
+        dropped.incrementAndGet();
+      }
+    }
+    return true;
+  }
+
+  private void work() {
+    while (!stopping || !queue.isEmpty()) {
+      Delivery delivery;
+      try {
+        delivery = queue.poll(100, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (delivery == null) {
+        continue;
+      }
+
+      lastLagNanos = System.nanoTime() - delivery.enqueuedAtNanos;
+      try {
+        delivery.task.run();
+        delivered.incrementAndGet();
+      } catch (RuntimeException e) {
+        failed.incrementAndGet();
+        LOGGER.errorf(e, "Legacy store delivery failed");
+      }
+    }
+  }
+
+  void onShutdown(@Observes ShutdownEvent event) {
+    shutdown();
+  }
+
+  /**
+   * Stops accepting deliveries and waits for queued ones to complete.
+   */
+  public void shutdown() {
+    if (!accepting) {
+      return;
+    }
+    accepting = false;
+    stopping = true;
+    LOGGER.infof("Draining %d pending legacy deliveries", queue.size());
+
+    long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+    for (Thread worker : workers) {
+      try {
+        worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    if (!queue.isEmpty()) {
+      LOGGER.warnf("Shutdown timeout reached with %d legacy deliveries still pending", queue.size());
+    }
+  }
+
+  // ─── Counters ─────────────────────────────────────────────────────────────
+
+  public int queueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * Age of the oldest queued delivery, or zero when the queue is empty.
+   */
+  public Duration oldestPendingAge() {
+    Delivery head = queue.peek();
+    return head == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - head.enqueuedAtNanos);
+  }
+
+  /**
+   * Time the most recently started delivery spent queued.
+   */
+  public Duration lastLag() {
+    return Duration.ofNanos(lastLagNanos);
+  }
+
+  public long submittedCount() {
+    return submitted.get();
+  }
+
+  public long deliveredCount() {
+    return delivered.get();
+  }
+
+  public long failedCount() {
+    return failed.get();
+  }
+
+  public long droppedCount() {
+    return dropped.get();
+  }
+
+  public long rejectedCount() {
+    return rejected.get();
+  }
+
+  private record Delivery(Runnable task, long enqueuedAtNanos) {
+  }
+}
@@ -1,55 +1,77 @@
 package com.fulfilment.application.monolith.stores;
 
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+/**
+ * Hands store changes over to the legacy store manager.
+ *
+ * <p>The legacy bridge consumes an append-only {@link SegmentedStoreLog}: every change is framed as
+ * one record and group-committed to the active segment, and the bridge tails the log with a
+ * {@link SegmentedStoreLog.Cursor}.
+ */
 @ApplicationScoped
 public class LegacyStoreManagerGateway {
 
+  private final SegmentedStoreLog log;
+
+  public LegacyStoreManagerGateway(
+      @ConfigProperty(name = "legacy.store-log.directory") String directory,
+      @ConfigProperty(name = "legacy.store-log.segment-size", defaultValue = "64M") MemorySize segmentSize,
+      @ConfigProperty(name = "legacy.store-log.fsync", defaultValue = "interval") SegmentedStoreLog.FsyncPolicy fsyncPolicy,
+      @ConfigProperty(name = "legacy.store-log.flush-interval", defaultValue = "10ms") Duration flushInterval) {
+    this.log = new SegmentedStoreLog(
+        Path.of(directory), segmentSize.asLongValue(), fsyncPolicy, Math.max(1, flushInterval.toMillis()));
+  }
+
+  @Timed("legacy.gateway")
   public void createStoreOnLegacySystem(Store store) {
-    // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
+    log.append(StoreLogRecord.of(StoreEvent.Type.CREATED, store));
   }
 
+  @Timed("legacy.gateway")
   public void updateStoreOnLegacySystem(Store store) {
-    // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
+    log.append(StoreLogRecord.of(StoreEvent.Type.UPDATED, store));
   }
 
+  @Timed("legacy.gateway")
   public void deleteStoreOnLegacySystem(Store store) {
-    writeToFile(store);
+    log.append(StoreLogRecord.of(StoreEvent.Type.DELETED, store));
   }
 
-  private void writeToFile(Store store) {
-    try {
-      // Step 1: Create a temporary file
-      Path tempFile;
-
-      tempFile = Files.createTempFile(store.name, ".txt");
-
-      System.out.println("Temporary file created at: " + tempFile.toString());
-
-      // Step 2: Write data to the temporary file
-      String content =
-          "Store created. [ name ="
-              + store.name
-              + " ] [ items on stock ="
-              + store.quantityProductsInStock
-              + "]";
-      Files.write(tempFile, content.getBytes());
-      System.out.println("Data written to temporary file.");
+  /**
+   * Hands a batch of changes over in order, as a single group of log records.
+   */
+  @Timed("legacy.gateway")
+  public void propagateAll(List<StoreLogRecord> records) {
+    log.appendAll(records);
+  }
 
-      // Step 3: Optionally, read the data back to verify
-      String readContent = new String(Files.readAllBytes(tempFile));
-      System.out.println("Data read from temporary file: " + readContent);
+  /**
+   * Returns once every change handed over so far is on disk. The fsync policy only bounds how long
+   * the direct calls above may stay buffered; callers that drop their own copy afterwards, like the
+   * outbox relay, force first.
+   */
+  @Timed("legacy.gateway")
+  public void force() {
+    log.force();
+  }
 
-      // Step 4: Delete the temporary file when done
-      Files.delete(tempFile);
-      System.out.println("Temporary file deleted.");
+  /**
+   * The log the legacy bridge tails; exposed so it can open a cursor and truncate consumed segments.
+   */
+  public SegmentedStoreLog log() {
+    return log;
+  }
 
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
+  @PreDestroy
+  void close() {
+    log.close();
   }
 }
@@ -0,0 +1,493 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.jboss.logging.Logger;
+
+/**
+ * Segmented, append-only log used as the hand-off channel to the legacy store manager.
+ *
+ * <p>Appenders only encode their records into an in-memory buffer; the buffer is written to the
+ * active segment with a single {@link FileChannel#write} per group of records (group commit), so
+ * the syscall cost is shared by every record that arrived while the previous group was being
+ * written. Durability is governed by the {@link FsyncPolicy}:
+ * <ul>
+ * <li>{@code ALWAYS}: appends block until their group has been written and forced to disk.</li>
+ * <li>{@code INTERVAL}: appends return immediately; a background flush writes and forces the
+ * buffer every {@code flushInterval}.</li>
+ * <li>{@code NEVER}: as {@code INTERVAL} but the OS decides when written data reaches disk.</li>
+ * </ul>
+ *
+ * <p>Segments are named after the sequence number of their first record and rolled once they
+ * reach {@code segmentBytes}. A {@link Cursor} tails the log across segments and exposes its
+ * position so the legacy bridge can resume where it stopped.
+ */
+public class SegmentedStoreLog implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(SegmentedStoreLog.class.getName());
+
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+  public enum FsyncPolicy {
+    ALWAYS,
+    INTERVAL,
+    NEVER
+  }
+
+  private final Path directory;
+  private final long segmentBytes;
+  private final FsyncPolicy fsyncPolicy;
+  private final ScheduledExecutorService flusher;
+
+  // Guards the pending buffer and sequence allocation; held only while encoding records.
+  private final ReentrantLock bufferLock = new ReentrantLock();
+  private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+  private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+  private long nextSequence;
+  private long pendingFirstSequence = -1;
+
+  // Guards the active segment; held for the duration of a write (and force).
+  private final ReentrantLock ioLock = new ReentrantLock();
+  private FileChannel active;
+  private long activeSize;
+  private volatile long writtenSequence;
+  private volatile boolean closed;
+
+  public SegmentedStoreLog(Path directory, long segmentBytes, FsyncPolicy fsyncPolicy, long flushIntervalMillis) {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.fsyncPolicy = fsyncPolicy;
+    try {
+      Files.createDirectories(directory);
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to open store log in " + directory, e);
+    }
+
+    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+      this.flusher = null;
+    } else {
+      this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "legacy-store-log-flusher");
+        thread.setDaemon(true);
+        return thread;
+      });
+      flusher.scheduleWithFixedDelay(this::backgroundFlush, flushIntervalMillis, flushIntervalMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Appends one record and assigns its sequence number.
+   */
+  public long append(StoreLogRecord record) {
+    return appendAll(List.of(record));
+  }
+
+  /**
+   * Appends all records as one contiguous group and assigns their sequence numbers.
+   *
+   * @return the sequence number of the last record appended
+   */
+  public long appendAll(List<StoreLogRecord> records) {
+    if (closed) {
+      throw new IllegalStateException("Store log is closed");
+    }
+    if (records.isEmpty()) {
+      return nextSequence - 1;
+    }
+
+    long last;
+    boolean bufferFull;
+    bufferLock.lock();
+    try {
+      if (pendingFirstSequence < 0) {
+        pendingFirstSequence = nextSequence;
+      }
+      for (StoreLogRecord record : records) {
+        record.sequence = nextSequence++;
+        byte[] encoded = record.encode();
+        if (pending.remaining() < encoded.length) {
+          pending = grow(pending, encoded.length);
+        }
+        pending.put(encoded);
+      }
+      last = nextSequence - 1;
+      bufferFull = pending.position() >= INITIAL_BUFFER_BYTES;
+    } finally {
+      bufferLock.unlock();
+    }
+
+    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+      awaitWritten(last);
+    } else if (bufferFull) {
+      flush();
+    }
+    return last;
+  }
+
+  /**
+   * Writes every buffered record to the active segment, forcing it unless the policy is
+   * {@code NEVER}.
+   */
+  public void flush() {
+    ioLock.lock();
+    try {
+      writeGroup();
+    } finally {
+      ioLock.unlock();
+    }
+  }
+
+  /**
+   * Writes every buffered record and forces the active segment to disk whatever the policy, so
+   * every record appended before the call survives a crash once it returns.
+   */
+  public void force() {
+    ioLock.lock();
+    try {
+      writeGroup();
+      if (fsyncPolicy == FsyncPolicy.NEVER) {
+        active.force(false);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to force store log segment", e);
+    } finally {
+      ioLock.unlock();
+    }
+  }
+
+  public long lastWrittenSequence() {
+    return writtenSequence;
+  }
+
+  public Cursor openCursor() {
+    List<Long> segments = segmentBases();
+    return new Cursor(segments.isEmpty() ? 0 : segments.get(0), 0);
+  }
+
+  /**
+   * Opens a cursor at a position previously returned by {@link Cursor#position()}.
+   */
+  public Cursor openCursor(String position) {
+    String[] parts = position.split(":", 2);
+    return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+  }
+
+  /**
+   * Deletes every segment that lies entirely before the given cursor position.
+   */
+  public void truncateBefore(Cursor cursor) {
+    for (long base : segmentBases()) {
+      if (base >= cursor.segmentBase) {
+        break;
+      }
+      try {
+        Files.deleteIfExists(segmentPath(base));
+      } catch (IOException e) {
+        LOGGER.warnf("Unable to delete consumed store log segment %d: %s", base, e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (flusher != null) {
+      flusher.shutdown();
+    }
+    ioLock.lock();
+    try {
+      writeGroup();
+      if (fsyncPolicy == FsyncPolicy.NEVER) {
+        active.force(false);
+      }
+      active.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to close store log", e);
+    } finally {
+      ioLock.unlock();
+    }
+  }
+
+  // ─── Writing ──────────────────────────────────────────────────────────────
+
+  private void awaitWritten(long sequence) {
+    ioLock.lock();
+    try {
+      // A previous lock holder may already have written our records as part of its group.
+      if (writtenSequence < sequence) {
+        writeGroup();
+      }
+    } finally {
+      ioLock.unlock();
+    }
+  }
+
+  private void backgroundFlush() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      LOGGER.errorf(e, "Background flush of store log failed");
+    }
+  }
+
+  /**
+   * Swaps the pending buffer and writes it; must be called with {@link #ioLock} held.
+   */
+  private void writeGroup() {
+    ByteBuffer group;
+    long firstSequence;
+    long lastSequence;
+    bufferLock.lock();
+    try {
+      if (pending.position() == 0) {
+        return;
+      }
+      group = pending;
+      pending = spare;
+      spare = group;
+      firstSequence = pendingFirstSequence;
+      lastSequence = nextSequence - 1;
+      pendingFirstSequence = -1;
+    } finally {
+      bufferLock.unlock();
+    }
+
+    group.flip();
+    try {
+      if (activeSize > 0 && activeSize + group.remaining() > segmentBytes) {
+        roll(firstSequence);
+      }
+      while (group.hasRemaining()) {
+        activeSize += active.write(group);
+      }
+      if (fsyncPolicy != FsyncPolicy.NEVER) {
+        active.force(false);
+      }
+      writtenSequence = lastSequence;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to write store log segment", e);
+    } finally {
+      group.clear();
+      if (group.capacity() > INITIAL_BUFFER_BYTES) {
+        // Do not keep an oversized buffer around after a burst.
+        spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+      }
+    }
+  }
+
+  private void roll(long nextBase) throws IOException {
+    if (fsyncPolicy == FsyncPolicy.NEVER) {
+      active.force(false);
+    }
+    active.close();
+    active = openSegment(nextBase);
+    activeSize = 0;
+    LOGGER.debugf("Rolled store log to segment %d", nextBase);
+  }
+
+  private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+    int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+    ByteBuffer bigger = ByteBuffer.allocate(capacity);
+    buffer.flip();
+    bigger.put(buffer);
+    return bigger;
+  }
+
+  // ─── Segments ─────────────────────────────────────────────────────────────
+
+  /**
+   * Reopens the newest segment, dropping a torn trailing record left by a crash, and resumes the
+   * sequence after the last complete record.
+   */
+  private void recover() throws IOException {
+    List<Long> segments = segmentBases();
+    long base = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+    active = openSegment(base);
+
+    long size = active.size();
+    long validSize = 0;
+    long lastSequence = base - 1;
+    if (size > 0) {
+      ByteBuffer content = ByteBuffer.allocate((int) size);
+      while (content.hasRemaining() && active.read(content, content.position()) >= 0) {
+        // read until the buffer is full
+      }
+      byte[] bytes = content.array();
+      int lineStart = 0;
+      for (int i = 0; i < bytes.length; i++) {
+        if (bytes[i] == '\n') {
+          String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+          lastSequence = StoreLogRecord.decode(line).sequence;
+          lineStart = i + 1;
+        }
+      }
+      validSize = lineStart;
+      if (validSize < size) {
+        LOGGER.warnf("Dropping %d bytes of torn record at the end of store log segment %d", size - validSize, base);
+        active.truncate(validSize);
+      }
+    }
+    active.position(validSize);
+    activeSize = validSize;
+    nextSequence = lastSequence + 1;
+    writtenSequence = lastSequence;
+    LOGGER.infof("Opened store log in %s at sequence %d", directory, nextSequence);
+  }
+
+  private FileChannel openSegment(long base) throws IOException {
+    return FileChannel.open(segmentPath(base), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+  }
+
+  private Path segmentPath(long base) {
+    return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+  }
+
+  private List<Long> segmentBases() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.map(path -> path.getFileName().toString())
+          .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+          .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to list store log segments in " + directory, e);
+    }
+  }
+
+  // ─── Reading ──────────────────────────────────────────────────────────────
+
+  /**
+   * Tails the log from a position, following segment rolls. Only complete records are returned,
+   * so a cursor never observes a partially written group. Not thread-safe.
+   */
+  public class Cursor implements AutoCloseable {
+
+    private long segmentBase;
+    private long offset;
+    private FileChannel channel;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(8 * 1024);
+
+    Cursor(long segmentBase, long offset) {
+      this.segmentBase = segmentBase;
+      this.offset = offset;
+    }
+
+    /**
+     * @return up to {@code maxRecords} records following the current position, or an empty list
+     *     when the cursor has caught up with the writer
+     */
+    public List<StoreLogRecord> poll(int maxRecords) {
+      List<StoreLogRecord> records = new ArrayList<>();
+      try {
+        while (records.size() < maxRecords) {
+          if (readFromSegment(records, maxRecords) > 0) {
+            continue;
+          }
+          Long next = nextSegmentBase();
+          if (next == null) {
+            break;
+          }
+          // A newer segment exists, so this one is final: drain whatever was written before the roll.
+          if (readFromSegment(records, maxRecords) > 0) {
+            continue;
+          }
+          closeChannel();
+          segmentBase = next;
+          offset = 0;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to read store log segment " + segmentBase, e);
+      }
+      return records;
+    }
+
+    /**
+     * @return an opaque position that can be passed to {@link SegmentedStoreLog#openCursor(String)}
+     */
+    public String position() {
+      return segmentBase + ":" + offset;
+    }
+
+    @Override
+    public void close() {
+      closeChannel();
+    }
+
+    private int readFromSegment(List<StoreLogRecord> records, int maxRecords) throws IOException {
+      if (channel == null) {
+        Path path = segmentPath(segmentBase);
+        if (!Files.exists(path)) {
+          return 0;
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+      }
+
+      int found = 0;
+      while (records.size() < maxRecords) {
+        readBuffer.clear();
+        int read = channel.read(readBuffer, offset);
+        if (read <= 0) {
+          break;
+        }
+        byte[] bytes = readBuffer.array();
+        int lineStart = 0;
+        for (int i = 0; i < read && records.size() < maxRecords; i++) {
+          if (bytes[i] == '\n') {
+            records.add(StoreLogRecord.decode(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8)));
+            lineStart = i + 1;
+            found++;
+          }
+        }
+        if (lineStart == 0) {
+          if (read < readBuffer.capacity()) {
+            break; // incomplete trailing record, wait for the writer
+          }
+          readBuffer = ByteBuffer.allocate(readBuffer.capacity() * 2); // record longer than the buffer
+          continue;
+        }
+        offset += lineStart;
+      }
+      return found;
+    }
+
+    private Long nextSegmentBase() {
+      for (long base : segmentBases()) {
+        if (base > segmentBase) {
+          return base;
+        }
+      }
+      return null;
+    }
+
+    private void closeChannel() {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          LOGGER.debugf("Unable to close store log reader: %s", e.getMessage());
+        }
+        channel = null;
+      }
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.OptimisticLock;
 
 @Entity
 @Cacheable
@@ -12,6 +15,7 @@ public class Store extends PanacheEntity {
   @jakarta.persistence.ManyToMany
   @jakarta.persistence.JoinTable(name = "store_warehouse", joinColumns = @jakarta.persistence.JoinColumn(name = "store_id"), inverseJoinColumns = @jakarta.persistence.JoinColumn(name = "warehouse_id"))
   @com.fasterxml.jackson.annotation.JsonIgnore
+  @OptimisticLock(excluded = true)
   public java.util.List<com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse> fulfilmentUnits = new java.util.ArrayList<>();
 
   @Column(length = 40, unique = true)
@@ -19,6 +23,11 @@ public class Store extends PanacheEntity {
 
   public int quantityProductsInStock;
 
+  // Sent as the ETag of single-store responses rather than in the body.
+  @Version
+  @JsonIgnore
+  public long version;
+
   public Store() {
   }
 
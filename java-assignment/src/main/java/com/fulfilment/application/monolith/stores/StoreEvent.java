@@ -1,8 +1,9 @@
 package com.fulfilment.application.monolith.stores;
 
 /**
- * CDI event payload used to communicate store changes to downstream systems
- * after the database transaction has been successfully committed.
+ * CDI event payload used to communicate store changes to downstream systems.
+ * It must be fired inside the transaction that makes the change; it is recorded
+ * in the {@link StoreOutbox} and delivered once that transaction has committed.
  */
 public class StoreEvent {
 
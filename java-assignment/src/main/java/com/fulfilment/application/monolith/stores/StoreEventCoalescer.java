@@ -0,0 +1,86 @@
+package com.fulfilment.application.monolith.stores;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collapses a batch of store changes to the smallest sequence that leaves the legacy system in the
+ * same final state.
+ *
+ * <p>Records are folded per store id, in order:
+ * <ul>
+ * <li>{@code UPDATED} after {@code UPDATED}: only the latest snapshot is kept.</li>
+ * <li>{@code UPDATED} after {@code CREATED}: a single {@code CREATED} with the latest snapshot.</li>
+ * <li>{@code DELETED} after {@code UPDATED}: only the {@code DELETED} is kept.</li>
+ * <li>{@code DELETED} after {@code CREATED}: both are dropped; the legacy system never saw the
+ * store.</li>
+ * </ul>
+ * The relative order of changes to one store is preserved; changes to different stores are
+ * grouped by store, in order of each store's first change.
+ *
+ * <p>Folding only sees one claimed batch, on the node that claimed it. That is enough for the
+ * legacy system to end up in each store's latest state: {@link StoreOutbox#claim} puts a store's
+ * oldest pending changes in a batch only while no other batch of that store is out, on any node, so
+ * the batches of one store are delivered one after another and each folds a contiguous run of its
+ * changes. Changes that arrive after a claim are folded into a later batch, not this one.
+ */
+@ApplicationScoped
+public class StoreEventCoalescer {
+
+  private final AtomicLong eventsIn = new AtomicLong();
+  private final AtomicLong eventsOut = new AtomicLong();
+
+  public List<StoreLogRecord> coalesce(List<StoreLogRecord> records) {
+    Map<Long, List<StoreLogRecord>> byStore = new LinkedHashMap<>();
+    for (StoreLogRecord record : records) {
+      fold(byStore.computeIfAbsent(record.storeId, id -> new ArrayList<>(2)), record);
+    }
+
+    List<StoreLogRecord> coalesced = new ArrayList<>(records.size());
+    byStore.values().forEach(coalesced::addAll);
+
+    eventsIn.addAndGet(records.size());
+    eventsOut.addAndGet(coalesced.size());
+    return coalesced;
+  }
+
+  private static void fold(List<StoreLogRecord> pending, StoreLogRecord next) {
+    if (pending.isEmpty()) {
+      pending.add(next);
+      return;
+    }
+
+    int lastIndex = pending.size() - 1;
+    StoreEvent.Type last = pending.get(lastIndex).type;
+    if (last == StoreEvent.Type.UPDATED && next.type != StoreEvent.Type.CREATED) {
+      pending.set(lastIndex, next);
+    } else if (last == StoreEvent.Type.CREATED && next.type == StoreEvent.Type.UPDATED) {
+      pending.set(lastIndex,
+          new StoreLogRecord(StoreEvent.Type.CREATED, next.storeId, next.storeName, next.quantityProductsInStock));
+    } else if (last == StoreEvent.Type.CREATED && next.type == StoreEvent.Type.DELETED) {
+      pending.remove(lastIndex);
+    } else {
+      pending.add(next);
+    }
+  }
+
+  public long eventsIn() {
+    return eventsIn.get();
+  }
+
+  public long eventsOut() {
+    return eventsOut.get();
+  }
+
+  /**
+   * Share of incoming events that did not result in a legacy record, between 0 and 1.
+   */
+  public double coalescingRatio() {
+    long in = eventsIn.get();
+    return in == 0 ? 0.0 : 1.0 - (double) eventsOut.get() / in;
+  }
+}
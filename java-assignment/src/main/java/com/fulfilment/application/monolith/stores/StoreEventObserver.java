@@ -7,28 +7,33 @@ import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 /**
- * Observes {@link StoreEvent} fired within a transaction and delegates to the
- * {@link LegacyStoreManagerGateway} only after the transaction has been
- * successfully committed. This guarantees the downstream legacy system receives
- * confirmed, durable data and never sees a rolled-back partial write.
+ * Observes {@link StoreEvent} fired within a transaction and records it in the
+ * {@link StoreOutbox} as part of that same transaction, so the legacy system is
+ * only ever told about confirmed, durable data and never misses a committed change.
+ *
+ * <p>Delivery happens in batches on the {@link StoreOutboxRelay}; after a successful
+ * commit the relay is only woken up, so the request thread never waits on the
+ * legacy system.
  */
 @ApplicationScoped
 public class StoreEventObserver {
 
   private static final Logger LOGGER = Logger.getLogger(StoreEventObserver.class.getName());
 
-  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+  @Inject StoreOutbox storeOutbox;
 
-  public void onStoreCreated(
+  @Inject StoreOutboxRelay storeOutboxRelay;
+
+  public void onStoreChanged(@Observes(during = TransactionPhase.IN_PROGRESS) StoreEvent event) {
+    storeOutbox.record(event);
+  }
+
+  public void onStoreCommitted(
       @Observes(during = TransactionPhase.AFTER_SUCCESS) StoreEvent event) {
     LOGGER.infof(
-        "Transaction committed successfully. Propagating store event [type=%s, store=%s] to legacy system.",
+        "Transaction committed successfully. Store event [type=%s, store=%s] queued for the legacy system.",
         event.getType(), event.getStore().name);
 
-    switch (event.getType()) {
-      case CREATED -> legacyStoreManagerGateway.createStoreOnLegacySystem(event.getStore());
-      case UPDATED -> legacyStoreManagerGateway.updateStoreOnLegacySystem(event.getStore());
-      case DELETED -> legacyStoreManagerGateway.deleteStoreOnLegacySystem(event.getStore());
-    }
+    storeOutboxRelay.wakeUp();
   }
 }
@@ -0,0 +1,97 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One entry of the legacy hand-off log: a snapshot of a {@link Store} and the change applied to it.
+ *
+ * <p>Records are framed as a single line of tab-separated fields,
+ * {@code sequence TYPE storeId quantityProductsInStock name}, terminated by {@code '\n'}. Tabs,
+ * line breaks and backslashes inside the name are escaped so a record never spans lines.
+ */
+public class StoreLogRecord {
+
+  public long sequence;
+
+  public StoreEvent.Type type;
+
+  public Long storeId;
+
+  public String storeName;
+
+  public int quantityProductsInStock;
+
+  public StoreLogRecord() {
+  }
+
+  public StoreLogRecord(StoreEvent.Type type, Long storeId, String storeName, int quantityProductsInStock) {
+    this.type = type;
+    this.storeId = storeId;
+    this.storeName = storeName;
+    this.quantityProductsInStock = quantityProductsInStock;
+  }
+
+  public static StoreLogRecord of(StoreEvent.Type type, Store store) {
+    return new StoreLogRecord(type, store.id, store.name, store.quantityProductsInStock);
+  }
+
+  byte[] encode() {
+    StringBuilder line = new StringBuilder(48)
+        .append(sequence).append('\t')
+        .append(type.name()).append('\t')
+        .append(storeId).append('\t')
+        .append(quantityProductsInStock).append('\t');
+    if (storeName != null) {
+      for (int i = 0; i < storeName.length(); i++) {
+        char c = storeName.charAt(i);
+        switch (c) {
+          case '\\' -> line.append("\\\\");
+          case '\t' -> line.append("\\t");
+          case '\n' -> line.append("\\n");
+          case '\r' -> line.append("\\r");
+          default -> line.append(c);
+        }
+      }
+    }
+    return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses one line (without its terminating {@code '\n'}) produced by {@link #encode()}.
+   */
+  static StoreLogRecord decode(String line) {
+    String[] fields = line.split("\t", 5);
+    if (fields.length != 5) {
+      throw new IllegalArgumentException("Malformed store log record: " + line);
+    }
+    var record = new StoreLogRecord();
+    record.sequence = Long.parseLong(fields[0]);
+    record.type = StoreEvent.Type.valueOf(fields[1]);
+    record.storeId = "null".equals(fields[2]) ? null : Long.valueOf(fields[2]);
+    record.quantityProductsInStock = Integer.parseInt(fields[3]);
+    record.storeName = unescape(fields[4]);
+    return record;
+  }
+
+  private static String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        switch (next) {
+          case 't' -> result.append('\t');
+          case 'n' -> result.append('\n');
+          case 'r' -> result.append('\r');
+          default -> result.append(next);
+        }
+      } else {
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,125 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.Session;
+
+/**
+ * Transactional outbox for {@link StoreEvent}s.
+ *
+ * <p>Events are recorded inside the transaction that changes the {@link Store}, so an event exists
+ * if and only if the change was committed. Entry ids are allocated one at a time as the entry is
+ * written, after the store row is locked or its version read, so the ids of one store's entries
+ * follow the order its changes committed in, whichever node made them.
+ *
+ * <p>Relays on any number of nodes claim whole stores rather than rows: a store is claimable only
+ * while none of its entries is under a live claim, and a claim takes the store's oldest entries.
+ * At most one batch per store is therefore out at a time, and it holds that store's next changes
+ * in order. Concurrent claimers take a transaction-scoped advisory lock per store id (nothing else
+ * in the schema takes advisory locks) and skip stores another claimer holds, so they neither block
+ * nor split a store between them.
+ *
+ * <p>Claims and completions run on relay and dispatcher threads, so each call activates a request
+ * context for the session to resolve its datasource.
+ */
+@ApplicationScoped
+@ActivateRequestContext
+public class StoreOutbox {
+
+  // Materialized, so locks are only tried for the candidate stores, oldest pending change first.
+  private static final String LOCK_CLAIMABLE_STORES = """
+      WITH claimable AS MATERIALIZED (
+        SELECT storeId, min(id) AS firstId FROM store_outbox
+        GROUP BY storeId
+        HAVING bool_and(claimedUntil IS NULL OR claimedUntil < :now)
+        ORDER BY firstId
+        LIMIT :limit)
+      SELECT storeId FROM claimable WHERE pg_try_advisory_xact_lock(storeId) ORDER BY firstId""";
+
+  // A claimer that held a lock may have committed its claim after the statement above took its
+  // snapshot; a new statement sees that claim.
+  private static final String STILL_CLAIMED = """
+      SELECT DISTINCT storeId FROM store_outbox
+      WHERE storeId IN (:stores) AND claimedUntil >= :now""";
+
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void record(StoreEvent event) {
+    Store store = event.getStore();
+    var entry = new StoreOutboxEntry();
+    entry.eventType = event.getType();
+    entry.storeId = store.id;
+    entry.storeName = store.name;
+    entry.quantityProductsInStock = store.quantityProductsInStock;
+    entry.createdAt = LocalDateTime.now();
+    entry.persist();
+  }
+
+  /**
+   * Claims up to {@code batchSize} entries for {@code lease}: the oldest entries, in id order, of
+   * stores with no entry under a live claim. The returned entries carry the claim.
+   */
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  public List<StoreOutboxEntry> claim(String nodeId, int batchSize, Duration lease) {
+    LocalDateTime now = LocalDateTime.now();
+    List<Long> stores = lockClaimableStores(now, batchSize);
+    if (stores.isEmpty()) {
+      return List.of();
+    }
+
+    List<StoreOutboxEntry> batch = StoreOutboxEntry
+        .<StoreOutboxEntry>find("storeId IN ?1", Sort.by("id"), stores)
+        .page(0, batchSize)
+        .list();
+    if (!batch.isEmpty()) {
+      LocalDateTime until = now.plus(lease);
+      StoreOutboxEntry.update("claimedBy = ?1, claimedUntil = ?2 WHERE id IN ?3", nodeId, until, ids(batch));
+      batch.forEach(entry -> {
+        entry.claimedBy = nodeId;
+        entry.claimedUntil = until;
+      });
+    }
+    return batch;
+  }
+
+  private static List<Long> lockClaimableStores(LocalDateTime now, int limit) {
+    Session session = StoreOutboxEntry.getEntityManager().unwrap(Session.class);
+    List<Long> locked = session.createNativeQuery(LOCK_CLAIMABLE_STORES, Long.class)
+        .setParameter("now", now)
+        .setParameter("limit", limit)
+        .getResultList();
+    if (locked.isEmpty()) {
+      return locked;
+    }
+    List<Long> claimed = session.createNativeQuery(STILL_CLAIMED, Long.class)
+        .setParameter("stores", locked)
+        .setParameter("now", now)
+        .getResultList();
+    return claimed.isEmpty() ? locked : locked.stream().filter(id -> !claimed.contains(id)).toList();
+  }
+
+  /**
+   * Removes delivered entries, unless their claim has meanwhile expired and been taken over.
+   */
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  public long complete(String nodeId, List<Long> ids) {
+    return StoreOutboxEntry.delete("id IN ?1 AND claimedBy = ?2", ids, nodeId);
+  }
+
+  /**
+   * Gives up a claim so the entries can be picked up again without waiting for the lease to expire.
+   */
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  public void release(String nodeId, List<Long> ids) {
+    StoreOutboxEntry.update("claimedBy = null, claimedUntil = null WHERE id IN ?1 AND claimedBy = ?2",
+        ids, nodeId);
+  }
+
+  static List<Long> ids(List<StoreOutboxEntry> entries) {
+    return entries.stream().map(entry -> entry.id).toList();
+  }
+}
@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A store change waiting to be delivered to the legacy system, written in the same transaction as
+ * the change itself. A relay claims entries for {@code claimedUntil} and deletes them once
+ * delivered; an expired claim makes the entry available to any node again.
+ */
+@Entity
+@Table(name = "store_outbox")
+public class StoreOutboxEntry extends PanacheEntityBase {
+
+  // Not pooled: ids handed out in blocks per node would not follow commit order across nodes.
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_outbox_seq")
+  @SequenceGenerator(name = "store_outbox_seq", sequenceName = "store_outbox_seq", allocationSize = 1)
+  public Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public StoreEvent.Type eventType;
+
+  public Long storeId;
+
+  @Column(length = 40)
+  public String storeName;
+
+  public int quantityProductsInStock;
+
+  public LocalDateTime createdAt;
+
+  @Column(length = 64)
+  public String claimedBy;
+
+  public LocalDateTime claimedUntil;
+
+  public StoreOutboxEntry() {
+  }
+
+  public StoreLogRecord toLogRecord() {
+    return new StoreLogRecord(eventType, storeId, storeName, quantityProductsInStock);
+  }
+}
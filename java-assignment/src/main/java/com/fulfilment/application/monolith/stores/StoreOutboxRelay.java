@@ -0,0 +1,179 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.interceptor.Interceptor;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Moves committed {@link StoreOutboxEntry}s to the legacy system in batches.
+ *
+ * <p>The relay thread wakes up every {@code pollInterval}, or as soon as a store transaction
+ * commits, claims batches of up to {@code batchSize} entries and hands each batch to the
+ * {@link LegacyStoreDispatcher}. A batch is delivered with one bulk gateway call, forced to disk
+ * whatever {@code legacy.store-log.fsync} says, and only then removed from the outbox; if the node
+ * dies before that, the claim expires after {@code lease} and another
+ * relay delivers the batch again (at-least-once).
+ *
+ * <p>{@link StoreOutbox#claim} hands out at most one batch per store at a time, so each store's
+ * changes reach the legacy system in the order they committed. A batch whose lease ran out while it
+ * waited in the dispatcher queue is dropped instead of delivered, since another node may already
+ * hold the store's entries; the ordering therefore holds as long as a gateway call finishes within
+ * the lease.
+ *
+ * <p>After a commit wakes it, the relay waits {@code coalesceWindow} before claiming, so a burst of
+ * changes to the same store lands in one batch and is collapsed by the {@link StoreEventCoalescer}.
+ */
+@ApplicationScoped
+public class StoreOutboxRelay {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreOutboxRelay.class.getName());
+
+  private final StoreOutbox outbox;
+  private final LegacyStoreManagerGateway gateway;
+  private final LegacyStoreDispatcher dispatcher;
+  private final StoreEventCoalescer coalescer;
+  private final boolean enabled;
+  private final int batchSize;
+  private final Duration pollInterval;
+  private final Duration lease;
+  private final Duration coalesceWindow;
+  private final String nodeId;
+
+  private final Semaphore wakeUps = new Semaphore(0);
+  private volatile boolean running;
+  private Thread relayThread;
+
+  public StoreOutboxRelay(
+      StoreOutbox outbox,
+      LegacyStoreManagerGateway gateway,
+      LegacyStoreDispatcher dispatcher,
+      StoreEventCoalescer coalescer,
+      @ConfigProperty(name = "legacy.outbox.relay.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "legacy.outbox.batch-size", defaultValue = "500") int batchSize,
+      @ConfigProperty(name = "legacy.outbox.poll-interval", defaultValue = "1s") Duration pollInterval,
+      @ConfigProperty(name = "legacy.outbox.lease", defaultValue = "30s") Duration lease,
+      @ConfigProperty(name = "legacy.outbox.coalesce-window", defaultValue = "100ms") Duration coalesceWindow,
+      @ConfigProperty(name = "legacy.outbox.node-id") Optional<String> nodeId) {
+    this.outbox = outbox;
+    this.gateway = gateway;
+    this.dispatcher = dispatcher;
+    this.coalescer = coalescer;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.pollInterval = pollInterval;
+    this.lease = lease;
+    this.coalesceWindow = coalesceWindow;
+    this.nodeId = nodeId.orElseGet(() -> UUID.randomUUID().toString());
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled) {
+      LOGGER.info("Store outbox relay disabled on this node.");
+      return;
+    }
+    running = true;
+    relayThread = new Thread(this::run, "store-outbox-relay");
+    relayThread.setDaemon(true);
+    relayThread.start();
+    LOGGER.infof("Store outbox relay started [node=%s, batchSize=%d]", nodeId, batchSize);
+  }
+
+  // Stop claiming before the dispatcher drains what has already been handed over.
+  void onShutdown(@Observes @Priority(Interceptor.Priority.APPLICATION) ShutdownEvent event) {
+    if (!running) {
+      return;
+    }
+    running = false;
+    wakeUps.release();
+    try {
+      relayThread.join(lease.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Triggers a relay cycle without waiting for the next poll.
+   */
+  public void wakeUp() {
+    if (wakeUps.availablePermits() == 0) {
+      wakeUps.release();
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        if (wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS) && running) {
+          Thread.sleep(coalesceWindow.toMillis());
+        }
+        wakeUps.drainPermits();
+        if (running) {
+          relayPending();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOGGER.errorf(e, "Store outbox relay cycle failed");
+      }
+    }
+  }
+
+  /**
+   * Claims and dispatches batches until the outbox has no more claimable entries.
+   *
+   * @return the number of entries handed to the dispatcher
+   */
+  int relayPending() {
+    int relayed = 0;
+    while (true) {
+      List<StoreOutboxEntry> batch = outbox.claim(nodeId, batchSize, lease);
+      if (batch.isEmpty()) {
+        return relayed;
+      }
+
+      if (!dispatcher.submit(() -> deliver(batch))) {
+        outbox.release(nodeId, StoreOutbox.ids(batch));
+        return relayed;
+      }
+      relayed += batch.size();
+
+      if (batch.size() < batchSize) {
+        return relayed;
+      }
+    }
+  }
+
+  void deliver(List<StoreOutboxEntry> batch) {
+    LocalDateTime claimedUntil = batch.get(0).claimedUntil;
+    if (claimedUntil != null && !LocalDateTime.now().isBefore(claimedUntil)) {
+      LOGGER.warnf("Dropping %d outbox entries whose claim expired before delivery; they are delivered on a later claim",
+          batch.size());
+      return;
+    }
+    List<StoreLogRecord> records =
+        coalescer.coalesce(batch.stream().map(StoreOutboxEntry::toLogRecord).toList());
+    if (!records.isEmpty()) {
+      gateway.propagateAll(records);
+      gateway.force();
+    }
+    long completed = outbox.complete(nodeId, StoreOutbox.ids(batch));
+    if (completed < batch.size()) {
+      LOGGER.warnf("%d outbox entries were re-claimed by another node before completion",
+          batch.size() - completed);
+    }
+  }
+}
@@ -1,8 +1,12 @@
 package com.fulfilment.application.monolith.stores;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.conditional.ConditionalRequest;
+import com.fulfilment.application.monolith.deadline.DeadlineExceededException;
+import com.fulfilment.application.monolith.deadline.EnforceDeadline;
+import com.fulfilment.application.monolith.deadline.RequestDeadline;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.common.annotation.Blocking;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
@@ -15,12 +19,13 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * REST resource for {@link Store} entities.
@@ -28,24 +33,26 @@ import org.jboss.logging.Logger;
  * <p>
  * The legacy system synchronisation is performed via a CDI {@link Event}
  * observed in
- * {@link StoreEventObserver} with {@code TransactionPhase.AFTER_SUCCESS}. This
- * guarantees the
+ * {@link StoreEventObserver}, which writes it to the {@link StoreOutbox} in the
+ * same transaction. This guarantees the
  * legacy system is notified only once the database transaction has been durably
  * committed,
  * preventing phantom records from rolled-back writes ever reaching the
- * downstream system.
+ * downstream system, and that no committed change is lost if the node crashes.
  */
 @Path("store")
 @ApplicationScoped
+@EnforceDeadline
 @Produces("application/json")
 @Consumes("application/json")
 public class StoreResource {
 
-  private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
-
   @Inject
   Event<StoreEvent> storeEvent;
 
+  @Inject
+  ConditionalRequest conditionalRequest;
+
   @GET
   public List<Store> get() {
     return Store.listAll(Sort.by("name"));
@@ -56,8 +63,9 @@ public class StoreResource {
   public Store getSingle(Long id) {
     Store entity = Store.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException("Store with id of " + id + " does not exist.", 404);
     }
+    conditionalRequest.served(entity.version);
     return entity;
   }
 
@@ -65,13 +73,13 @@ public class StoreResource {
   @Transactional
   public Response create(Store store) {
     if (store.id != null) {
-      throw new WebApplicationException("Id was invalidly set on request.", 422);
+      throw new RequestRejectedException("Id was invalidly set on request.", 422);
     }
 
     store.persist();
 
-    // Fire within the transaction – observer executes AFTER_SUCCESS only when
-    // the DB commit is durable.
+    // Fire within the transaction – the outbox entry commits or rolls back
+    // together with the store.
     storeEvent.fire(new StoreEvent(store, StoreEvent.Type.CREATED));
 
     return Response.ok(store).status(201).build();
@@ -82,14 +90,15 @@ public class StoreResource {
   @Transactional
   public Store update(Long id, Store updatedStore) {
     if (updatedStore.name == null) {
-      throw new WebApplicationException("Store Name was not set on request.", 422);
+      throw new RequestRejectedException("Store Name was not set on request.", 422);
     }
 
     Store entity = Store.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException("Store with id of " + id + " does not exist.", 404);
     }
+    conditionalRequest.requireMatch("Store", id, entity.version);
 
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
@@ -104,13 +113,14 @@ public class StoreResource {
   @Transactional
   public Store patch(Long id, Store updatedStore) {
     if (updatedStore.name == null) {
-      throw new WebApplicationException("Store Name was not set on request.", 422);
+      throw new RequestRejectedException("Store Name was not set on request.", 422);
     }
 
     Store entity = Store.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException("Store with id of " + id + " does not exist.", 404);
     }
+    conditionalRequest.requireMatch("Store", id, entity.version);
 
     if (updatedStore.name != null) {
       entity.name = updatedStore.name;
@@ -125,6 +135,51 @@ public class StoreResource {
     return entity;
   }
 
+  @Inject
+  StoreStockDeltaAggregator stockDeltaAggregator;
+
+  @Inject
+  RequestDeadline deadline;
+
+  /**
+   * Applies a signed stock increment. Deltas arriving for the same store within the aggregation
+   * window are merged into one atomic SQL increment and a single {@link StoreEvent}.
+   *
+   * <p>The worker thread is released as soon as the delta is queued; the response follows when its
+   * batch has been written, or with 504 once the request deadline passes. A delta answered with 504
+   * is still applied with its batch.
+   */
+  @POST
+  @Path("{id}/stock-delta")
+  @Blocking
+  public CompletionStage<Store> applyStockDelta(Long id, StoreStockDelta request) {
+    if (request == null || request.delta == null) {
+      throw new RequestRejectedException("Stock delta was not set on request.", 422);
+    }
+
+    CompletableFuture<Store> applied = stockDeltaAggregator.submit(id, request.delta);
+    if (deadline.isSet()) {
+      applied = applied.orTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+    }
+    return applied.handle((entity, failure) -> {
+      Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      if (cause instanceof TimeoutException) {
+        throw new DeadlineExceededException(
+            "Request deadline exceeded before the stock delta of store " + id + " was written.");
+      }
+      if (cause instanceof RuntimeException e) {
+        throw e;
+      }
+      if (cause != null) {
+        throw new CompletionException(cause);
+      }
+      if (entity == null) {
+        throw new RequestRejectedException("Store with id of " + id + " does not exist.", 404);
+      }
+      return entity;
+    });
+  }
+
   @jakarta.inject.Inject
   com.fulfilment.application.monolith.fulfilment.FulfilmentService fulfilmentService;
 
@@ -142,37 +197,10 @@ public class StoreResource {
   public Response delete(Long id) {
     Store entity = Store.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException("Store with id of " + id + " does not exist.", 404);
     }
     storeEvent.fire(new StoreEvent(entity, StoreEvent.Type.DELETED));
     entity.delete();
     return Response.status(204).build();
   }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject
-    ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
-
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
-
-      return Response.status(code).entity(exceptionJson).build();
-    }
-  }
 }
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.stores;
+
+/**
+ * Request body for {@code POST /store/{id}/stock-delta}: a signed increment applied to the
+ * store's {@code quantityProductsInStock}.
+ */
+public class StoreStockDelta {
+
+  public Integer delta;
+
+  public StoreStockDelta() {
+  }
+
+  public StoreStockDelta(Integer delta) {
+    this.delta = delta;
+  }
+}
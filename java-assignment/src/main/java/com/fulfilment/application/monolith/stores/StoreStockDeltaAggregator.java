@@ -0,0 +1,154 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Merges stock deltas submitted for the same store within a short window into a single
+ * {@link StoreStockWriter#applyDeltas} call.
+ *
+ * <p>The first delta for a store opens a batch and schedules its flush {@code window} later; every
+ * delta arriving before the flush is folded into that batch. Callers whose delta was applied
+ * complete with the same resulting {@link Store} (or {@code null} when the store does not exist), so
+ * N deltas cost one UPDATE, one transaction and one {@link StoreEvent}. A delta the writer rejects
+ * fails only its own caller, with {@code 409}.
+ *
+ * <p>Flushes run on {@code flush-threads} single-threaded lanes, chosen by store id, so two batches
+ * of one store are never written at the same time and are written in the order they were opened.
+ */
+@ApplicationScoped
+public class StoreStockDeltaAggregator {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreStockDeltaAggregator.class.getName());
+
+  private final StoreStockWriter writer;
+  private final long windowNanos;
+  private final ScheduledExecutorService[] lanes;
+  private final ConcurrentHashMap<Long, PendingDelta> pending = new ConcurrentHashMap<>();
+
+  public StoreStockDeltaAggregator(
+      StoreStockWriter writer,
+      @ConfigProperty(name = "store.stock-delta.window", defaultValue = "20ms") Duration window,
+      @ConfigProperty(name = "store.stock-delta.flush-threads", defaultValue = "2") int flushThreads) {
+    this.writer = writer;
+    this.windowNanos = window.toNanos();
+    this.lanes = new ScheduledExecutorService[flushThreads];
+    for (int i = 0; i < flushThreads; i++) {
+      String name = "store-stock-delta-flusher-" + i;
+      lanes[i] = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  /**
+   * Adds {@code delta} to the open batch of the given store, opening one if needed.
+   *
+   * @return a future completed with the store state after the batch has been written
+   */
+  public CompletableFuture<Store> submit(Long storeId, int delta) {
+    while (true) {
+      PendingDelta batch = pending.get(storeId);
+      if (batch == null) {
+        PendingDelta created = new PendingDelta();
+        batch = pending.putIfAbsent(storeId, created);
+        if (batch == null) {
+          batch = created;
+          PendingDelta toFlush = created;
+          lane(storeId).schedule(() -> flush(storeId, toFlush), windowNanos, TimeUnit.NANOSECONDS);
+        }
+      }
+      CompletableFuture<Store> result = batch.add(delta);
+      if (result != null) {
+        return result;
+      }
+      // The batch was closed by its flush between lookup and add: retry against a fresh one.
+    }
+  }
+
+  void flush(Long storeId, PendingDelta batch) {
+    pending.remove(storeId, batch);
+    List<Submitted> submitted = batch.close();
+    int[] deltas = submitted.stream().mapToInt(Submitted::delta).toArray();
+    try {
+      StoreStockWriter.Outcome outcome = writer.applyDeltas(storeId, deltas);
+      LOGGER.debugf("Applied %d merged stock deltas to store %d", deltas.length, storeId);
+      for (int i = 0; i < deltas.length; i++) {
+        CompletableFuture<Store> result = submitted.get(i).result();
+        if (outcome == null) {
+          result.complete(null);
+        } else if (outcome.rejected().get(i)) {
+          result.completeExceptionally(new RequestRejectedException("Stock delta of " + deltas[i]
+              + " would take the stock of store " + storeId + " below zero or past its maximum.", 409));
+        } else {
+          result.complete(outcome.store());
+        }
+      }
+    } catch (RuntimeException e) {
+      LOGGER.warnf("Failed to apply %d merged stock deltas to store %d: %s", deltas.length, storeId, e.getMessage());
+      submitted.forEach(entry -> entry.result().completeExceptionally(e));
+    }
+  }
+
+  private ScheduledExecutorService lane(Long storeId) {
+    return lanes[Math.floorMod(storeId.hashCode(), lanes.length)];
+  }
+
+  @PreDestroy
+  void shutdown() {
+    // Delayed flushes still run after shutdown(), so pending deltas are written before exit.
+    for (ScheduledExecutorService lane : lanes) {
+      lane.shutdown();
+    }
+    try {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      for (ScheduledExecutorService lane : lanes) {
+        if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          LOGGER.warn("Timed out waiting for pending stock deltas to flush");
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  record Submitted(int delta, CompletableFuture<Store> result) {
+  }
+
+  static final class PendingDelta {
+
+    private final List<Submitted> deltas = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * @return the caller's result, or {@code null} if the batch has already been closed
+     */
+    synchronized CompletableFuture<Store> add(int delta) {
+      if (closed) {
+        return null;
+      }
+      Submitted submitted = new Submitted(delta, new CompletableFuture<>());
+      deltas.add(submitted);
+      return submitted.result();
+    }
+
+    synchronized List<Submitted> close() {
+      closed = true;
+      return deltas;
+    }
+  }
+}
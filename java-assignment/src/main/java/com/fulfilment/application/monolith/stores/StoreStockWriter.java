@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fulfilment.application.monolith.cacheinvalidation.ClusterCacheInvalidation;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.BitSet;
+import java.util.List;
+import org.hibernate.Session;
+
+/**
+ * Applies a batch of stock deltas to a single store in its own transaction.
+ *
+ * <p>The store row is locked first and each delta is checked, in order, against the stock it would
+ * be applied to: one that would take the stock below zero or past {@link Integer#MAX_VALUE} is
+ * rejected on its own and the rest still apply. The accepted deltas are then written as one atomic
+ * {@code UPDATE ... SET q = q + :delta}, and a single {@link StoreEvent} is fired for the batch.
+ *
+ * <p>Runs on the delta flusher threads, which have no request context of their own; the session
+ * needs one to resolve its datasource.
+ *
+ * <p>The bulk update bypasses entity events and versioning, so it bumps {@link Store#version} itself
+ * and publishes the cache invalidation for other nodes explicitly.
+ */
+@ApplicationScoped
+@ActivateRequestContext
+public class StoreStockWriter {
+
+  private static final String LOCK_STOCK = "SELECT quantityProductsInStock FROM store WHERE id = ?1 FOR UPDATE";
+
+  /**
+   * The store after a batch, and the positions of the deltas that were rejected.
+   */
+  public record Outcome(Store store, BitSet rejected) {
+  }
+
+  @Inject
+  Event<StoreEvent> storeEvent;
+
+  @Inject
+  ClusterCacheInvalidation cacheInvalidation;
+
+  /**
+   * @return the outcome, or {@code null} when no store exists with that id
+   */
+  @Transactional
+  public Outcome applyDeltas(Long storeId, int[] deltas) {
+    List<Integer> locked = Store.getEntityManager().unwrap(Session.class)
+        .createNativeQuery(LOCK_STOCK, Integer.class)
+        .setParameter(1, storeId)
+        .getResultList();
+    if (locked.isEmpty()) {
+      return null;
+    }
+
+    long stock = locked.get(0);
+    BitSet rejected = new BitSet(deltas.length);
+    for (int i = 0; i < deltas.length; i++) {
+      long next = stock + deltas[i];
+      // A stock that is already negative may still be raised towards zero.
+      if (next > Integer.MAX_VALUE || (next < 0 && deltas[i] < 0)) {
+        rejected.set(i);
+      } else {
+        stock = next;
+      }
+    }
+    if (rejected.cardinality() == deltas.length) {
+      return new Outcome(Store.findById(storeId), rejected);
+    }
+
+    // Both ends lie within int range, so the accepted sum does too.
+    int applied = (int) (stock - locked.get(0));
+    Store.update("quantityProductsInStock = quantityProductsInStock + ?1, version = version + 1 WHERE id = ?2",
+        applied, storeId);
+    cacheInvalidation.publish(Store.getEntityManager(), Store.class, storeId);
+
+    Store store = Store.findById(storeId);
+    storeEvent.fire(new StoreEvent(store, StoreEvent.Type.UPDATED));
+    return new Outcome(store, rejected);
+  }
+}
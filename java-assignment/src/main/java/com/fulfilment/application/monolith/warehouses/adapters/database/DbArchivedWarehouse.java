@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An archived warehouse version. Archiving moves the row out of {@code warehouse} into
+ * {@code warehouse_archive} under the same id, so the active table only holds live units. Its
+ * {@code store_warehouse} and {@code product_warehouse} links move along, to
+ * {@code store_warehouse_archive} and {@code product_warehouse_archive}, so the stores and
+ * products a version served stay on record.
+ *
+ * <p>Existing databases that archived in place are migrated with
+ * {@code INSERT INTO warehouse_archive SELECT id, businessUnitCode, location, capacity, stock,
+ * createdAt, archivedAt, 1 FROM warehouse WHERE archivedAt IS NOT NULL}, copying the links of those
+ * rows into the archive link tables the same way, then deleting the rows and their links from the
+ * active tables.
+ */
+@Entity
+@Table(name = "warehouse_archive",
+    indexes = @Index(name = "warehouse_archive_buc_created_idx", columnList = "businessUnitCode, createdAt"))
+public class DbArchivedWarehouse {
+
+  @Id
+  public Long id;
+
+  public String businessUnitCode;
+
+  public String location;
+
+  public Integer capacity;
+
+  public Integer stock;
+
+  public LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  public LocalDateTime archivedAt;
+
+  // One past the version of the live row it was moved from; archived rows are never updated.
+  public long version;
+
+  @ElementCollection
+  @CollectionTable(name = "store_warehouse_archive", joinColumns = @JoinColumn(name = "warehouse_id"))
+  @Column(name = "store_id")
+  public Set<Long> storeIds = new HashSet<>();
+
+  @ElementCollection
+  @CollectionTable(name = "product_warehouse_archive", joinColumns = @JoinColumn(name = "warehouse_id"))
+  @Column(name = "product_id")
+  public Set<Long> productIds = new HashSet<>();
+
+  public DbArchivedWarehouse() {
+  }
+
+  public Warehouse toWarehouse() {
+    var warehouse = new Warehouse();
+    warehouse.id = this.id;
+    warehouse.businessUnitCode = this.businessUnitCode;
+    warehouse.location = this.location;
+    warehouse.capacity = this.capacity;
+    warehouse.stock = this.stock;
+    warehouse.createdAt = this.createdAt;
+    warehouse.archivedAt = this.archivedAt;
+    warehouse.version = this.version;
+    return warehouse;
+  }
+}
@@ -1,20 +1,27 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.ids.SnowflakeId;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
+/**
+ * A live warehouse unit. Archived versions are moved to {@link DbArchivedWarehouse}, so
+ * {@code archivedAt} is always null in this table.
+ */
 @Entity
-@Table(name = "warehouse")
+@Table(name = "warehouse",
+    indexes = @Index(name = "warehouse_buc_created_idx", columnList = "businessUnitCode, createdAt"))
 @Cacheable
 public class DbWarehouse {
 
   @Id
-  @GeneratedValue
+  @SnowflakeId
   public Long id;
 
   public String businessUnitCode;
@@ -29,6 +36,9 @@ public class DbWarehouse {
 
   public LocalDateTime archivedAt;
 
+  @Version
+  public long version;
+
   public DbWarehouse() {
   }
 
@@ -41,6 +51,7 @@ public class DbWarehouse {
     warehouse.stock = this.stock;
     warehouse.createdAt = this.createdAt;
     warehouse.archivedAt = this.archivedAt;
+    warehouse.version = this.version;
     return warehouse;
   }
 }
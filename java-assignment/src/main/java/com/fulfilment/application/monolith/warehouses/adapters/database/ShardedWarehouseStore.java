@@ -0,0 +1,126 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.sharding.ShardRouter;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link WarehouseStore} over warehouse data sharded by location region.
+ *
+ * <p>Operations that carry a location ({@link #findActiveByLocation}, {@link #create},
+ * {@link #update}, {@link #remove}, {@link #replace}) go to the one shard owning that region, so the
+ * location-scoped checks of the use cases never leave a shard. Lookups by business unit code or id,
+ * and {@link #getAll}, are scattered to all shards in parallel and gathered. Each shard keeps the
+ * archived versions of its own warehouses.
+ *
+ * <p>Writes never span shards, since no transaction does: a replacement in another region is
+ * refused, and {@link ShardRouter#writeOnShard} refuses a second shard within one transaction.
+ * Writes to a shard other than the default one commit on their own when the call returns, so a
+ * caller rolling back afterwards does not undo them; the use cases write last for that reason.
+ *
+ * <p>Ids are generated in the application ({@link com.fulfilment.application.monolith.ids.SnowflakeId})
+ * and carry the node id, so they stay unique across shards without coordinating sequences.
+ */
+@ApplicationScoped
+public class ShardedWarehouseStore implements WarehouseStore {
+
+  private final WarehouseRepository repository;
+  private final ShardRouter router;
+
+  public ShardedWarehouseStore(WarehouseRepository repository, ShardRouter router) {
+    this.repository = repository;
+    this.router = router;
+  }
+
+  @Override
+  public List<Warehouse> getAll() {
+    return router.onAllShards(repository::getAll).stream().flatMap(Collection::stream).toList();
+  }
+
+  @Override
+  public List<Warehouse> getAll(int limit) {
+    return router.onAllShards(() -> repository.getAll(limit)).stream()
+        .flatMap(Collection::stream)
+        .limit(limit)
+        .toList();
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocation(String locationIdentifier) {
+    return router.onShard(router.shardFor(locationIdentifier),
+        () -> repository.findActiveByLocation(locationIdentifier));
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    router.writeOnShard(router.shardFor(warehouse.location), () -> repository.create(warehouse));
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    router.writeOnShard(router.shardFor(warehouse.location), () -> repository.update(warehouse));
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    router.writeOnShard(router.shardFor(warehouse.location), () -> repository.remove(warehouse));
+  }
+
+  @Override
+  public void replace(Warehouse current, Warehouse replacement) {
+    String shard = router.shardFor(current.location);
+    if (!shard.equals(router.shardFor(replacement.location))) {
+      throw new WarehouseValidationException(ErrorCode.REPLACEMENT_CHANGES_SHARD,
+          "Warehouse '" + current.businessUnitCode + "' at '" + current.location + "' cannot be replaced by one at '"
+              + replacement.location + "': the locations are on different shards. Archive it and create the new one instead.");
+    }
+    router.writeOnShard(shard, () -> repository.replace(current, replacement));
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    return first(router.onAllShards(() -> repository.findByBusinessUnitCode(buCode)));
+  }
+
+  @Override
+  public Warehouse findWarehouseById(Long id) {
+    return first(router.onAllShards(() -> repository.findWarehouseById(id)));
+  }
+
+  @Override
+  public List<Warehouse> findArchivedByBusinessUnitCode(String buCode) {
+    return router.onAllShards(() -> repository.findArchivedByBusinessUnitCode(buCode)).stream()
+        .flatMap(Collection::stream)
+        .sorted(Comparator.comparing(w -> w.archivedAt))
+        .toList();
+  }
+
+  @Override
+  public List<Warehouse> findHistoryByBusinessUnitCode(String buCode) {
+    // A replacement may move the unit to another region, so its versions can span shards.
+    return router.onAllShards(() -> repository.findHistoryByBusinessUnitCode(buCode)).stream()
+        .flatMap(Collection::stream)
+        .sorted(Comparator.comparing(w -> w.createdAt))
+        .toList();
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCodeAsOf(String buCode, LocalDateTime at) {
+    return router.onAllShards(() -> repository.findByBusinessUnitCodeAsOf(buCode, at)).stream()
+        .filter(Objects::nonNull)
+        .max(Comparator.comparing(w -> w.createdAt))
+        .orElse(null);
+  }
+
+  private static Warehouse first(List<Warehouse> perShard) {
+    return perShard.stream().filter(Objects::nonNull).findFirst().orElse(null);
+  }
+}
@@ -1,57 +1,133 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.cacheinvalidation.ClusterCacheInvalidation;
+import com.fulfilment.application.monolith.deadline.EnforceDeadline;
+import com.fulfilment.application.monolith.sharding.ShardContext;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import org.hibernate.query.NativeQuery;
 import org.jboss.logging.Logger;
 
 /**
  * JPA/Panache-backed implementation of {@link WarehouseStore}.
  * Handles all database interactions for the Warehouse aggregate.
+ *
+ * <p>Works against whichever shard the current session is bound to; the use cases see it through
+ * {@link ShardedWarehouseStore}, so it is not itself exposed as a {@link WarehouseStore} bean.
+ *
+ * <p>Active units live in {@code warehouse} and archived versions in {@code warehouse_archive}
+ * ({@link DbArchivedWarehouse}); an update that sets {@code archivedAt} moves the row across. Active
+ * queries therefore scan live units only, however long the history grows.
+ *
+ * <p>Bound to the request deadline itself, not only through the use cases, because on a shard
+ * worker it runs in a request context the use case interceptors never saw.
  */
 @ApplicationScoped
+@EnforceDeadline
+@Typed(WarehouseRepository.class)
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
   private static final Logger LOGGER = Logger.getLogger(WarehouseRepository.class.getName());
 
+  // One statement: the row and its links move in the same snapshot, and the foreign keys of the
+  // link tables are checked only once everything has moved.
+  private static final String MOVE_LINKS = """
+      stores AS (DELETE FROM store_warehouse WHERE warehouse_id = :id RETURNING store_id),
+      products AS (DELETE FROM product_warehouse WHERE warehouse_id = :id RETURNING product_id),
+      archived_stores AS (INSERT INTO store_warehouse_archive (warehouse_id, store_id)
+                          SELECT :id, store_id FROM stores),
+      archived_products AS (INSERT INTO product_warehouse_archive (warehouse_id, product_id)
+                            SELECT :id, product_id FROM products),
+      """;
+  private static final String MOVE_TO_ARCHIVE = """
+      moved AS (DELETE FROM warehouse WHERE id = :id
+                RETURNING id, businessUnitCode, location, capacity, stock, createdAt, version)
+      INSERT INTO warehouse_archive (id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version)
+      SELECT id, businessUnitCode, location, capacity, stock, createdAt, :archivedAt, version + 1 FROM moved""";
+
+  private static final String BY_ID_IN_BOTH_TABLES = """
+      SELECT w.id, w.businessUnitCode, w.location, w.capacity, w.stock, w.createdAt, CAST(NULL AS LocalDateTime), w.version
+      FROM DbWarehouse w WHERE w.id = :id
+      UNION ALL
+      SELECT a.id, a.businessUnitCode, a.location, a.capacity, a.stock, a.createdAt, a.archivedAt, a.version
+      FROM DbArchivedWarehouse a WHERE a.id = :id""";
+
+  // Both tables are indexed on (businessUnitCode, createdAt), so these are range scans over one
+  // business unit. The archive branch of the as-of lookup reads a single index entry backwards.
+  private static final String HISTORY = """
+      SELECT a.id, a.businessUnitCode, a.location, a.capacity, a.stock, a.createdAt, a.archivedAt, a.version
+      FROM DbArchivedWarehouse a WHERE a.businessUnitCode = :buc
+      UNION ALL
+      SELECT w.id, w.businessUnitCode, w.location, w.capacity, w.stock, w.createdAt, CAST(NULL AS LocalDateTime), w.version
+      FROM DbWarehouse w WHERE w.businessUnitCode = :buc""";
+  private static final String LATEST_CREATED_BY = """
+      (SELECT a.id, a.businessUnitCode, a.location, a.capacity, a.stock, a.createdAt, a.archivedAt, a.version
+       FROM DbArchivedWarehouse a WHERE a.businessUnitCode = :buc AND a.createdAt <= :at
+       ORDER BY a.createdAt DESC LIMIT 1)
+      UNION ALL
+      SELECT w.id, w.businessUnitCode, w.location, w.capacity, w.stock, w.createdAt, CAST(NULL AS LocalDateTime), w.version
+      FROM DbWarehouse w WHERE w.businessUnitCode = :buc AND w.createdAt <= :at""";
+
+  private final ClusterCacheInvalidation cacheInvalidation;
+
+  public WarehouseRepository(ClusterCacheInvalidation cacheInvalidation) {
+    this.cacheInvalidation = cacheInvalidation;
+  }
+
   @Override
+  @Timed("warehouse.store")
   public List<Warehouse> getAll() {
-    // Return only active warehouses (archivedAt is null)
-    return find("archivedAt IS NULL").stream().map(DbWarehouse::toWarehouse).toList();
+    return findAll().stream().map(DbWarehouse::toWarehouse).toList();
   }
 
   @Override
+  @Timed("warehouse.store")
+  public List<Warehouse> getAll(int limit) {
+    return findAll(Sort.by("id")).page(0, limit).stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  @Override
+  @Timed("warehouse.store")
   public List<Warehouse> findActiveByLocation(String locationIdentifier) {
-    return find("location = ?1 AND archivedAt IS NULL", locationIdentifier)
+    return find("location", locationIdentifier)
         .stream()
         .map(DbWarehouse::toWarehouse)
         .toList();
   }
 
   @Override
+  @Timed("warehouse.store")
   @Transactional
   public void create(Warehouse warehouse) {
-    LOGGER.infof("Creating warehouse with businessUnitCode=%s", warehouse.businessUnitCode);
+    LOGGER.debugf("Creating warehouse with businessUnitCode=%s", warehouse.businessUnitCode);
     var dbWarehouse = new DbWarehouse();
     dbWarehouse.businessUnitCode = warehouse.businessUnitCode;
     dbWarehouse.location = warehouse.location;
     dbWarehouse.capacity = warehouse.capacity;
     dbWarehouse.stock = warehouse.stock;
     dbWarehouse.createdAt = LocalDateTime.now();
-    dbWarehouse.archivedAt = null;
     persist(dbWarehouse);
   }
 
   @Override
+  @Timed("warehouse.store")
   @Transactional
   public void update(Warehouse warehouse) {
-    LOGGER.infof("Updating warehouse with businessUnitCode=%s", warehouse.businessUnitCode);
-    DbWarehouse dbWarehouse = find("businessUnitCode = ?1 AND archivedAt IS NULL", warehouse.businessUnitCode)
-        .firstResult();
+    LOGGER.debugf("Updating warehouse with businessUnitCode=%s", warehouse.businessUnitCode);
+    if (warehouse.archivedAt != null) {
+      archive(warehouse);
+      return;
+    }
+    DbWarehouse dbWarehouse = find("businessUnitCode", warehouse.businessUnitCode).firstResult();
     if (dbWarehouse == null) {
       throw new IllegalArgumentException(
           "Warehouse not found for update: " + warehouse.businessUnitCode);
@@ -59,30 +135,129 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     dbWarehouse.location = warehouse.location;
     dbWarehouse.capacity = warehouse.capacity;
     dbWarehouse.stock = warehouse.stock;
-    dbWarehouse.archivedAt = warehouse.archivedAt;
+  }
+
+  /**
+   * Moves the warehouse row to {@code warehouse_archive} and its store and product links to the
+   * archive link tables. Only the default shard holds link tables.
+   */
+  private void archive(Warehouse warehouse) {
+    Long id = warehouse.id != null
+        ? warehouse.id
+        : find("businessUnitCode", warehouse.businessUnitCode).firstResultOptional().map(w -> w.id).orElse(null);
+    String sql = "WITH " + (ShardContext.current() == null ? MOVE_LINKS : "") + MOVE_TO_ARCHIVE;
+    int moved = id == null ? 0 : getEntityManager().createNativeQuery(sql)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(DbWarehouse.class)
+        .setParameter("id", id)
+        .setParameter("archivedAt", warehouse.archivedAt)
+        .executeUpdate();
+    if (moved == 0) {
+      throw new IllegalArgumentException(
+          "Warehouse not found for update: " + warehouse.businessUnitCode);
+    }
+    // The session may still hold the moved row; getReference returns it without a statement.
+    getEntityManager().detach(getEntityManager().getReference(DbWarehouse.class, id));
+    cacheInvalidation.publish(getEntityManager(), DbWarehouse.class, id);
+  }
+
+  @Override
+  @Timed("warehouse.store")
+  @Transactional
+  public void replace(Warehouse current, Warehouse replacement) {
+    archive(current);
+    create(replacement);
   }
 
   @Override
+  @Timed("warehouse.store")
   @Transactional
   public void remove(Warehouse warehouse) {
-    LOGGER.infof("Removing warehouse with businessUnitCode=%s", warehouse.businessUnitCode);
-    DbWarehouse dbWarehouse = find("businessUnitCode = ?1 AND archivedAt IS NULL", warehouse.businessUnitCode)
-        .firstResult();
+    LOGGER.debugf("Removing warehouse with businessUnitCode=%s", warehouse.businessUnitCode);
+    DbWarehouse dbWarehouse = find("businessUnitCode", warehouse.businessUnitCode).firstResult();
     if (dbWarehouse != null) {
       delete(dbWarehouse);
     }
   }
 
   @Override
+  @Timed("warehouse.store")
   public Warehouse findByBusinessUnitCode(String buCode) {
-    return find("businessUnitCode = ?1 AND archivedAt IS NULL", buCode)
+    return find("businessUnitCode", buCode)
         .firstResultOptional()
         .map(DbWarehouse::toWarehouse)
         .orElse(null);
   }
 
   @Override
+  @Timed("warehouse.store")
   public Warehouse findWarehouseById(Long id) {
-    return findByIdOptional(id).map(DbWarehouse::toWarehouse).orElse(null);
+    // A cached live unit costs no statement; otherwise both tables are read in one.
+    if (getEntityManager().getEntityManagerFactory().getCache().contains(DbWarehouse.class, id)) {
+      return findById(id).toWarehouse();
+    }
+    return getEntityManager()
+        .createQuery(BY_ID_IN_BOTH_TABLES, Object[].class)
+        .setParameter("id", id)
+        .getResultStream()
+        .findFirst()
+        .map(WarehouseRepository::toWarehouse)
+        .orElse(null);
+  }
+
+  private static Warehouse toWarehouse(Object[] row) {
+    var warehouse = new Warehouse();
+    warehouse.id = (Long) row[0];
+    warehouse.businessUnitCode = (String) row[1];
+    warehouse.location = (String) row[2];
+    warehouse.capacity = (Integer) row[3];
+    warehouse.stock = (Integer) row[4];
+    warehouse.createdAt = (LocalDateTime) row[5];
+    warehouse.archivedAt = (LocalDateTime) row[6];
+    warehouse.version = (Long) row[7];
+    return warehouse;
+  }
+
+  @Override
+  @Timed("warehouse.store")
+  public List<Warehouse> findArchivedByBusinessUnitCode(String buCode) {
+    return getEntityManager()
+        .createQuery("FROM DbArchivedWarehouse WHERE businessUnitCode = ?1 ORDER BY archivedAt", DbArchivedWarehouse.class)
+        .setParameter(1, buCode)
+        .getResultStream()
+        .map(DbArchivedWarehouse::toWarehouse)
+        .toList();
+  }
+
+  @Override
+  @Timed("warehouse.store")
+  public List<Warehouse> findHistoryByBusinessUnitCode(String buCode) {
+    return getEntityManager()
+        .createQuery(HISTORY, Object[].class)
+        .setParameter("buc", buCode)
+        .getResultStream()
+        .map(WarehouseRepository::toWarehouse)
+        .sorted(Comparator.comparing(w -> w.createdAt))
+        .toList();
+  }
+
+  @Override
+  @Timed("warehouse.store")
+  public Warehouse findByBusinessUnitCodeAsOf(String buCode, LocalDateTime at) {
+    // The version created last before `at` is the only candidate; it was active then unless it had
+    // already been archived.
+    return getEntityManager()
+        .createQuery(LATEST_CREATED_BY, Object[].class)
+        .setParameter("buc", buCode)
+        .setParameter("at", at)
+        .getResultStream()
+        .map(WarehouseRepository::toWarehouse)
+        .max(Comparator.comparing(w -> w.createdAt))
+        .filter(w -> w.archivedAt == null || w.archivedAt.isAfter(at))
+        .orElse(null);
+  }
+
+  public boolean isArchived(Long id) {
+    return getEntityManager().find(DbArchivedWarehouse.class, id) != null;
   }
 }
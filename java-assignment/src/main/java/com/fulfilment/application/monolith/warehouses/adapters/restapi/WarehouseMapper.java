@@ -0,0 +1,45 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+
+/**
+ * Translates between the domain {@link Warehouse} and the generated API bean.
+ */
+public final class WarehouseMapper {
+
+  private WarehouseMapper() {
+  }
+
+  public static com.warehouse.api.beans.Warehouse toApiWarehouse(Warehouse warehouse) {
+    if (warehouse == null)
+      return null;
+    var response = new com.warehouse.api.beans.Warehouse();
+    response.setId(warehouse.id != null ? warehouse.id.toString() : null);
+    response.setBusinessUnitCode(warehouse.businessUnitCode);
+    response.setLocation(warehouse.location);
+    response.setCapacity(warehouse.capacity);
+    response.setStock(warehouse.stock);
+    return response;
+  }
+
+  public static com.warehouse.api.beans.WarehouseVersion toApiVersion(Warehouse warehouse) {
+    var response = new com.warehouse.api.beans.WarehouseVersion();
+    response.setId(warehouse.id != null ? warehouse.id.toString() : null);
+    response.setBusinessUnitCode(warehouse.businessUnitCode);
+    response.setLocation(warehouse.location);
+    response.setCapacity(warehouse.capacity);
+    response.setStock(warehouse.stock);
+    response.setCreatedAt(warehouse.createdAt != null ? warehouse.createdAt.toString() : null);
+    response.setArchivedAt(warehouse.archivedAt != null ? warehouse.archivedAt.toString() : null);
+    return response;
+  }
+
+  public static Warehouse toDomainWarehouse(com.warehouse.api.beans.Warehouse apiWarehouse) {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = apiWarehouse.getBusinessUnitCode();
+    warehouse.location = apiWarehouse.getLocation();
+    warehouse.capacity = apiWarehouse.getCapacity();
+    warehouse.stock = apiWarehouse.getStock() != null ? apiWarehouse.getStock() : 0;
+    return warehouse;
+  }
+}
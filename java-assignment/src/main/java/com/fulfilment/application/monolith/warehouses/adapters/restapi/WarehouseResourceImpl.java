@@ -1,19 +1,20 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
-import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
-import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import com.fulfilment.application.monolith.conditional.ConditionalRequest;
+import com.fulfilment.application.monolith.deadline.EnforceDeadline;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.warehouse.api.WarehouseResource;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
-import jakarta.ws.rs.NotFoundException;
-import jakarta.ws.rs.WebApplicationException;
-import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.reactive.ResponseStatus;
@@ -23,26 +24,30 @@ import org.jboss.resteasy.reactive.ResponseStatus;
  *
  * <p>
  * Delegates all business logic to the use cases, keeping this class purely
- * concerned with HTTP protocol concerns (request/response translation, error
- * mapping).
+ * concerned with HTTP protocol concerns (request/response translation).
+ * Business-rule rejections propagate to the
+ * {@link com.fulfilment.application.monolith.errors.ErrorResponseMapper}.
  */
 @RequestScoped
+@EnforceDeadline
 public class WarehouseResourceImpl implements WarehouseResource {
 
   private static final Logger LOGGER = Logger.getLogger(WarehouseResourceImpl.class.getName());
 
   @Inject
-  private WarehouseRepository warehouseRepository;
+  private WarehouseStore warehouseStore;
   @Inject
   private CreateWarehouseOperation createWarehouseOperation;
   @Inject
   private ReplaceWarehouseOperation replaceWarehouseOperation;
   @Inject
   private ArchiveWarehouseOperation archiveWarehouseOperation;
+  @Inject
+  private ConditionalRequest conditionalRequest;
 
   @Override
   public List<com.warehouse.api.beans.Warehouse> listAllWarehousesUnits() {
-    return warehouseRepository.getAll().stream().map(this::toApiWarehouse).toList();
+    return warehouseStore.getAll().stream().map(WarehouseMapper::toApiWarehouse).toList();
   }
 
   @Override
@@ -50,70 +55,78 @@ public class WarehouseResourceImpl implements WarehouseResource {
   @ResponseStatus(201)
   public com.warehouse.api.beans.Warehouse createANewWarehouseUnit(
       @NotNull com.warehouse.api.beans.Warehouse data) {
-    LOGGER.infof("POST /warehouse - Creating warehouse: businessUnitCode=%s", data.getBusinessUnitCode());
+    LOGGER.debugf("POST /warehouse - Creating warehouse: businessUnitCode=%s", data.getBusinessUnitCode());
 
-    try {
-      Warehouse domainWarehouse = toDomainWarehouse(data);
-      createWarehouseOperation.create(domainWarehouse);
-
-      // Reload from store to get the persisted state (e.g., createdAt)
-      Warehouse created = warehouseRepository.findByBusinessUnitCode(domainWarehouse.businessUnitCode);
-      return toApiWarehouse(created);
-    } catch (WarehouseValidationException e) {
-      LOGGER.warnf("Warehouse creation validation failed: %s", e.getMessage());
-      throw new WebApplicationException(e.getMessage(), Response.Status.BAD_REQUEST);
-    }
+    Warehouse domainWarehouse = WarehouseMapper.toDomainWarehouse(data);
+    createWarehouseOperation.create(domainWarehouse);
+
+    // Reload from store to get the persisted state (e.g., createdAt)
+    Warehouse created = warehouseStore.findByBusinessUnitCode(domainWarehouse.businessUnitCode);
+    return WarehouseMapper.toApiWarehouse(created);
   }
 
   @Override
   public com.warehouse.api.beans.Warehouse getAWarehouseUnitByID(String id) {
-    LOGGER.infof("GET /warehouse/%s", id);
+    LOGGER.debugf("GET /warehouse/%s", id);
 
-    Warehouse warehouse = warehouseRepository.findWarehouseById(parseId(id));
+    Warehouse warehouse = warehouseStore.findWarehouseById(parseId(id));
     if (warehouse == null) {
-      throw new NotFoundException("Warehouse with id '" + id + "' not found.");
+      throw new RequestRejectedException("Warehouse with id '" + id + "' not found.", 404);
     }
-    return toApiWarehouse(warehouse);
+    conditionalRequest.served(warehouse.version);
+    return WarehouseMapper.toApiWarehouse(warehouse);
   }
 
   @Override
   @Transactional
   public void archiveAWarehouseUnitByID(String id) {
-    LOGGER.infof("DELETE /warehouse/%s - Archiving warehouse", id);
+    LOGGER.debugf("DELETE /warehouse/%s - Archiving warehouse", id);
 
-    Warehouse warehouse = warehouseRepository.findWarehouseById(parseId(id));
+    Warehouse warehouse = warehouseStore.findWarehouseById(parseId(id));
     if (warehouse == null) {
-      throw new NotFoundException("Warehouse with id '" + id + "' not found.");
+      throw new RequestRejectedException("Warehouse with id '" + id + "' not found.", 404);
     }
 
-    try {
-      archiveWarehouseOperation.archive(warehouse);
-    } catch (WarehouseValidationException e) {
-      LOGGER.warnf("Warehouse archive failed: %s", e.getMessage());
-      throw new WebApplicationException(e.getMessage(), Response.Status.BAD_REQUEST);
-    }
+    archiveWarehouseOperation.archive(warehouse);
   }
 
   @Override
   @Transactional
   public com.warehouse.api.beans.Warehouse replaceTheCurrentActiveWarehouse(
       String businessUnitCode, @NotNull com.warehouse.api.beans.Warehouse data) {
-    LOGGER.infof("POST /warehouse/%s/replacement - Replacing warehouse", businessUnitCode);
+    LOGGER.debugf("POST /warehouse/%s/replacement - Replacing warehouse", businessUnitCode);
+
+    Warehouse newWarehouse = WarehouseMapper.toDomainWarehouse(data);
+    newWarehouse.businessUnitCode = businessUnitCode;
+    replaceWarehouseOperation.replace(newWarehouse);
+
+    Warehouse replaced = warehouseStore.findByBusinessUnitCode(businessUnitCode);
+    return WarehouseMapper.toApiWarehouse(replaced);
+  }
 
+  @Override
+  public List<com.warehouse.api.beans.WarehouseVersion> getTheVersionHistoryOfABusinessUnit(
+      String businessUnitCode, String asOf) {
+    LOGGER.debugf("GET /warehouse/%s/history - asOf=%s", businessUnitCode, asOf);
+
+    List<Warehouse> versions;
+    if (asOf == null) {
+      versions = warehouseStore.findHistoryByBusinessUnitCode(businessUnitCode);
+    } else {
+      Warehouse version = warehouseStore.findByBusinessUnitCodeAsOf(businessUnitCode, parseTimestamp(asOf));
+      versions = version == null ? List.of() : List.of(version);
+    }
+    if (versions.isEmpty()) {
+      throw new RequestRejectedException("No version of warehouse '" + businessUnitCode + "' found.", 404);
+    }
+    return versions.stream().map(WarehouseMapper::toApiVersion).toList();
+  }
+
+  private LocalDateTime parseTimestamp(String timestamp) {
     try {
-      Warehouse newWarehouse = toDomainWarehouse(data);
-      newWarehouse.businessUnitCode = businessUnitCode;
-      replaceWarehouseOperation.replace(newWarehouse);
-
-      Warehouse replaced = warehouseRepository.findByBusinessUnitCode(businessUnitCode);
-      return toApiWarehouse(replaced);
-    } catch (WarehouseValidationException e) {
-      LOGGER.warnf("Warehouse replacement validation failed: %s", e.getMessage());
-      throw new WebApplicationException(
-          e.getMessage(),
-          e.getMessage().contains("not found") || e.getMessage().contains("No active")
-              ? Response.Status.NOT_FOUND
-              : Response.Status.BAD_REQUEST);
+      return LocalDateTime.parse(timestamp);
+    } catch (DateTimeParseException e) {
+      throw new RequestRejectedException("asOf must be a local timestamp such as 2024-03-01T12:00:00, got '" + timestamp + "'.", 400);
     }
   }
 
@@ -121,30 +134,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
     try {
       return Long.parseLong(id);
     } catch (NumberFormatException e) {
-      throw new NotFoundException("Warehouse with id '" + id + "' not found.");
+      throw new RequestRejectedException("Warehouse with id '" + id + "' not found.", 404);
     }
   }
-
-  // ─── Mapping helpers ──────────────────────────────────────────────────────
-
-  private com.warehouse.api.beans.Warehouse toApiWarehouse(Warehouse warehouse) {
-    if (warehouse == null)
-      return null;
-    var response = new com.warehouse.api.beans.Warehouse();
-    response.setId(warehouse.id != null ? warehouse.id.toString() : null);
-    response.setBusinessUnitCode(warehouse.businessUnitCode);
-    response.setLocation(warehouse.location);
-    response.setCapacity(warehouse.capacity);
-    response.setStock(warehouse.stock);
-    return response;
-  }
-
-  private Warehouse toDomainWarehouse(com.warehouse.api.beans.Warehouse apiWarehouse) {
-    var warehouse = new Warehouse();
-    warehouse.businessUnitCode = apiWarehouse.getBusinessUnitCode();
-    warehouse.location = apiWarehouse.getLocation();
-    warehouse.capacity = apiWarehouse.getCapacity();
-    warehouse.stock = apiWarehouse.getStock() != null ? apiWarehouse.getStock() : 0;
-    return warehouse;
-  }
 }
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.warehouses.domain.exceptions;
+
+/**
+ * Stable reason for a {@link WarehouseValidationException}; used as a low-cardinality metric tag
+ * and, unlike the message, safe to branch on.
+ */
+public enum ErrorCode {
+  DUPLICATE_BUSINESS_UNIT_CODE,
+  LOCATION_NOT_FOUND,
+  LOCATION_WAREHOUSE_LIMIT_REACHED,
+  LOCATION_CAPACITY_EXCEEDED,
+  STOCK_EXCEEDS_CAPACITY,
+  WAREHOUSE_NOT_FOUND,
+  CAPACITY_BELOW_EXISTING_STOCK,
+  STOCK_MISMATCH,
+  PRODUCT_NOT_FOUND,
+  STORE_NOT_FOUND,
+  WAREHOUSE_ARCHIVED,
+  WAREHOUSE_PRODUCT_LIMIT_REACHED,
+  STORE_WAREHOUSE_LIMIT_REACHED,
+  PRODUCT_WAREHOUSES_PER_STORE_LIMIT_REACHED,
+  REPLACEMENT_CHANGES_SHARD
+}
@@ -2,15 +2,24 @@ package com.fulfilment.application.monolith.warehouses.domain.exceptions;
 
 /**
  * Thrown when a warehouse operation violates a business rule or constraint.
- * Translates to HTTP 400 Bad Request at the API layer.
+ * The HTTP status is derived from the {@link ErrorCode} at the API layer.
+ *
+ * <p>Rejections are ordinary control flow, so the exception does not capture a stack trace.
  */
 public class WarehouseValidationException extends RuntimeException {
 
-  public WarehouseValidationException(String message) {
-    super(message);
+  private final ErrorCode code;
+
+  public WarehouseValidationException(ErrorCode code, String message) {
+    this(code, message, null);
+  }
+
+  public WarehouseValidationException(ErrorCode code, String message, Throwable cause) {
+    super(message, cause, false, false);
+    this.code = code;
   }
 
-  public WarehouseValidationException(String message, Throwable cause) {
-    super(message, cause);
+  public ErrorCode getCode() {
+    return code;
   }
 }
@@ -18,4 +18,7 @@ public class Warehouse {
   public LocalDateTime createdAt;
 
   public LocalDateTime archivedAt;
+
+  // Changes with every write to the unit, archiving included; null until it is stored.
+  public Long version;
 }
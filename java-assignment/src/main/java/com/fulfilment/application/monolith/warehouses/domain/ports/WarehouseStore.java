@@ -1,22 +1,49 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface WarehouseStore {
 
   List<Warehouse> getAll();
 
+  /**
+   * At most {@code limit} active warehouses, for callers that need a sample rather than all of them.
+   */
+  List<Warehouse> getAll(int limit);
+
   void create(Warehouse warehouse);
 
   void update(Warehouse warehouse);
 
   void remove(Warehouse warehouse);
 
+  /**
+   * Archives {@code current}, whose {@code archivedAt} is set, and creates {@code replacement} as
+   * one unit of work: either both happen or neither does.
+   */
+  void replace(Warehouse current, Warehouse replacement);
+
   Warehouse findByBusinessUnitCode(String buCode);
 
   Warehouse findWarehouseById(Long id);
 
   List<Warehouse> findActiveByLocation(String locationIdentifier);
 
+  /**
+   * Archived versions of a business unit, oldest archive first.
+   */
+  List<Warehouse> findArchivedByBusinessUnitCode(String buCode);
+
+  /**
+   * Every version of a business unit, the active one included, oldest first.
+   */
+  List<Warehouse> findHistoryByBusinessUnitCode(String buCode);
+
+  /**
+   * The version of a business unit that was active at {@code at}, or null if none was.
+   */
+  Warehouse findByBusinessUnitCodeAsOf(String buCode, LocalDateTime at);
+
 }
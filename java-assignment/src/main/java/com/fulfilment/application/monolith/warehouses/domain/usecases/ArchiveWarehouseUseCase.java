@@ -1,9 +1,13 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.deadline.EnforceDeadline;
+import com.fulfilment.application.monolith.metrics.CountValidationFailures;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.time.LocalDateTime;
 import org.jboss.logging.Logger;
@@ -11,10 +15,14 @@ import org.jboss.logging.Logger;
 /**
  * Use case: Archive an existing active Warehouse.
  *
- * <p>Archiving is a soft-delete: the {@code archivedAt} timestamp is set and the warehouse is
- * excluded from all active-warehouse queries going forward. Its history is preserved.
+ * <p>Archiving is a soft-delete: the {@code archivedAt} timestamp is set and the store moves the
+ * warehouse out of the active set, so it is excluded from all active-warehouse queries going
+ * forward. Its history is preserved.
  */
 @ApplicationScoped
+@EnforceDeadline
+@Timed("warehouse.operation")
+@CountValidationFailures
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
   private static final Logger LOGGER = Logger.getLogger(ArchiveWarehouseUseCase.class.getName());
@@ -32,6 +40,7 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
     Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
     if (existing == null) {
       throw new WarehouseValidationException(
+              ErrorCode.WAREHOUSE_NOT_FOUND,
               "No active warehouse found with business unit code '" + warehouse.businessUnitCode + "'.");
     }
 
@@ -1,11 +1,15 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.deadline.EnforceDeadline;
+import com.fulfilment.application.monolith.metrics.CountValidationFailures;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.List;
 import org.jboss.logging.Logger;
@@ -26,6 +30,9 @@ import org.jboss.logging.Logger;
  * </ol>
  */
 @ApplicationScoped
+@EnforceDeadline
+@Timed("warehouse.operation")
+@CountValidationFailures
 public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
   private static final Logger LOGGER = Logger.getLogger(CreateWarehouseUseCase.class.getName());
@@ -48,30 +55,35 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
     if (warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode) != null) {
       throw new WarehouseValidationException(
+          ErrorCode.DUPLICATE_BUSINESS_UNIT_CODE,
           "A warehouse with business unit code '" + warehouse.businessUnitCode + "' already exists.");
     }
 
     Location location = locationResolver.resolveByIdentifier(warehouse.location);
     if (location == null) {
       throw new WarehouseValidationException(
+          ErrorCode.LOCATION_NOT_FOUND,
           "Location '" + warehouse.location + "' does not exist.");
     }
 
     List<Warehouse> activeAtLocation = warehouseStore.findActiveByLocation(warehouse.location);
     if (activeAtLocation.size() >= location.maxNumberOfWarehouses) {
       throw new WarehouseValidationException(
+          ErrorCode.LOCATION_WAREHOUSE_LIMIT_REACHED,
           "Location '" + warehouse.location + "' has reached the maximum number of warehouses ("
               + location.maxNumberOfWarehouses + ").");
     }
 
     if (warehouse.capacity > location.maxCapacity) {
       throw new WarehouseValidationException(
+          ErrorCode.LOCATION_CAPACITY_EXCEEDED,
           "Requested capacity " + warehouse.capacity + " exceeds the maximum allowed capacity "
               + location.maxCapacity + " for location '" + warehouse.location + "'.");
     }
 
     if (warehouse.stock != null && warehouse.capacity != null && warehouse.stock > warehouse.capacity) {
       throw new WarehouseValidationException(
+          ErrorCode.STOCK_EXCEEDS_CAPACITY,
           "Stock " + warehouse.stock + " exceeds warehouse capacity " + warehouse.capacity + ".");
     }
 
@@ -1,11 +1,15 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.deadline.EnforceDeadline;
+import com.fulfilment.application.monolith.metrics.CountValidationFailures;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.time.LocalDateTime;
 import org.jboss.logging.Logger;
@@ -31,6 +35,9 @@ import org.jboss.logging.Logger;
  * </ol>
  */
 @ApplicationScoped
+@EnforceDeadline
+@Timed("warehouse.operation")
+@CountValidationFailures
 public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
   private static final Logger LOGGER = Logger.getLogger(ReplaceWarehouseUseCase.class.getName());
@@ -53,6 +60,7 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     Warehouse existing = warehouseStore.findByBusinessUnitCode(newWarehouse.businessUnitCode);
     if (existing == null) {
       throw new WarehouseValidationException(
+          ErrorCode.WAREHOUSE_NOT_FOUND,
           "No active warehouse found with business unit code '"
               + newWarehouse.businessUnitCode
               + "'.");
@@ -61,35 +69,35 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
     if (location == null) {
       throw new WarehouseValidationException(
+          ErrorCode.LOCATION_NOT_FOUND,
           "Location '" + newWarehouse.location + "' does not exist.");
     }
 
     if (newWarehouse.capacity > location.maxCapacity) {
       throw new WarehouseValidationException(
+          ErrorCode.LOCATION_CAPACITY_EXCEEDED,
           "Requested capacity " + newWarehouse.capacity + " exceeds the maximum allowed capacity "
               + location.maxCapacity + " for location '" + newWarehouse.location + "'.");
     }
 
     if (existing.stock != null && newWarehouse.capacity < existing.stock) {
       throw new WarehouseValidationException(
+          ErrorCode.CAPACITY_BELOW_EXISTING_STOCK,
           "New warehouse capacity " + newWarehouse.capacity
               + " cannot accommodate the existing stock of " + existing.stock + ".");
     }
 
     if (newWarehouse.stock != null && !newWarehouse.stock.equals(existing.stock)) {
       throw new WarehouseValidationException(
+          ErrorCode.STOCK_MISMATCH,
           "New warehouse stock " + newWarehouse.stock
               + " must match the current stock of the warehouse being replaced: " + existing.stock + ".");
     }
 
-    // Archive the old warehouse
+    // Archive the old warehouse and create the new one, reusing the business unit code
     existing.archivedAt = LocalDateTime.now();
-    warehouseStore.update(existing);
-    LOGGER.infof("Archived warehouse '%s'.", existing.businessUnitCode);
-
-    // Create the new warehouse (reusing the business unit code)
     newWarehouse.businessUnitCode = existing.businessUnitCode;
-    warehouseStore.create(newWarehouse);
-    LOGGER.infof("New warehouse '%s' created successfully.", newWarehouse.businessUnitCode);
+    warehouseStore.replace(existing, newWarehouse);
+    LOGGER.infof("Warehouse '%s' archived and replaced successfully.", newWarehouse.businessUnitCode);
   }
 }
@@ -0,0 +1,157 @@
+package com.fulfilment.application.monolith.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs the hot read paths before the node reports ready, so the first real requests hit compiled
+ * code instead of the interpreter.
+ *
+ * <p>Each iteration maps and serialises a working set of at most {@code sampleSize} active
+ * warehouses as the REST layer would, and resolves the location of one of them. The first
+ * {@code queries} iterations also reload the working set with a bounded query and look one of its
+ * warehouses up by business unit code; later iterations reuse it and do not touch the database. So
+ * the database sees at most two round trips per shard per query iteration, however many iterations
+ * are configured. The default of 5000 iterations matches HotSpot's C2 invocation threshold for the
+ * mapper and serializer; the store calls reach C1 and finish compiling under real traffic.
+ * {@code maxDuration} bounds the warmup on slow or overloaded nodes. All calls are read-only.
+ *
+ * <p>A failing iteration ends the warmup early but still marks it complete: readiness must not
+ * hang on warmup, and the datasource has its own readiness check.
+ */
+@ApplicationScoped
+public class JitWarmup {
+
+  private static final Logger LOGGER = Logger.getLogger(JitWarmup.class.getName());
+
+  private final WarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int iterations;
+  private final int queries;
+  private final int sampleSize;
+  private final Duration maxDuration;
+
+  private List<Warehouse> sample = List.of();
+  private volatile boolean complete;
+  private volatile int completedIterations;
+  private volatile int completedQueries;
+  private volatile long durationMillis;
+
+  public JitWarmup(
+      WarehouseStore warehouseStore,
+      LocationResolver locationResolver,
+      ObjectMapper objectMapper,
+      MeterRegistry registry,
+      @ConfigProperty(name = "warmup.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "warmup.iterations", defaultValue = "5000") int iterations,
+      @ConfigProperty(name = "warmup.queries", defaultValue = "200") int queries,
+      @ConfigProperty(name = "warmup.sample-size", defaultValue = "100") int sampleSize,
+      @ConfigProperty(name = "warmup.max-duration", defaultValue = "60s") Duration maxDuration) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.iterations = iterations;
+    this.queries = queries;
+    this.sampleSize = sampleSize;
+    this.maxDuration = maxDuration;
+
+    TimeGauge.builder("warmup.duration", this, TimeUnit.MILLISECONDS, w -> w.durationMillis)
+        .description("Time spent in the startup warmup before reporting ready")
+        .register(registry);
+    Gauge.builder("warmup.iterations", this, w -> w.completedIterations)
+        .description("Warmup iterations completed")
+        .register(registry);
+    Gauge.builder("warmup.queries", this, w -> w.completedQueries)
+        .description("Warmup iterations that read from the database")
+        .register(registry);
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled || iterations <= 0) {
+      complete = true;
+      return;
+    }
+    Thread thread = new Thread(this::run, "jit-warmup");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  void run() {
+    long start = System.nanoTime();
+    long deadline = start + maxDuration.toNanos();
+    try {
+      for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+        if (i < queries) {
+          query(i);
+          completedQueries = i + 1;
+        }
+        iterate(i);
+        completedIterations = i + 1;
+      }
+    } catch (RuntimeException | JsonProcessingException e) {
+      LOGGER.warnf(e, "Warmup stopped after %d iterations", completedIterations);
+    } finally {
+      durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      complete = true;
+      LOGGER.infof("Warmup finished [iterations=%d, queries=%d, duration=%dms]",
+          completedIterations, completedQueries, durationMillis);
+    }
+  }
+
+  // Panache needs an active request context for its session; nothing is written, so no transaction.
+  private void query(int i) {
+    ManagedContext requestContext = Arc.container().requestContext();
+    requestContext.activate();
+    try {
+      sample = warehouseStore.getAll(sampleSize);
+      if (!sample.isEmpty()) {
+        warehouseStore.findByBusinessUnitCode(sample.get(i % sample.size()).businessUnitCode);
+      }
+    } finally {
+      requestContext.terminate();
+    }
+  }
+
+  private void iterate(int i) throws JsonProcessingException {
+    if (!sample.isEmpty()) {
+      locationResolver.resolveByIdentifier(sample.get(i % sample.size()).location);
+    }
+    objectMapper.writeValueAsBytes(sample.stream().map(WarehouseMapper::toApiWarehouse).toList());
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public int completedIterations() {
+    return completedIterations;
+  }
+
+  public int completedQueries() {
+    return completedQueries;
+  }
+
+  public long durationMillis() {
+    return durationMillis;
+  }
+}
@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.warmup;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Keeps the node out of the load balancer until {@link JitWarmup} has finished.
+ */
+@Readiness
+@ApplicationScoped
+public class WarmupReadinessCheck implements HealthCheck {
+
+  private final JitWarmup warmup;
+
+  public WarmupReadinessCheck(JitWarmup warmup) {
+    this.warmup = warmup;
+  }
+
+  @Override
+  public HealthCheckResponse call() {
+    return HealthCheckResponse.named("jit-warmup")
+        .status(warmup.isComplete())
+        .withData("iterations", warmup.completedIterations())
+        .withData("durationMs", warmup.durationMillis())
+        .build();
+  }
+}
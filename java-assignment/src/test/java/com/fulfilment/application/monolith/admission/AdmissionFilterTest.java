@@ -0,0 +1,184 @@
+package com.fulfilment.application.monolith.admission;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Fills the limits with requests blocked on a lock held on {@code store} from a separate
+ * connection, then checks what happens to the next ones. The worker pool is as large as the read
+ * limit, so a full read limit can also mean no worker thread is free.
+ */
+@QuarkusTest
+@TestProfile(AdmissionFilterTest.SmallLimits.class)
+@DisplayName("Admission Filter Tests")
+class AdmissionFilterTest {
+
+  public static class SmallLimits implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "admission.min-limit", "1",
+          "admission.reads.limit", "5",
+          "admission.reads.max-limit", "5",
+          "admission.writes.limit", "1",
+          "admission.writes.max-limit", "1",
+          "quarkus.thread-pool.max-threads", "5",
+          "warmup.enabled", "false");
+    }
+  }
+
+  @Inject
+  AdmissionControl control;
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  @DisplayName("Writes beyond the limit are shed with 503 while reads go on")
+  void testExcessWriteShed() throws SQLException {
+    double before = rejected("write", "false");
+
+    try (Connection connection = lockStores()) {
+      List<CompletableFuture<Integer>> blocked = List.of(CompletableFuture.supplyAsync(() -> given()
+          .header("X-Request-Timeout", "5s").contentType(ContentType.JSON)
+          .body("{\"name\": \"ADMISSION\", \"quantityProductsInStock\": 1}")
+          .when().put("store/1").statusCode()));
+      awaitInflight(() -> control.limiter(false).inflight(), 1);
+
+      given().contentType(ContentType.JSON)
+          .body("{\"name\": \"ADMISSION\", \"quantityProductsInStock\": 2}")
+          .when().put("store/2")
+          .then().statusCode(503).header("Retry-After", AdmissionFilter.RETRY_AFTER_SECONDS);
+      given().when().get("warehouse/1").then().statusCode(200);
+
+      connection.rollback();
+      blocked.forEach(CompletableFuture::join);
+    }
+
+    assertEquals(before + 1, rejected("write", "false"));
+    assertEquals(0, control.limiter(false).inflight());
+  }
+
+  @Test
+  @DisplayName("Priority reads use the reserve other reads are kept out of")
+  void testPriorityReadsUseReserve() throws SQLException {
+    double before = rejected("read", "false");
+
+    try (Connection connection = lockStores()) {
+      List<CompletableFuture<Integer>> blocked = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        blocked.add(CompletableFuture.supplyAsync(() -> given()
+            .header("X-Request-Timeout", "5s")
+            .when().get("store").statusCode()));
+      }
+      awaitInflight(() -> control.limiter(true).inflight(), 4);
+
+      given().when().get("warehouse").then().statusCode(503);
+      given().when().get("warehouse/1").then().statusCode(200);
+
+      connection.rollback();
+      blocked.forEach(CompletableFuture::join);
+    }
+
+    assertEquals(before + 1, rejected("read", "false"));
+    assertEquals(0, control.limiter(true).inflight());
+  }
+
+  @Test
+  @DisplayName("Requests are shed while every worker thread is taken")
+  void testShedWithoutWorkerThread() throws Exception {
+    double before = rejected("read", "false");
+
+    try (Connection connection = lockStores()) {
+      List<CompletableFuture<Integer>> blocked = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        blocked.add(CompletableFuture.supplyAsync(() -> given()
+            .header("X-Request-Timeout", "5s")
+            .when().get("store").statusCode()));
+      }
+      // A priority read takes the last place; one of a store that does not exist misses the cache.
+      blocked.add(CompletableFuture.supplyAsync(() -> given()
+          .header("X-Request-Timeout", "5s")
+          .when().get("store/999999").statusCode()));
+      awaitInflight(this::waitingOnLock, 5);
+
+      CompletableFuture<Integer> shed = CompletableFuture.supplyAsync(() -> given()
+          .when().get("warehouse").statusCode());
+      assertEquals(503, shed.get(2, TimeUnit.SECONDS));
+
+      connection.rollback();
+      blocked.forEach(CompletableFuture::join);
+    }
+
+    assertEquals(before + 1, rejected("read", "false"));
+    assertEquals(0, control.limiter(true).inflight());
+  }
+
+  /** Sessions blocked on the {@code store} lock, each holding a worker thread. */
+  private int waitingOnLock() {
+    try (Connection connection = dataSource.getConnection()) {
+      // The pool may hand back a connection lockStores() left in manual commit mode, and
+      // pg_stat_activity does not change within a transaction.
+      connection.setAutoCommit(true);
+      try (Statement statement = connection.createStatement();
+          ResultSet rows = statement.executeQuery(
+              "SELECT count(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'")) {
+        rows.next();
+        return rows.getInt(1);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Connection lockStores() throws SQLException {
+    Connection connection = dataSource.getConnection();
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("LOCK TABLE store IN ACCESS EXCLUSIVE MODE");
+    }
+    return connection;
+  }
+
+  private static void awaitInflight(IntSupplier inflight, int expected) {
+    for (int i = 0; i < 100 && inflight.getAsInt() < expected; i++) {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    assertEquals(expected, inflight.getAsInt());
+  }
+
+  private double rejected(String requestClass, String priority) {
+    Counter counter = registry.find(AdmissionControl.REJECTED_METRIC)
+        .tag("class", requestClass).tag("priority", priority).counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
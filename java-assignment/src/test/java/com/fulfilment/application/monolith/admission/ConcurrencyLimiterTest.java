@@ -0,0 +1,136 @@
+package com.fulfilment.application.monolith.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ConcurrencyLimiter Tests")
+class ConcurrencyLimiterTest {
+
+  private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final int CAPACITY = 8;
+
+  @Test
+  @DisplayName("under sustained overload the limit settles near capacity and latency stays bounded")
+  void overload_limitConvergesAndLatencyIsBounded() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 2, 200, 2.0, 0.2);
+    Server server = new Server(limiter);
+
+    // 2s at 200 req/s, well within capacity, then 5s at 5000 req/s, six times what it can serve.
+    server.run(2_000, 5, 1);
+    server.worstRtt = 0;
+    server.rejected = 0;
+    server.run(5_000, 1, 5);
+
+    assertTrue(server.rejected > 0);
+    assertTrue(limiter.limit() >= CAPACITY && limiter.limit() <= 4 * CAPACITY, "limit " + limiter.limit());
+    assertTrue(server.worstRtt <= 3 * BASE_RTT, "worst rtt " + server.worstRtt);
+  }
+
+  @Test
+  @DisplayName("the limit grows while latency holds and the traffic uses it")
+  void steadyLatency_limitGrows() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 2, 200, 2.0, 0.2);
+
+    for (int i = 0; i < 50; i++) {
+      limiter.release(BASE_RTT, 10, false);
+    }
+
+    assertTrue(limiter.limit() > 10, "limit " + limiter.limit());
+  }
+
+  @Test
+  @DisplayName("the limit does not grow while most of it is unused")
+  void appLimited_limitHolds() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 2, 200, 2.0, 0.2);
+
+    for (int i = 0; i < 50; i++) {
+      limiter.release(BASE_RTT, 2, false);
+    }
+
+    assertEquals(10, limiter.limit());
+  }
+
+  @Test
+  @DisplayName("a window with a request failed by overload cuts the limit, down to the minimum")
+  void drops_backOffToMinimum() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 2, 200, 2.0, 0.2);
+
+    limiter.release(BASE_RTT, 10, true);
+    for (int i = 1; i < 10; i++) {
+      limiter.release(BASE_RTT, 10, false);
+    }
+    assertEquals(9, limiter.limit());
+
+    for (int i = 0; i < 100; i++) {
+      limiter.release(BASE_RTT, 10, true);
+    }
+    assertEquals(2, limiter.limit());
+  }
+
+  @Test
+  @DisplayName("priority requests may use the reserve the others are kept out of")
+  void priority_usesReserve() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 2, 200, 2.0, 0.2);
+
+    for (int i = 0; i < 8; i++) {
+      assertTrue(limiter.tryAcquire(false) > 0);
+    }
+    assertEquals(0, limiter.tryAcquire(false));
+    assertEquals(9, limiter.tryAcquire(true));
+    assertEquals(10, limiter.tryAcquire(true));
+    assertEquals(0, limiter.tryAcquire(true));
+  }
+
+  @Test
+  @DisplayName("inconsistent bounds are rejected")
+  void constructor_rejectsInvalidBounds() {
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(1, 2, 200, 2.0, 0.2));
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(10, 2, 5, 2.0, 0.2));
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(10, 2, 200, 0.5, 0.2));
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(10, 2, 200, 2.0, 1.0));
+  }
+
+  /**
+   * Time-stepped model of a server that runs {@link #CAPACITY} requests at once; each request
+   * takes {@link #BASE_RTT}, stretched in proportion to the requests in flight beyond that.
+   */
+  private static final class Server {
+
+    private final ConcurrencyLimiter limiter;
+    private final PriorityQueue<long[]> running = new PriorityQueue<>(Comparator.comparingLong(r -> r[0]));
+    private long now;
+    long worstRtt;
+    int rejected;
+
+    Server(ConcurrencyLimiter limiter) {
+      this.limiter = limiter;
+    }
+
+    void run(int millis, int millisPerArrival, int arrivalsPerMilli) {
+      for (int tick = 0; tick < millis; tick++, now += TimeUnit.MILLISECONDS.toNanos(1)) {
+        while (!running.isEmpty() && running.peek()[0] <= now) {
+          long[] done = running.poll();
+          limiter.release(done[1], (int) done[2], false);
+        }
+        if (tick % millisPerArrival != 0) {
+          continue;
+        }
+        for (int i = 0; i < arrivalsPerMilli; i++) {
+          int inflight = limiter.tryAcquire(false);
+          if (inflight == 0) {
+            rejected++;
+            continue;
+          }
+          long rtt = BASE_RTT * Math.max(CAPACITY, inflight) / CAPACITY;
+          worstRtt = Math.max(worstRtt, rtt);
+          running.add(new long[] {now + rtt, rtt, inflight});
+        }
+      }
+    }
+  }
+}
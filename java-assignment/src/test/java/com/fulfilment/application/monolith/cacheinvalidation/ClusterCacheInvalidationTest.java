@@ -0,0 +1,154 @@
+package com.fulfilment.application.monolith.cacheinvalidation;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.stores.Store;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Plays the other node of the cluster over plain JDBC: listens for what this node publishes and
+ * sends invalidations with a foreign node id.
+ */
+@QuarkusTest
+@DisplayName("Cluster Cache Invalidation Tests")
+class ClusterCacheInvalidationTest {
+
+  @Inject
+  ClusterCacheInvalidation invalidation;
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Test
+  @DisplayName("Committed updates notify the other nodes")
+  void testUpdatePublishesAfterCommit() throws SQLException {
+    long id = createStore("CACHE-PUBLISH");
+
+    try (Connection connection = dataSource.getConnection()) {
+      execute(connection, "LISTEN l2_invalidation");
+      try {
+        given().contentType(ContentType.JSON)
+            .body("{\"name\": \"CACHE-PUBLISH\", \"quantityProductsInStock\": 9}")
+            .when().put("store/" + id).then().statusCode(200);
+
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 10 && payloads.isEmpty(); i++) {
+          PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(200);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              payloads.add(notification.getParameter());
+            }
+          }
+        }
+        assertTrue(payloads.stream().anyMatch(p ->
+                p.startsWith(invalidation.nodeId() + "|" + Store.class.getName() + "|" + id + "|")),
+            "Notifications received: " + payloads);
+      } finally {
+        execute(connection, "UNLISTEN *");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Invalidations from another node evict the cached entity until it is loaded again")
+  void testRemoteInvalidationEvicts() throws SQLException, InterruptedException {
+    long id = createStore("CACHE-REMOTE");
+    load(id);
+    assertTrue(cached(id));
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT pg_notify('l2_invalidation', ?)")) {
+      statement.setString(1, "other-node|" + Store.class.getName() + "|" + id + "|" + System.currentTimeMillis());
+      statement.execute();
+    }
+    for (int i = 0; i < 50 && cached(id); i++) {
+      Thread.sleep(100);
+    }
+    assertFalse(cached(id));
+
+    load(id);
+    assertTrue(cached(id));
+  }
+
+  @Test
+  @DisplayName("A load that missed the cache before an invalidation cannot put its result")
+  void testLateLoadCannotResurrect() {
+    long id = createStore("CACHE-LATE");
+    evict(id);
+
+    // Drives the cache the way a load does: miss, read the row, put. The row read here stands in
+    // for one taken before another node's committed update.
+    QuarkusTransaction.requiringNew().run(() -> {
+      SharedSessionContractImplementor session = Store.getEntityManager().unwrap(SharedSessionContractImplementor.class);
+      EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Store.class);
+      EntityDataAccess access = persister.getCacheAccessStrategy();
+      Object key = access.generateCacheKey(id, persister, session.getFactory(), null);
+
+      assertNull(access.get(session, key));
+      invalidation.receive("other-node|" + Store.class.getName() + "|" + id + "|" + System.currentTimeMillis());
+      assertFalse(access.putFromLoad(session, key, "stale", null));
+    });
+    assertFalse(cached(id));
+
+    load(id);
+    assertTrue(cached(id));
+  }
+
+  @Test
+  @DisplayName("Invalidations sent by this node are ignored")
+  void testOwnInvalidationsIgnored() {
+    long id = createStore("CACHE-OWN");
+    load(id);
+
+    invalidation.receive(invalidation.nodeId() + "|" + Store.class.getName() + "|" + id + "|" + System.currentTimeMillis());
+
+    assertTrue(cached(id));
+  }
+
+  private static long createStore(String name) {
+    return given().contentType(ContentType.JSON)
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+        .when().post("store").then().statusCode(201)
+        .extract().jsonPath().getLong("id");
+  }
+
+  private static void load(long id) {
+    QuarkusTransaction.requiringNew().run(() -> Store.findById(id));
+  }
+
+  private void evict(long id) {
+    sessionFactory.getCache().evictEntityData(Store.class, id);
+  }
+
+  private boolean cached(long id) {
+    return sessionFactory.getCache().containsEntity(Store.class, id);
+  }
+
+  private static void execute(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.cacheinvalidation.ClusterCacheInvalidation;
+import com.fulfilment.application.monolith.stores.Store;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Holds the first lookup of a store on a lock taken on {@code store} from a separate connection,
+ * so the requests that follow it are known to overlap.
+ */
+@QuarkusTest
+@DisplayName("Read Coalescing Tests")
+class ReadCoalescingTest {
+
+  @Inject
+  ReadCoalescer coalescer;
+
+  @Inject
+  ClusterCacheInvalidation invalidation;
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  @DisplayName("Concurrent reads of one store share the first one's lookup and response")
+  void testConcurrentReadsShareOneLookup() throws SQLException {
+    long id = createStore("COALESCE-SHARED");
+    ReadCoalescer.Key key = new ReadCoalescer.Key(Store.class.getName(), id);
+    double leaders = count("leader");
+    double followers = count("follower");
+
+    List<CompletableFuture<ExtractableResponse<Response>>> reads = new ArrayList<>();
+    try (Connection connection = lockStores()) {
+      reads.add(get(id));
+      awaitFlight(key, false);
+      for (int i = 0; i < 4; i++) {
+        reads.add(get(id));
+      }
+      awaitFollowers(key, 4);
+      connection.rollback();
+    }
+
+    String first = reads.get(0).join().asString();
+    String tag = reads.get(0).join().header(HttpHeaders.ETAG);
+    assertTrue(first.contains("\"COALESCE-SHARED\""), first);
+    assertNotNull(tag);
+    for (CompletableFuture<ExtractableResponse<Response>> read : reads) {
+      ExtractableResponse<Response> response = read.join();
+      assertEquals(200, response.statusCode());
+      assertEquals(first, response.asString());
+      assertEquals(tag, response.header(HttpHeaders.ETAG));
+    }
+    assertEquals(leaders + 1, count("leader"));
+    assertEquals(followers + 4, count("follower"));
+    assertNull(coalescer.inFlight(key, false));
+  }
+
+  @Test
+  @DisplayName("A read pinned to the primary by a recent write never joins a replica-eligible lookup")
+  void testRecentWriterDoesNotShareReplicaRead() throws SQLException {
+    long id = createStore("COALESCE-PINNED");
+    ReadCoalescer.Key key = new ReadCoalescer.Key(Store.class.getName(), id);
+    double leaders = count("leader");
+    double followers = count("follower");
+    String until = Long.toString(System.currentTimeMillis() + 60_000);
+
+    CompletableFuture<ExtractableResponse<Response>> replicaRead;
+    CompletableFuture<ExtractableResponse<Response>> pinnedRead;
+    try (Connection connection = lockStores()) {
+      replicaRead = get(id);
+      awaitFlight(key, false);
+      pinnedRead = CompletableFuture.supplyAsync(() -> given().cookie("read-primary-until", until)
+          .when().get("store/" + id).then().extract());
+      awaitFlight(key, true);
+      assertEquals(0, coalescer.inFlight(key, false).response().getNumberOfDependents());
+      connection.rollback();
+    }
+
+    assertEquals(200, replicaRead.join().statusCode());
+    assertEquals(200, pinnedRead.join().statusCode());
+    assertEquals(leaders + 2, count("leader"));
+    assertEquals(followers, count("follower"));
+  }
+
+  @Test
+  @DisplayName("Failed lookups are not shared; each waiting request runs its own")
+  void testMissNotShared() throws SQLException {
+    List<CompletableFuture<Integer>> reads = new ArrayList<>();
+    ReadCoalescer.Key key = new ReadCoalescer.Key(Store.class.getName(), 987_654_321L);
+    double followers = count("follower");
+
+    try (Connection connection = lockStores()) {
+      reads.add(CompletableFuture.supplyAsync(() -> given().when().get("store/987654321").statusCode()));
+      awaitFlight(key, false);
+      reads.add(CompletableFuture.supplyAsync(() -> given().when().get("store/987654321").statusCode()));
+      awaitFollowers(key, 1);
+      connection.rollback();
+    }
+
+    reads.forEach(read -> assertEquals(404, read.join()));
+    assertEquals(followers, count("follower"));
+  }
+
+  @Test
+  @DisplayName("A committed write detaches the lookup in progress for that entity")
+  void testCommittedWriteDetachesFlight() {
+    long id = createStore("COALESCE-WRITE");
+    ReadCoalescer.Key key = new ReadCoalescer.Key(Store.class.getName(), id);
+    ReadCoalescer.Flight flight = coalescer.join(key, false).flight();
+    ReadCoalescer.Flight pinned = coalescer.join(key, true).flight();
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      invalidation.publish(Store.getEntityManager(), Store.class, id);
+      assertSame(flight, coalescer.inFlight(key, false));
+    });
+    assertNull(coalescer.inFlight(key, false));
+    assertNull(coalescer.inFlight(key, true));
+    coalescer.land(pinned, null);
+
+    ReadCoalescer.Flight next = coalescer.join(key, false).flight();
+    assertNotSame(flight, next);
+    coalescer.land(next, null);
+    coalescer.land(flight, null);
+  }
+
+  @Test
+  @DisplayName("A write reported by another node detaches the lookup in progress")
+  void testRemoteWriteDetachesFlight() throws SQLException {
+    long id = createStore("COALESCE-REMOTE");
+    ReadCoalescer.Key key = new ReadCoalescer.Key(Store.class.getName(), id);
+    ReadCoalescer.Flight flight = coalescer.join(key, false).flight();
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT pg_notify('l2_invalidation', ?)")) {
+      statement.setString(1, "other-node|" + Store.class.getName() + "|" + id + "|" + System.currentTimeMillis());
+      statement.execute();
+    }
+    for (int i = 0; i < 50 && coalescer.inFlight(key, false) != null; i++) {
+      sleep();
+    }
+
+    assertNull(coalescer.inFlight(key, false));
+    coalescer.land(flight, null);
+  }
+
+  private CompletableFuture<ExtractableResponse<Response>> get(long id) {
+    return CompletableFuture.supplyAsync(() -> given().when().get("store/" + id).then().extract());
+  }
+
+  private Connection lockStores() throws SQLException {
+    sessionFactory.getCache().evictEntityData(Store.class);
+    Connection connection = dataSource.getConnection();
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("LOCK TABLE store IN ACCESS EXCLUSIVE MODE");
+    }
+    return connection;
+  }
+
+  private void awaitFlight(ReadCoalescer.Key key, boolean primary) {
+    for (int i = 0; i < 100 && coalescer.inFlight(key, primary) == null; i++) {
+      sleep();
+    }
+    assertNotNull(coalescer.inFlight(key, primary));
+  }
+
+  private void awaitFollowers(ReadCoalescer.Key key, int expected) {
+    ReadCoalescer.Flight flight = coalescer.inFlight(key, false);
+    for (int i = 0; i < 100 && flight.response().getNumberOfDependents() < expected; i++) {
+      sleep();
+    }
+    assertEquals(expected, flight.response().getNumberOfDependents());
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static long createStore(String name) {
+    return given().contentType(ContentType.JSON)
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+        .when().post("store").then().statusCode(201)
+        .extract().jsonPath().getLong("id");
+  }
+
+  private double count(String role) {
+    Counter counter = registry.find(ReadCoalescer.METRIC).tag("role", role).counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
@@ -0,0 +1,199 @@
+package com.fulfilment.application.monolith.conditional;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer;
+import com.fulfilment.application.monolith.sqlaccounting.SqlBudgetCallback;
+import com.fulfilment.application.monolith.sqlaccounting.SqlUsage;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("Conditional Request Tests")
+class ConditionalRequestTest {
+
+  @Inject
+  EntityVersions versions;
+
+  @Inject
+  WarehouseRepository warehouseRepository;
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  @DisplayName("A GET naming the version last served is answered 304 without loading the store")
+  void testNotModifiedFromRememberedVersion() {
+    long id = createStore("CONDITIONAL-CACHED");
+    String tag = given().when().get("store/" + id).then().statusCode(200).extract().header(HttpHeaders.ETAG);
+    assertNotNull(tag);
+    sessionFactory.getCache().evictEntityData(Store.class);
+    double cached = count("cached");
+
+    ExtractableResponse<Response> response = given().header(HttpHeaders.IF_NONE_MATCH, tag)
+        .when().get("store/" + id).then().extract();
+
+    assertEquals(304, response.statusCode());
+    assertEquals(tag, response.header(HttpHeaders.ETAG));
+    assertEquals("", response.asString());
+    assertEquals(cached + 1, count("cached"));
+    List<SqlUsage> usages = SqlBudgetCallback.usages();
+    assertEquals(0, usages.get(usages.size() - 1).statements());
+  }
+
+  @Test
+  @DisplayName("A write changes the tag, and a GET naming the old one gets the full response")
+  void testWriteChangesTag() {
+    long id = createStore("CONDITIONAL-WRITE");
+    String before = given().when().get("store/" + id).then().extract().header(HttpHeaders.ETAG);
+    double modified = count("modified");
+
+    given().contentType(ContentType.JSON)
+        .body("{\"name\": \"CONDITIONAL-WRITE\", \"quantityProductsInStock\": 7}")
+        .when().put("store/" + id).then().statusCode(200);
+    ExtractableResponse<Response> response = given().header(HttpHeaders.IF_NONE_MATCH, before)
+        .when().get("store/" + id).then().extract();
+
+    assertEquals(200, response.statusCode());
+    assertNotEquals(before, response.header(HttpHeaders.ETAG));
+    assertEquals(7, response.jsonPath().getInt("quantityProductsInStock"));
+    assertEquals(modified + 1, count("modified"));
+  }
+
+  @Test
+  @DisplayName("A stock delta applied in bulk also changes the tag")
+  void testStockDeltaChangesTag() {
+    long id = createStore("CONDITIONAL-DELTA");
+    String before = given().when().get("store/" + id).then().extract().header(HttpHeaders.ETAG);
+
+    given().contentType(ContentType.JSON).body("{\"delta\": 3}")
+        .when().post("store/" + id + "/stock-delta").then().statusCode(200);
+
+    given().header(HttpHeaders.IF_NONE_MATCH, before)
+        .when().get("store/" + id).then().statusCode(200);
+  }
+
+  @Test
+  @DisplayName("PUT and PATCH with an If-Match naming an older version are refused with 412")
+  void testIfMatchOnStoreWrites() {
+    long id = createStore("CONDITIONAL-MATCH");
+    String tag = given().when().get("store/" + id).then().extract().header(HttpHeaders.ETAG);
+    double failed = count("precondition-failed");
+
+    given().header(HttpHeaders.IF_MATCH, "\"999\"").contentType(ContentType.JSON)
+        .body("{\"name\": \"CONDITIONAL-MATCH\", \"quantityProductsInStock\": 2}")
+        .when().put("store/" + id).then().statusCode(412);
+    given().header(HttpHeaders.IF_MATCH, tag).contentType(ContentType.JSON)
+        .body("{\"name\": \"CONDITIONAL-MATCH\", \"quantityProductsInStock\": 3}")
+        .when().put("store/" + id).then().statusCode(200);
+    given().header(HttpHeaders.IF_MATCH, tag).contentType(ContentType.JSON)
+        .body("{\"name\": \"CONDITIONAL-MATCH\", \"quantityProductsInStock\": 4}")
+        .when().patch("store/" + id).then().statusCode(412);
+
+    assertEquals(3, given().when().get("store/" + id).then().extract().jsonPath().getInt("quantityProductsInStock"));
+    assertEquals(failed + 2, count("precondition-failed"));
+  }
+
+  @Test
+  @DisplayName("A product PUT matches If-Match strongly, so a weak tag never matches")
+  void testIfMatchOnProductIsStrong() {
+    long id = given().contentType(ContentType.JSON)
+        .body("{\"name\": \"CONDITIONAL-PRODUCT\", \"stock\": 1}")
+        .when().post("product").then().statusCode(201).extract().jsonPath().getLong("id");
+    String tag = given().when().get("product/" + id).then().statusCode(200).extract().header(HttpHeaders.ETAG);
+    String body = "{\"name\": \"CONDITIONAL-PRODUCT\", \"stock\": 2}";
+
+    given().header(HttpHeaders.IF_MATCH, "W/" + tag).contentType(ContentType.JSON).body(body)
+        .when().put("product/" + id).then().statusCode(412);
+    given().header(HttpHeaders.IF_MATCH, tag).contentType(ContentType.JSON).body(body)
+        .when().put("product/" + id).then().statusCode(200);
+    given().header(HttpHeaders.IF_NONE_MATCH, "W/" + tag)
+        .when().get("product/" + id).then().statusCode(200);
+  }
+
+  @Test
+  @DisplayName("Archiving a warehouse changes its tag")
+  void testArchivingChangesWarehouseTag() {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = "CND.001";
+    warehouse.location = "CONDITIONAL-001";
+    warehouse.capacity = 10;
+    warehouse.stock = 1;
+    warehouseRepository.create(warehouse);
+    Warehouse created = warehouseRepository.findByBusinessUnitCode("CND.001");
+    String active = given().when().get("warehouse/" + created.id).then().statusCode(200)
+        .extract().header(HttpHeaders.ETAG);
+    given().header(HttpHeaders.IF_NONE_MATCH, active)
+        .when().get("warehouse/" + created.id).then().statusCode(304);
+
+    created.archivedAt = LocalDateTime.now();
+    warehouseRepository.update(created);
+    ExtractableResponse<Response> archived = given().header(HttpHeaders.IF_NONE_MATCH, active)
+        .when().get("warehouse/" + created.id).then().extract();
+
+    assertEquals(200, archived.statusCode());
+    assertNotEquals(active, archived.header(HttpHeaders.ETAG));
+    assertEquals("CND.001", archived.jsonPath().getString("businessUnitCode"));
+  }
+
+  @Test
+  @DisplayName("A write reported by another node forgets the remembered version")
+  void testRemoteWriteForgetsVersion() throws SQLException {
+    long id = createStore("CONDITIONAL-REMOTE");
+    given().when().get("store/" + id).then().statusCode(200);
+    ReadCoalescer.Key key = new ReadCoalescer.Key(Store.class.getName(), id);
+    assertNotNull(versions.known(key));
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT pg_notify('l2_invalidation', ?)")) {
+      statement.setString(1, "other-node|" + Store.class.getName() + "|" + id + "|" + System.currentTimeMillis());
+      statement.execute();
+    }
+    for (int i = 0; i < 50 && versions.known(key) != null; i++) {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    assertNull(versions.known(key));
+  }
+
+  private static long createStore(String name) {
+    return given().contentType(ContentType.JSON)
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+        .when().post("store").then().statusCode(201)
+        .extract().jsonPath().getLong("id");
+  }
+
+  private double count(String result) {
+    Counter counter = registry.find(EntityVersions.METRIC).tag("result", result).counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
@@ -0,0 +1,81 @@
+package com.fulfilment.application.monolith.conditional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer.Key;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EntityVersions Tests")
+class EntityVersionsTest {
+
+  private static final Key STORE = new Key("Store", 1);
+
+  @Test
+  @DisplayName("a remembered version is known until the entity changes")
+  void remember_knownUntilForgotten() {
+    EntityVersions versions = versions(Duration.ofSeconds(30), 100);
+
+    versions.remember(STORE, 3, versions.changes());
+    assertEquals(3, versions.known(STORE));
+
+    versions.forget("Store", "1");
+    assertNull(versions.known(STORE));
+  }
+
+  @Test
+  @DisplayName("a version read while any change was forgotten is not remembered")
+  void remember_overlappingChange_isDropped() {
+    EntityVersions versions = versions(Duration.ofSeconds(30), 100);
+    long changes = versions.changes();
+
+    versions.forget("Product", 7L);
+    versions.remember(STORE, 3, changes);
+
+    assertNull(versions.known(STORE));
+  }
+
+  @Test
+  @DisplayName("a remembered version expires after the ttl")
+  void known_afterTtl_isNull() throws InterruptedException {
+    EntityVersions versions = versions(Duration.ofMillis(1), 100);
+
+    versions.remember(STORE, 3, versions.changes());
+    Thread.sleep(5);
+
+    assertNull(versions.known(STORE));
+  }
+
+  @Test
+  @DisplayName("the map is cleared rather than grown past its bound")
+  void remember_pastBound_clears() {
+    EntityVersions versions = versions(Duration.ofSeconds(30), 2);
+
+    versions.remember(STORE, 1, versions.changes());
+    versions.remember(new Key("Store", 2), 1, versions.changes());
+    versions.remember(new Key("Store", 3), 1, versions.changes());
+
+    assertNull(versions.known(STORE));
+    assertEquals(1, versions.known(new Key("Store", 3)));
+  }
+
+  @Test
+  @DisplayName("If-None-Match compares weakly, If-Match strongly, and * matches any version")
+  void entityTags_comparison() {
+    String tag = EntityTags.of(4);
+
+    assertEquals("\"4\"", tag);
+    assertTrue(EntityTags.matchesWeakly("\"3\", W/\"4\"", tag));
+    assertFalse(EntityTags.matchesWeakly("\"3\"", tag));
+    assertTrue(EntityTags.matchesStrongly(" \"4\" ", tag));
+    assertFalse(EntityTags.matchesStrongly("W/\"4\"", tag));
+    assertTrue(EntityTags.matchesStrongly("*", tag));
+    assertTrue(EntityTags.matchesWeakly("*", tag));
+  }
+
+  private static EntityVersions versions(Duration ttl, int maxEntries) {
+    return new EntityVersions(new SimpleMeterRegistry(), true, ttl, maxEntries);
+  }
+}
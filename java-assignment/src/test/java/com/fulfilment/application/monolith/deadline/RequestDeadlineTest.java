@@ -0,0 +1,97 @@
+package com.fulfilment.application.monolith.deadline;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Holds a lock on {@code store} from a separate connection, so the store query of the fulfilment
+ * rules waits until its deadline cancels it.
+ */
+@QuarkusTest
+@TestProfile(RequestDeadlineTest.ShortEndpointBudget.class)
+@DisplayName("Request Deadline Tests")
+class RequestDeadlineTest {
+
+  public static class ShortEndpointBudget implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "request-deadline.endpoints", "StoreResource#get=400ms",
+          "warmup.enabled", "false");
+    }
+  }
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  @DisplayName("A header deadline cancels the blocked DISTINCT store query with a 504")
+  void testHeaderDeadlineCancelsBlockedQuery() throws SQLException {
+    double before = exceeded("ProductResource#associateWarehouse");
+
+    long started = System.nanoTime();
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      connection.setAutoCommit(false);
+      statement.execute("LOCK TABLE store IN ACCESS EXCLUSIVE MODE");
+      try {
+        given().header(DeadlineFilter.TIMEOUT_HEADER, "500ms").contentType(ContentType.JSON)
+            .when().post("product/1/fulfilment/1")
+            .then().statusCode(504);
+      } finally {
+        connection.rollback();
+      }
+    }
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+    assertTrue(elapsedMillis < 3_000, "took " + elapsedMillis + "ms");
+    // Query and transaction timeout both round up to the same second; either may fire first.
+    assertEquals(before + 1, exceeded("ProductResource#associateWarehouse"));
+  }
+
+  @Test
+  @DisplayName("Endpoint configuration sets the deadline without a header")
+  void testEndpointBudgetApplies() throws SQLException {
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      connection.setAutoCommit(false);
+      statement.execute("LOCK TABLE store IN ACCESS EXCLUSIVE MODE");
+      try {
+        given().when().get("store").then().statusCode(504);
+      } finally {
+        connection.rollback();
+      }
+    }
+    given().when().get("store").then().statusCode(200);
+  }
+
+  @Test
+  @DisplayName("A header cannot extend the configured deadline, and must be a positive duration")
+  void testHeaderValidation() {
+    given().header(DeadlineFilter.TIMEOUT_HEADER, "2s").when().get("store").then().statusCode(200);
+    given().header(DeadlineFilter.TIMEOUT_HEADER, "soon").when().get("store").then().statusCode(400);
+    given().header(DeadlineFilter.TIMEOUT_HEADER, "0").when().get("store").then().statusCode(400);
+  }
+
+  private double exceeded(String operation) {
+    return registry.find("http.server.deadline.exceeded").tag("operation", operation).counters().stream()
+        .mapToDouble(Counter::count)
+        .sum();
+  }
+}
@@ -0,0 +1,95 @@
+package com.fulfilment.application.monolith.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.conditional.ConditionalRequest;
+import com.fulfilment.application.monolith.conditional.EntityVersions;
+import com.fulfilment.application.monolith.deadline.DeadlineExceededException;
+import com.fulfilment.application.monolith.deadline.RequestDeadline;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ErrorResponseMapper Tests")
+class ErrorResponseMapperTest {
+
+  private ErrorResponseMapper mapper;
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    ConditionalRequest conditionalRequest =
+        new ConditionalRequest(new EntityVersions(registry, true, Duration.ofSeconds(30), 100));
+    mapper = new ErrorResponseMapper(new RequestDeadline(), conditionalRequest, registry);
+  }
+
+  @Test
+  @DisplayName("business-rule rejections take their status from the error code")
+  void toResponse_validationException_usesErrorCodeStatus() {
+    Response notFound = mapper.toResponse(
+        new WarehouseValidationException(ErrorCode.WAREHOUSE_NOT_FOUND, "No active warehouse found"));
+    Response badRequest = mapper.toResponse(
+        new WarehouseValidationException(ErrorCode.STOCK_MISMATCH, "Stock does not match"));
+
+    assertEquals(404, notFound.getStatus());
+    assertEquals(400, badRequest.getStatus());
+    ErrorResponse body = (ErrorResponse) badRequest.getEntity();
+    assertEquals("STOCK_MISMATCH", body.errorCode());
+    assertEquals("Stock does not match", body.error());
+  }
+
+  @Test
+  @DisplayName("every error code maps to a client error")
+  void status_everyErrorCode_isClientError() {
+    for (ErrorCode code : ErrorCode.values()) {
+      int status = ErrorResponseMapper.status(code);
+      assertTrue(status >= 400 && status < 500, code + " -> " + status);
+    }
+  }
+
+  @Test
+  @DisplayName("rejected requests keep their status, anything else is a 500")
+  void toResponse_otherExceptions() {
+    assertEquals(422, mapper.toResponse(new RequestRejectedException("Name was not set", 422)).getStatus());
+
+    Response response = mapper.toResponse(new IllegalStateException("boom"));
+    assertEquals(500, response.getStatus());
+    assertNull(((ErrorResponse) response.getEntity()).errorCode());
+  }
+
+  @Test
+  @DisplayName("a write that lost the race on a version column is a 409")
+  void toResponse_versionConflict_is409() {
+    Response response = mapper.toResponse(
+        new IllegalStateException("commit failed", new OptimisticLockException("Row was updated by another transaction")));
+
+    assertEquals(409, response.getStatus());
+  }
+
+  @Test
+  @DisplayName("an exceeded deadline or a cancelled statement is a counted 504")
+  void toResponse_deadlineExceeded_is504() {
+    assertEquals(504, mapper.toResponse(new DeadlineExceededException("late")).getStatus());
+    assertEquals(504, mapper.toResponse(
+        new IllegalStateException("wrapped", new QueryTimeoutException("canceling statement"))).getStatus());
+
+    assertEquals(1, registry.counter(ErrorResponseMapper.DEADLINE_METRIC, "cause", "expired", "operation", "unknown").count());
+    assertEquals(1, registry.counter(ErrorResponseMapper.DEADLINE_METRIC, "cause", "query-timeout", "operation", "unknown").count());
+  }
+
+  @Test
+  @DisplayName("domain and rejection exceptions carry no stack trace")
+  void exceptions_areStackless() {
+    assertEquals(0, new WarehouseValidationException(ErrorCode.STOCK_MISMATCH, "x").getStackTrace().length);
+    assertEquals(0, new RequestRejectedException("x", 404).getStackTrace().length);
+  }
+}
@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FulfilmentRules Tests")
+class FulfilmentRulesTest {
+
+    @Test
+    @DisplayName("archived warehouses cannot be associated")
+    void checkAssociable_archivedWarehouse_throws() {
+        DbWarehouse warehouse = warehouse(1L);
+        warehouse.archivedAt = LocalDateTime.now();
+
+        assertThrows(WarehouseValidationException.class, () -> FulfilmentRules.checkAssociable(warehouse));
+        assertDoesNotThrow(() -> FulfilmentRules.checkAssociable(warehouse(2L)));
+    }
+
+    @Test
+    @DisplayName("count limits reject once the maximum is reached")
+    void countLimits_atMaximum_throw() {
+        assertDoesNotThrow(() -> FulfilmentRules.checkProductsPerWarehouse(4));
+        assertThrows(WarehouseValidationException.class, () -> FulfilmentRules.checkProductsPerWarehouse(5));
+        assertDoesNotThrow(() -> FulfilmentRules.checkWarehousesPerStore(2));
+        assertThrows(WarehouseValidationException.class, () -> FulfilmentRules.checkWarehousesPerStore(3));
+    }
+
+    @Test
+    @DisplayName("warehouseIds includes the warehouse being added")
+    void warehouseIds_includesAddedWarehouse() {
+        assertEquals(Set.of(1L, 2L, 3L),
+                FulfilmentRules.warehouseIds(List.of(warehouse(1L), warehouse(2L)), warehouse(3L)));
+    }
+
+    @Test
+    @DisplayName("a store sharing more than two of the product's warehouses is rejected")
+    void checkWarehousesPerProductPerStore_tooManyShared_throws() {
+        Store store = new Store("S");
+        store.fulfilmentUnits.addAll(List.of(warehouse(1L), warehouse(2L), warehouse(3L)));
+
+        assertDoesNotThrow(() -> FulfilmentRules.checkWarehousesPerProductPerStore(Set.of(1L, 2L), List.of(store)));
+        assertThrows(WarehouseValidationException.class,
+                () -> FulfilmentRules.checkWarehousesPerProductPerStore(Set.of(1L, 2L, 3L), List.of(store)));
+    }
+
+    private static DbWarehouse warehouse(Long id) {
+        DbWarehouse warehouse = new DbWarehouse();
+        warehouse.id = id;
+        return warehouse;
+    }
+}
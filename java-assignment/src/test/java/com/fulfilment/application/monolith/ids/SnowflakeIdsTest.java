@@ -0,0 +1,110 @@
+package com.fulfilment.application.monolith.ids;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SnowflakeIds Tests")
+class SnowflakeIdsTest {
+
+  private static final long NOW = Instant.parse("2026-03-01T10:00:00Z").toEpochMilli();
+
+  @Test
+  @DisplayName("ids carry the timestamp and node id")
+  void next_encodesTimestampAndNode() {
+    SnowflakeIds ids = new SnowflakeIds(37, () -> NOW);
+
+    long id = ids.next();
+
+    assertTrue(id > 0);
+    assertEquals(Instant.ofEpochMilli(NOW), SnowflakeIds.timestampOf(id));
+    assertEquals(37, SnowflakeIds.nodeOf(id));
+  }
+
+  @Test
+  @DisplayName("ids within one millisecond count up, later milliseconds sort after them")
+  void next_isOrderedByTimeThenCounter() {
+    AtomicLong clock = new AtomicLong(NOW);
+    SnowflakeIds ids = new SnowflakeIds(1, clock::get);
+
+    long first = ids.next();
+    long second = ids.next();
+    clock.incrementAndGet();
+    long third = ids.next();
+
+    assertEquals(first + 1, second);
+    assertTrue(third > second);
+    assertEquals(Instant.ofEpochMilli(NOW + 1), SnowflakeIds.timestampOf(third));
+  }
+
+  @Test
+  @DisplayName("a full counter borrows the next millisecond instead of repeating ids")
+  void next_counterOverflow_advancesTimestamp() {
+    SnowflakeIds ids = new SnowflakeIds(1, () -> NOW);
+
+    long last = 0;
+    for (int i = 0; i < 4097; i++) {
+      long id = ids.next();
+      assertTrue(id > last);
+      last = id;
+    }
+
+    assertEquals(Instant.ofEpochMilli(NOW + 1), SnowflakeIds.timestampOf(last));
+    assertEquals(1, SnowflakeIds.nodeOf(last));
+  }
+
+  @Test
+  @DisplayName("a clock stepping back does not repeat ids")
+  void next_clockStepsBack_staysIncreasing() {
+    AtomicLong clock = new AtomicLong(NOW);
+    SnowflakeIds ids = new SnowflakeIds(1, clock::get);
+
+    long before = ids.next();
+    clock.addAndGet(-5_000);
+    long after = ids.next();
+
+    assertTrue(after > before);
+  }
+
+  @Test
+  @DisplayName("concurrent callers never receive the same id")
+  void next_concurrent_isUnique() {
+    SnowflakeIds ids = new SnowflakeIds(3);
+    ConcurrentLinkedQueue<Long> generated = new ConcurrentLinkedQueue<>();
+
+    IntStream.range(0, 8).parallel().forEach(t -> {
+      for (int i = 0; i < 20_000; i++) {
+        generated.add(ids.next());
+      }
+    });
+
+    Set<Long> distinct = new HashSet<>(generated);
+    assertEquals(generated.size(), distinct.size());
+  }
+
+  @Test
+  @DisplayName("node ids outside ten bits are rejected")
+  void constructor_rejectsNodeOutOfRange() {
+    for (int node : List.of(-1, SnowflakeIds.MAX_NODE_ID + 1)) {
+      assertThrows(IllegalArgumentException.class, () -> new SnowflakeIds(node));
+    }
+  }
+
+  @Test
+  @DisplayName("an unset node id is random unless one is required")
+  void nodeId_unset_randomUnlessRequired() {
+    assertEquals(7, SnowflakeIdentifierGenerator.nodeId(Optional.of(7), true));
+    int random = SnowflakeIdentifierGenerator.nodeId(Optional.empty(), false);
+    assertTrue(random >= 0 && random <= SnowflakeIds.MAX_NODE_ID);
+    assertThrows(IllegalStateException.class, () -> SnowflakeIdentifierGenerator.nodeId(Optional.empty(), true));
+  }
+}
@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.json;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs against the packaged application; with {@code -Dnative} that is the native image, where no
+ * reflection is registered for {@link com.fulfilment.application.monolith.products.Product},
+ * {@link com.fulfilment.application.monolith.stores.Store} or the API warehouse. Every request and
+ * response body here goes through {@link JsonCodecs}, so a field the codecs stopped covering, or a
+ * type that fell back to reflective databind, shows up as a missing value or a failed request.
+ */
+@QuarkusIntegrationTest
+@DisplayName("JsonCodecs Native Tests")
+class JsonCodecsIT {
+
+  @Test
+  @DisplayName("a product round-trips through the product codec, its id as a string")
+  void productRoundTrip() {
+    String id = given().contentType(ContentType.JSON)
+        .body("{\"name\": \"CODEC-PRODUCT\", \"description\": \"native\", \"price\": \"12.50\", \"stock\": 4}")
+        .when().post("product").then().statusCode(201)
+        .extract().jsonPath().getString("id");
+
+    given().when().get("product/" + id).then().statusCode(200)
+        .body("id", equalTo(id))
+        .body("name", equalTo("CODEC-PRODUCT"))
+        .body("description", equalTo("native"))
+        .body("price", equalTo(12.5f))
+        .body("stock", equalTo(4));
+    given().when().get("product").then().statusCode(200)
+        .body("name", hasItem("CODEC-PRODUCT"));
+  }
+
+  @Test
+  @DisplayName("a store round-trips through the store codec")
+  void storeRoundTrip() {
+    long id = given().contentType(ContentType.JSON)
+        .body("{\"name\": \"CODEC-STORE\", \"quantityProductsInStock\": 6}")
+        .when().post("store").then().statusCode(201)
+        .extract().jsonPath().getLong("id");
+
+    given().when().get("store/" + id).then().statusCode(200)
+        .body("name", equalTo("CODEC-STORE"))
+        .body("quantityProductsInStock", equalTo(6));
+    given().when().get("store").then().statusCode(200)
+        .body("name", hasItem("CODEC-STORE"));
+  }
+
+  @Test
+  @DisplayName("a warehouse round-trips through the warehouse codec")
+  void warehouseRoundTrip() {
+    given().contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\": \"MWH.NIT\", \"location\": \"EINDHOVEN-001\", \"capacity\": 40, \"stock\": 5}")
+        .when().post("warehouse").then().statusCode(200)
+        .body("businessUnitCode", equalTo("MWH.NIT"))
+        .body("location", equalTo("EINDHOVEN-001"))
+        .body("capacity", equalTo(40))
+        .body("stock", equalTo(5));
+
+    given().when().get("warehouse/1").then().statusCode(200)
+        .body("id", equalTo("1"))
+        .body("businessUnitCode", equalTo("MWH.001"))
+        .body("location", equalTo("ZWOLLE-001"));
+    given().when().get("warehouse").then().statusCode(200)
+        .body("businessUnitCode", hasItem("MWH.NIT"));
+  }
+
+  @Test
+  @DisplayName("a body of the wrong shape is rejected by the codec with 400")
+  void wrongShape_isRejected() {
+    given().contentType(ContentType.JSON)
+        .body("{\"name\": \"CODEC-STORE\", \"quantityProductsInStock\": {\"nested\": 1}}")
+        .when().post("store").then().statusCode(400);
+  }
+}
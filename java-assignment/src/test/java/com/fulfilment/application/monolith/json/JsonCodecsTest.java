@@ -0,0 +1,103 @@
+package com.fulfilment.application.monolith.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.warehouse.api.beans.Warehouse;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JsonCodecs Tests")
+class JsonCodecsTest {
+
+  private ObjectMapper reflective;
+  private ObjectMapper codecs;
+
+  @BeforeEach
+  void setUp() {
+    reflective = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    codecs = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    new JsonCodecs().customize(codecs);
+  }
+
+  @Test
+  @DisplayName("serialised output matches reflective databind")
+  void serialize_matchesReflective() throws Exception {
+    Product product = new Product("TONSTAD");
+    product.id = 1L;
+    product.price = new BigDecimal("12.50");
+    product.stock = 10;
+    Store store = new Store("KALLAX");
+    store.id = 2L;
+    store.quantityProductsInStock = 5;
+    Warehouse warehouse = new Warehouse();
+    warehouse.setBusinessUnitCode("MWH.001");
+    warehouse.setCapacity(100);
+
+    for (Object value : List.of(product, new Product(), store, new Store(), warehouse, new Warehouse())) {
+      assertEquals(tree(reflective.writeValueAsString(value)), tree(codecs.writeValueAsString(value)),
+          value.getClass().getName());
+    }
+    assertEquals(tree(reflective.writeValueAsString(List.of(product, product))),
+        tree(codecs.writeValueAsString(List.of(product, product))));
+  }
+
+  @Test
+  @DisplayName("deserialised values match reflective databind, ignoring unknown fields")
+  void deserialize_matchesReflective() throws Exception {
+    String productJson = "{\"id\":3,\"name\":\"BESTÅ\",\"description\":null,\"price\":\"9.99\",\"stock\":\"4\",\"x\":[1,{}]}";
+    String storeJson = "{\"name\":\"NEW_STORE\",\"quantityProductsInStock\":7,\"fulfilmentUnits\":[]}";
+    String warehouseJson = "{\"businessUnitCode\":\"MWH.NEW\",\"location\":\"AMSTERDAM-001\",\"capacity\":80,\"stock\":30}";
+
+    assertSameAsReflective(productJson, Product.class);
+    assertSameAsReflective(storeJson, Store.class);
+    assertSameAsReflective(warehouseJson, Warehouse.class);
+  }
+
+  @Test
+  @DisplayName("product ids are written as strings, so ids past 2^53 survive JavaScript clients")
+  void serialize_productIdAsString() throws Exception {
+    Product product = new Product("TONSTAD");
+    product.id = (1L << 53) + 1;
+
+    String json = codecs.writeValueAsString(product);
+
+    assertTrue(json.contains("\"id\":\"9007199254740993\""), json);
+    assertEquals(product.id, codecs.readValue(json, Product.class).id);
+  }
+
+  @Test
+  @DisplayName("values of the wrong type are rejected")
+  void deserialize_wrongType_fails() {
+    assertThrows(MismatchedInputException.class,
+        () -> codecs.readValue("{\"quantityProductsInStock\":\"many\"}", Store.class));
+    assertThrows(MismatchedInputException.class, () -> codecs.readValue("{\"name\":{}}", Product.class));
+    assertThrows(MismatchedInputException.class, () -> codecs.readValue("[]", Warehouse.class));
+  }
+
+  @Test
+  @DisplayName("the codecs replace the reflective bean serializers")
+  void codecs_areUsedForAllTypes() throws Exception {
+    var provider = codecs.getSerializerProviderInstance();
+    assertInstanceOf(ProductCodec.Serializer.class, provider.findValueSerializer(Product.class));
+    assertInstanceOf(StoreCodec.Serializer.class, provider.findValueSerializer(Store.class));
+    assertInstanceOf(WarehouseCodec.Serializer.class, provider.findValueSerializer(Warehouse.class));
+  }
+
+  private <T> void assertSameAsReflective(String json, Class<T> type) throws Exception {
+    assertEquals(reflective.writeValueAsString(reflective.readValue(json, type)),
+        reflective.writeValueAsString(codecs.readValue(json, type)), type.getName());
+  }
+
+  private JsonNode tree(String json) throws Exception {
+    return reflective.readTree(json);
+  }
+}
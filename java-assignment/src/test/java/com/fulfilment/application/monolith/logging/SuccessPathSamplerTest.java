@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SuccessPathSampler Tests")
+class SuccessPathSamplerTest {
+
+  private static final String SAMPLED = "com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase";
+
+  private SuccessPathSampler sampler;
+
+  @BeforeEach
+  void setUp() {
+    sampler = new SuccessPathSampler(true, List.of("com.fulfilment.application.monolith.warehouses"), 5, 10, true);
+  }
+
+  @Test
+  @DisplayName("within a second, the first max-per-second records pass and then one in rate")
+  void isLoggable_overLimit_samples() {
+    long passed = IntStream.range(0, 105).filter(i -> sampler.isLoggable(record(SAMPLED, Level.INFO, 0))).count();
+
+    assertEquals(5 + 10, passed);
+    assertEquals(90, sampler.suppressed());
+  }
+
+  @Test
+  @DisplayName("the limit starts over in the next second")
+  void isLoggable_nextSecond_resetsLimit() {
+    IntStream.range(0, 20).forEach(i -> sampler.isLoggable(record(SAMPLED, Level.INFO, 0)));
+
+    assertTrue(sampler.isLoggable(record(SAMPLED, Level.INFO, 1_000)));
+  }
+
+  @Test
+  @DisplayName("warnings and other categories are never dropped")
+  void isLoggable_warningsAndOtherCategories_alwaysPass() {
+    IntStream.range(0, 20).forEach(i -> sampler.isLoggable(record(SAMPLED, Level.INFO, 0)));
+
+    assertTrue(sampler.isLoggable(record(SAMPLED, Level.WARNING, 0)));
+    assertTrue(sampler.isLoggable(record("com.fulfilment.application.monolith.stores.StoreResource", Level.INFO, 0)));
+  }
+
+  @Test
+  @DisplayName("with pass-warnings off, warnings and errors are left to the other handler")
+  void isLoggable_passWarningsOff_rejectsWarnings() {
+    sampler = new SuccessPathSampler(false, List.of("com.fulfilment.application.monolith.warehouses"), 5, 10, false);
+
+    assertFalse(sampler.isLoggable(record(SAMPLED, Level.WARNING, 0)));
+    assertFalse(sampler.isLoggable(record("com.fulfilment.application.monolith.stores.StoreResource", Level.SEVERE, 0)));
+    assertTrue(sampler.isLoggable(record(SAMPLED, Level.INFO, 0)));
+    assertEquals(0, sampler.suppressed());
+  }
+
+  @Test
+  @DisplayName("a disabled sampler lets everything through")
+  void isLoggable_disabled_passesAll() {
+    sampler = new SuccessPathSampler(false, List.of("com.fulfilment.application.monolith.warehouses"), 0, 10, true);
+
+    assertTrue(sampler.isLoggable(record(SAMPLED, Level.INFO, 0)));
+    assertEquals(0, sampler.suppressed());
+  }
+
+  private static LogRecord record(String logger, Level level, long millis) {
+    LogRecord record = new LogRecord(level, "message");
+    record.setLoggerName(logger);
+    record.setInstant(Instant.ofEpochMilli(millis));
+    return record;
+  }
+}
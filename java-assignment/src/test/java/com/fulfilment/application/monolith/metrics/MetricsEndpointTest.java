@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class MetricsEndpointTest {
+
+  @Test
+  void testValidationFailureIsCountedByReason() {
+    String payload = """
+        {
+          "businessUnitCode": "MWH.001",
+          "location": "ZWOLLE-001",
+          "capacity": 30,
+          "stock": 5
+        }
+        """;
+    given().contentType(ContentType.JSON).body(payload).when().post("warehouse").then().statusCode(400);
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(matchesPattern("(?s).*warehouse_validation_failures_total\\{[^}]*operation=\"create\""
+            + "[^}]*reason=\"DUPLICATE_BUSINESS_UNIT_CODE\"[^}]*} [1-9].*"));
+  }
+
+  @Test
+  void testUseCaseStoreAndPoolMetricsAreExposed() {
+    given().when().get("warehouse").then().statusCode(200);
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(
+            containsString("warehouse_store_seconds_count{class=\"com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository\""),
+            containsString("warehouse_operation_seconds"),
+            containsString("agroal_active_count"),
+            containsString("legacy_dispatch_queue_depth"),
+            containsString("legacy_coalescer_ratio"));
+  }
+}
@@ -0,0 +1,114 @@
+package com.fulfilment.application.monolith.readrouting;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.products.Product;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test replica is a stand-in pointing at the primary; which pool served a request is told
+ * apart by the replica pool's acquire count.
+ */
+@QuarkusTest
+@DisplayName("Read Routing Tests")
+class ReadRoutingTest {
+
+  @Inject
+  @DataSource("replica")
+  AgroalDataSource replica;
+
+  @Inject
+  ReplicaLagMonitor lagMonitor;
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @BeforeEach
+  void replicaInRotation() throws InterruptedException {
+    for (int i = 0; i < 50 && !lagMonitor.isUsable(); i++) {
+      Thread.sleep(100);
+    }
+    assertTrue(lagMonitor.isUsable());
+  }
+
+  @Test
+  @DisplayName("Stand-in replica that is not in recovery reports no lag")
+  void testStandInReportsNoLag() {
+    lagMonitor.check();
+    assertEquals(0, lagMonitor.lagMillis());
+  }
+
+  @Test
+  @DisplayName("Non-transactional GET reads from the replica")
+  void testGetReadsFromReplica() {
+    long before = replica.getMetrics().acquireCount();
+
+    given().when().get("product").then().statusCode(200).header("Set-Cookie", nullValue());
+
+    assertTrue(replica.getMetrics().acquireCount() > before);
+  }
+
+  @Test
+  @DisplayName("Reads stay on the primary within the read-your-writes window")
+  void testReadYourWritesAfterOwnWrite() {
+    String until = given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"ROUTED_" + System.nanoTime() % 100000 + "\", \"stock\": 1}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201)
+        .extract()
+        .cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE);
+    assertTrue(Long.parseLong(until) > System.currentTimeMillis());
+
+    long before = replica.getMetrics().acquireCount();
+    given().cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, until).when().get("product").then().statusCode(200);
+    assertEquals(before, replica.getMetrics().acquireCount());
+  }
+
+  @Test
+  @DisplayName("Rows read from the replica are not put into the second-level cache")
+  void testReplicaReadsDoNotFillCache() {
+    ExtractableResponse<Response> created = given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"CACHED_" + System.nanoTime() % 100000 + "\", \"stock\": 1}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201)
+        .extract();
+    String until = created.cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE);
+    long id = created.jsonPath().getLong("id");
+    sessionFactory.getCache().evictEntityData(Product.class, id);
+
+    long before = replica.getMetrics().acquireCount();
+    given().when().get("product/" + id).then().statusCode(200);
+    assertTrue(replica.getMetrics().acquireCount() > before);
+    assertFalse(sessionFactory.getCache().contains(Product.class, id));
+
+    given().cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, until).when().get("product/" + id).then().statusCode(200);
+    assertTrue(sessionFactory.getCache().contains(Product.class, id));
+  }
+
+  @Test
+  @DisplayName("An expired or malformed window cookie does not pin reads")
+  void testExpiredWindowCookieIsIgnored() {
+    long before = replica.getMetrics().acquireCount();
+    given().cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, "1").when().get("product").then().statusCode(200);
+    given().cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, "soon").when().get("product").then().statusCode(200);
+    assertTrue(replica.getMetrics().acquireCount() >= before + 2);
+  }
+}
@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bound on the SQL work of every HTTP request made by the annotated test, checked by
+ * {@link SqlBudgetCallback} from the {@code Server-Timing} header. Negative values are unbounded.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SqlBudget {
+
+  int statements() default -1;
+
+  int rows() default -1;
+}
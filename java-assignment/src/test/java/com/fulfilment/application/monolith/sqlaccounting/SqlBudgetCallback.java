@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import io.quarkus.test.junit.callback.QuarkusTestAfterEachCallback;
+import io.quarkus.test.junit.callback.QuarkusTestBeforeEachCallback;
+import io.quarkus.test.junit.callback.QuarkusTestMethodContext;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the {@code Server-Timing} SQL usage of every RestAssured request made by a
+ * {@code @QuarkusTest} and, if the test method is annotated with {@link SqlBudget}, fails the test
+ * when any request exceeds the budget.
+ *
+ * <p>Registered as a Quarkus test callback rather than a plain JUnit extension so it runs in the
+ * application class loader, where the tests' RestAssured configuration lives.
+ */
+public class SqlBudgetCallback implements QuarkusTestBeforeEachCallback, QuarkusTestAfterEachCallback {
+
+  private static final List<SqlUsage> USAGES = new ArrayList<>();
+
+  // The service loader creates one instance per callback interface, so state is shared statically.
+  private static List<Filter> previousFilters = List.of();
+
+  /**
+   * SQL usage of the requests made so far by the running test, in order.
+   */
+  public static List<SqlUsage> usages() {
+    synchronized (USAGES) {
+      return List.copyOf(USAGES);
+    }
+  }
+
+  @Override
+  public void beforeEach(QuarkusTestMethodContext context) {
+    synchronized (USAGES) {
+      USAGES.clear();
+    }
+    previousFilters = new ArrayList<>(RestAssured.filters());
+    RestAssured.filters((request, response, ctx) -> {
+      var result = ctx.next(request, response);
+      String serverTiming = result.getHeader(SqlAccountingFilter.SERVER_TIMING);
+      if (serverTiming != null) {
+        SqlUsage usage = SqlUsage.parse(request.getMethod() + " " + request.getDerivedPath(), serverTiming);
+        synchronized (USAGES) {
+          USAGES.add(usage);
+        }
+      }
+      return result;
+    });
+  }
+
+  @Override
+  public void afterEach(QuarkusTestMethodContext context) {
+    RestAssured.replaceFiltersWith(previousFilters);
+
+    SqlBudget budget = context.getTestMethod().getAnnotation(SqlBudget.class);
+    if (budget == null || context.getTestStatus().isTestFailed()) {
+      return;
+    }
+    List<SqlUsage> usages = usages();
+    if (usages.isEmpty()) {
+      throw new AssertionError("No SQL usage recorded; is sql-accounting.server-timing enabled?");
+    }
+    for (SqlUsage usage : usages) {
+      if (budget.statements() >= 0 && usage.statements() > budget.statements()) {
+        throw new AssertionError(usage.request() + " issued " + usage.statements()
+            + " SQL statements, budget is " + budget.statements());
+      }
+      if (budget.rows() >= 0 && usage.rows() > budget.rows()) {
+        throw new AssertionError(usage.request() + " loaded " + usage.rows()
+            + " rows, budget is " + budget.rows());
+      }
+    }
+  }
+}
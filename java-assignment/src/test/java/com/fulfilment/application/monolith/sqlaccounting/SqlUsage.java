@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.sqlaccounting;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL work reported for one request in its {@code Server-Timing} header.
+ */
+public record SqlUsage(String request, int statements, int rows, double jdbcMillis) {
+
+  private static final Pattern DB_TIMING =
+      Pattern.compile("db;dur=([0-9.]+);desc=\"statements=(\\d+) rows=(\\d+)\"");
+
+  static SqlUsage parse(String request, String serverTiming) {
+    Matcher matcher = serverTiming == null ? null : DB_TIMING.matcher(serverTiming);
+    if (matcher == null || !matcher.find()) {
+      throw new AssertionError(request + " has no db Server-Timing entry; is sql-accounting.server-timing enabled?");
+    }
+    return new SqlUsage(request, Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)),
+        Double.parseDouble(matcher.group(1)));
+  }
+}
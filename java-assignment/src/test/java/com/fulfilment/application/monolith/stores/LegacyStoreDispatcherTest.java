@@ -0,0 +1,151 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LegacyStoreDispatcher Tests")
+class LegacyStoreDispatcherTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private LegacyStoreDispatcher dispatcher;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    dispatcher.shutdown();
+  }
+
+  @Test
+  @DisplayName("deliveries run off the caller thread in submission order")
+  void submit_runsDeliveriesInOrder() throws InterruptedException {
+    dispatcher = dispatcher(10, LegacyStoreDispatcher.BackpressurePolicy.REJECT);
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(3);
+    Thread caller = Thread.currentThread();
+
+    for (int i = 1; i <= 3; i++) {
+      int value = i;
+      assertTrue(dispatcher.submit(() -> {
+        assertNotSame(caller, Thread.currentThread());
+        order.add(value);
+        done.countDown();
+      }));
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of(1, 2, 3), order);
+    assertEquals(3, dispatcher.submittedCount());
+  }
+
+  @Test
+  @DisplayName("REJECT discards new deliveries once the queue is full")
+  void submit_rejectPolicy_rejectsWhenFull() throws InterruptedException {
+    dispatcher = dispatcher(1, LegacyStoreDispatcher.BackpressurePolicy.REJECT);
+    blockWorker();
+
+    assertTrue(dispatcher.submit(() -> { }));
+    assertFalse(dispatcher.submit(() -> { }));
+
+    assertEquals(1, dispatcher.rejectedCount());
+    assertEquals(1, dispatcher.queueDepth());
+  }
+
+  @Test
+  @DisplayName("DROP_OLDEST evicts the oldest queued delivery")
+  void submit_dropOldestPolicy_evictsOldest() throws InterruptedException {
+    dispatcher = dispatcher(1, LegacyStoreDispatcher.BackpressurePolicy.DROP_OLDEST);
+    blockWorker();
+    List<String> ran = new CopyOnWriteArrayList<>();
+    CountDownLatch newestRan = new CountDownLatch(1);
+
+    assertTrue(dispatcher.submit(() -> ran.add("oldest")));
+    assertTrue(dispatcher.submit(() -> {
+      ran.add("newest");
+      newestRan.countDown();
+    }));
+    release.countDown();
+
+    assertTrue(newestRan.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("newest"), ran);
+    assertEquals(1, dispatcher.droppedCount());
+  }
+
+  @Test
+  @DisplayName("BLOCK gives up after the block timeout")
+  void submit_blockPolicy_rejectsAfterTimeout() throws InterruptedException {
+    dispatcher = dispatcher(1, LegacyStoreDispatcher.BackpressurePolicy.BLOCK);
+    blockWorker();
+
+    assertTrue(dispatcher.submit(() -> { }));
+    long start = System.nanoTime();
+    assertFalse(dispatcher.submit(() -> { }));
+
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    assertEquals(1, dispatcher.rejectedCount());
+  }
+
+  @Test
+  @DisplayName("failed deliveries are counted and do not stop the worker")
+  void submit_failingDelivery_countsFailure() throws InterruptedException {
+    dispatcher = dispatcher(10, LegacyStoreDispatcher.BackpressurePolicy.REJECT);
+    CountDownLatch next = new CountDownLatch(1);
+
+    dispatcher.submit(() -> {
+      throw new IllegalStateException("legacy system down");
+    });
+    dispatcher.submit(next::countDown);
+
+    assertTrue(next.await(5, TimeUnit.SECONDS));
+    assertEquals(1, dispatcher.failedCount());
+  }
+
+  @Test
+  @DisplayName("shutdown drains queued deliveries and rejects new ones")
+  void shutdown_drainsQueueAndRejectsNewDeliveries() throws InterruptedException {
+    dispatcher = dispatcher(10, LegacyStoreDispatcher.BackpressurePolicy.REJECT);
+    blockWorker();
+    List<Integer> ran = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      int value = i;
+      dispatcher.submit(() -> ran.add(value));
+    }
+    assertTrue(dispatcher.oldestPendingAge().compareTo(Duration.ZERO) > 0);
+
+    release.countDown();
+    dispatcher.shutdown();
+
+    assertEquals(5, ran.size());
+    assertFalse(dispatcher.submit(() -> { }));
+    assertEquals(0, dispatcher.queueDepth());
+  }
+
+  // ─── Helpers ──────────────────────────────────────────────────────────────
+
+  private LegacyStoreDispatcher dispatcher(int capacity, LegacyStoreDispatcher.BackpressurePolicy policy) {
+    return new LegacyStoreDispatcher(capacity, 1, policy, Duration.ofMillis(50), Duration.ofSeconds(5));
+  }
+
+  /**
+   * Occupies the single worker until {@link #release} is counted down.
+   */
+  private void blockWorker() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    dispatcher.submit(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,214 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("SegmentedStoreLog Tests")
+class SegmentedStoreLogTest {
+
+  @TempDir Path directory;
+
+  @Test
+  @DisplayName("appended records are read back in order by a cursor")
+  void append_thenPoll_returnsRecordsInOrder() {
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10);
+        var cursor = log.openCursor()) {
+      log.append(record(StoreEvent.Type.CREATED, 1L, "TONSTAD", 10));
+      log.append(record(StoreEvent.Type.UPDATED, 1L, "TONSTAD", 12));
+
+      List<StoreLogRecord> records = cursor.poll(10);
+
+      assertEquals(2, records.size());
+      assertEquals(1L, records.get(0).sequence);
+      assertEquals(StoreEvent.Type.CREATED, records.get(0).type);
+      assertEquals(2L, records.get(1).sequence);
+      assertEquals(12, records.get(1).quantityProductsInStock);
+      assertTrue(cursor.poll(10).isEmpty());
+    }
+  }
+
+  @Test
+  @DisplayName("names with tabs, line breaks and backslashes survive the line framing")
+  void append_nameWithSeparators_isEscaped() {
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10);
+        var cursor = log.openCursor()) {
+      log.append(record(StoreEvent.Type.CREATED, 7L, "A\tB\nC\\D", 1));
+
+      List<StoreLogRecord> records = cursor.poll(10);
+
+      assertEquals(1, records.size());
+      assertEquals("A\tB\nC\\D", records.get(0).storeName);
+    }
+  }
+
+  @Test
+  @DisplayName("buffered appends are only visible after a flush when not fsyncing every group")
+  void append_intervalPolicy_visibleAfterFlush() {
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.INTERVAL, 60_000);
+        var cursor = log.openCursor()) {
+      log.appendAll(List.of(
+          record(StoreEvent.Type.CREATED, 1L, "ONE", 1),
+          record(StoreEvent.Type.CREATED, 2L, "TWO", 2)));
+
+      assertTrue(cursor.poll(10).isEmpty());
+
+      log.flush();
+
+      assertEquals(2, cursor.poll(10).size());
+      assertEquals(2L, log.lastWrittenSequence());
+    }
+  }
+
+  @Test
+  @DisplayName("force writes buffered appends even when the OS decides on syncing")
+  void force_neverPolicy_writesBufferedRecords() {
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.NEVER, 60_000);
+        var cursor = log.openCursor()) {
+      log.append(record(StoreEvent.Type.CREATED, 1L, "ONE", 1));
+
+      log.force();
+
+      assertEquals(1, cursor.poll(10).size());
+      assertEquals(1L, log.lastWrittenSequence());
+    }
+  }
+
+  @Test
+  @DisplayName("the log rolls to a new segment and the cursor follows it")
+  void append_beyondSegmentSize_rollsAndCursorFollows() throws IOException {
+    try (var log = new SegmentedStoreLog(directory, 64, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10);
+        var cursor = log.openCursor()) {
+      for (int i = 1; i <= 10; i++) {
+        log.append(record(StoreEvent.Type.UPDATED, 1L, "STORE-" + i, i));
+      }
+
+      assertTrue(segmentCount() > 1, "expected the log to roll over to new segments");
+
+      List<StoreLogRecord> records = cursor.poll(100);
+      assertEquals(10, records.size());
+      for (int i = 0; i < records.size(); i++) {
+        assertEquals(i + 1, records.get(i).sequence);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("a cursor resumes from a saved position")
+  void openCursor_fromPosition_resumes() {
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10)) {
+      log.append(record(StoreEvent.Type.CREATED, 1L, "ONE", 1));
+      log.append(record(StoreEvent.Type.CREATED, 2L, "TWO", 2));
+
+      String position;
+      try (var cursor = log.openCursor()) {
+        assertEquals(1, cursor.poll(1).size());
+        position = cursor.position();
+      }
+
+      try (var resumed = log.openCursor(position)) {
+        List<StoreLogRecord> records = resumed.poll(10);
+        assertEquals(1, records.size());
+        assertEquals("TWO", records.get(0).storeName);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("reopening drops a torn trailing record and continues the sequence")
+  void reopen_afterTornWrite_truncatesAndContinuesSequence() throws IOException {
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10)) {
+      log.append(record(StoreEvent.Type.CREATED, 1L, "ONE", 1));
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      Path segment = files.findFirst().orElseThrow();
+      Files.write(segment, "2\tUPDATED\t1\t".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    try (var log = new SegmentedStoreLog(directory, 1024 * 1024, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10);
+        var cursor = log.openCursor()) {
+      long sequence = log.append(record(StoreEvent.Type.DELETED, 1L, "ONE", 1));
+
+      assertEquals(2L, sequence);
+      List<StoreLogRecord> records = cursor.poll(10);
+      assertEquals(2, records.size());
+      assertEquals(StoreEvent.Type.DELETED, records.get(1).type);
+    }
+  }
+
+  @Test
+  @DisplayName("consumed segments are removed by truncateBefore")
+  void truncateBefore_removesConsumedSegments() throws IOException {
+    try (var log = new SegmentedStoreLog(directory, 64, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10);
+        var cursor = log.openCursor()) {
+      for (int i = 1; i <= 10; i++) {
+        log.append(record(StoreEvent.Type.UPDATED, 1L, "STORE-" + i, i));
+      }
+      cursor.poll(100);
+      long before = segmentCount();
+
+      log.truncateBefore(cursor);
+
+      assertEquals(1, segmentCount());
+      assertTrue(before > 1);
+    }
+  }
+
+  @Test
+  @DisplayName("concurrent appenders get unique sequences and every record is written")
+  void append_concurrently_allRecordsWritten() throws Exception {
+    int threads = 8;
+    int perThread = 200;
+    try (var log = new SegmentedStoreLog(directory, 16 * 1024, SegmentedStoreLog.FsyncPolicy.ALWAYS, 10);
+        var cursor = log.openCursor()) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        long storeId = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < perThread; i++) {
+            log.append(record(StoreEvent.Type.UPDATED, storeId, "STORE", i));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      executor.shutdown();
+
+      Set<Long> sequences = new HashSet<>();
+      List<StoreLogRecord> batch;
+      while (!(batch = cursor.poll(500)).isEmpty()) {
+        batch.forEach(record -> sequences.add(record.sequence));
+      }
+      assertEquals(threads * perThread, sequences.size());
+    }
+  }
+
+  // ─── Helper ───────────────────────────────────────────────────────────────
+
+  private StoreLogRecord record(StoreEvent.Type type, Long storeId, String name, int quantity) {
+    return new StoreLogRecord(type, storeId, name, quantity);
+  }
+
+  private long segmentCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StoreEventCoalescer Tests")
+class StoreEventCoalescerTest {
+
+  private StoreEventCoalescer coalescer;
+
+  @BeforeEach
+  void setUp() {
+    coalescer = new StoreEventCoalescer();
+  }
+
+  @Test
+  @DisplayName("an UPDATE chain collapses to the final snapshot")
+  void coalesce_updateChain_keepsLatestSnapshot() {
+    List<StoreLogRecord> result = coalescer.coalesce(List.of(
+        record(StoreEvent.Type.UPDATED, 1L, 10),
+        record(StoreEvent.Type.UPDATED, 1L, 11),
+        record(StoreEvent.Type.UPDATED, 1L, 12)));
+
+    assertEquals(1, result.size());
+    assertEquals(StoreEvent.Type.UPDATED, result.get(0).type);
+    assertEquals(12, result.get(0).quantityProductsInStock);
+  }
+
+  @Test
+  @DisplayName("CREATED followed by UPDATEs becomes one CREATED with the final snapshot")
+  void coalesce_createThenUpdates_becomesCreate() {
+    List<StoreLogRecord> result = coalescer.coalesce(List.of(
+        record(StoreEvent.Type.CREATED, 1L, 1),
+        record(StoreEvent.Type.UPDATED, 1L, 5)));
+
+    assertEquals(1, result.size());
+    assertEquals(StoreEvent.Type.CREATED, result.get(0).type);
+    assertEquals(5, result.get(0).quantityProductsInStock);
+  }
+
+  @Test
+  @DisplayName("CREATED and DELETED of the same store cancel out")
+  void coalesce_createThenDelete_cancels() {
+    List<StoreLogRecord> result = coalescer.coalesce(List.of(
+        record(StoreEvent.Type.CREATED, 1L, 1),
+        record(StoreEvent.Type.UPDATED, 1L, 2),
+        record(StoreEvent.Type.DELETED, 1L, 2)));
+
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  @DisplayName("UPDATEs before a DELETED are dropped")
+  void coalesce_updateThenDelete_keepsDelete() {
+    List<StoreLogRecord> result = coalescer.coalesce(List.of(
+        record(StoreEvent.Type.UPDATED, 1L, 3),
+        record(StoreEvent.Type.DELETED, 1L, 3)));
+
+    assertEquals(1, result.size());
+    assertEquals(StoreEvent.Type.DELETED, result.get(0).type);
+  }
+
+  @Test
+  @DisplayName("per-store order is preserved across interleaved stores")
+  void coalesce_interleavedStores_preservesPerStoreOrder() {
+    List<StoreLogRecord> result = coalescer.coalesce(List.of(
+        record(StoreEvent.Type.DELETED, 1L, 0),
+        record(StoreEvent.Type.UPDATED, 2L, 4),
+        record(StoreEvent.Type.CREATED, 1L, 7),
+        record(StoreEvent.Type.UPDATED, 2L, 5)));
+
+    assertEquals(3, result.size());
+    assertEquals(1L, result.get(0).storeId);
+    assertEquals(StoreEvent.Type.DELETED, result.get(0).type);
+    assertEquals(1L, result.get(1).storeId);
+    assertEquals(StoreEvent.Type.CREATED, result.get(1).type);
+    assertEquals(2L, result.get(2).storeId);
+    assertEquals(5, result.get(2).quantityProductsInStock);
+  }
+
+  @Test
+  @DisplayName("coalescing ratio reflects the events that were collapsed")
+  void coalescingRatio_tracksInAndOut() {
+    assertEquals(0.0, coalescer.coalescingRatio());
+
+    coalescer.coalesce(List.of(
+        record(StoreEvent.Type.UPDATED, 1L, 1),
+        record(StoreEvent.Type.UPDATED, 1L, 2),
+        record(StoreEvent.Type.UPDATED, 1L, 3),
+        record(StoreEvent.Type.UPDATED, 2L, 1)));
+
+    assertEquals(4, coalescer.eventsIn());
+    assertEquals(2, coalescer.eventsOut());
+    assertEquals(0.5, coalescer.coalescingRatio(), 1e-9);
+  }
+
+  // ─── Helpers ──────────────────────────────────────────────────────────────
+
+  private static StoreLogRecord record(StoreEvent.Type type, Long storeId, int quantity) {
+    return new StoreLogRecord(type, storeId, "STORE-" + storeId, quantity);
+  }
+}
@@ -13,57 +13,46 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @DisplayName("StoreEventObserver Tests")
 class StoreEventObserverTest {
 
-  @Mock private LegacyStoreManagerGateway legacyGateway;
+  @Mock private StoreOutbox outbox;
+  @Mock private StoreOutboxRelay relay;
 
   private StoreEventObserver observer;
 
   @BeforeEach
   void setUp() {
     observer = new StoreEventObserver();
-    // Inject mock via reflection since @Inject is not wired in unit tests
+    // Inject mocks via reflection since @Inject is not wired in unit tests
     try {
-      var field = StoreEventObserver.class.getDeclaredField("legacyStoreManagerGateway");
+      var field = StoreEventObserver.class.getDeclaredField("storeOutbox");
       field.setAccessible(true);
-      field.set(observer, legacyGateway);
+      field.set(observer, outbox);
+      field = StoreEventObserver.class.getDeclaredField("storeOutboxRelay");
+      field.setAccessible(true);
+      field.set(observer, relay);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
 
   @Test
-  @DisplayName("CREATED event invokes createStoreOnLegacySystem")
-  void onStoreCreated_createdEvent_invokesCreate() {
-    Store store = new Store("TEST-STORE");
-    StoreEvent event = new StoreEvent(store, StoreEvent.Type.CREATED);
-
-    observer.onStoreCreated(event);
-
-    verify(legacyGateway).createStoreOnLegacySystem(store);
-    verify(legacyGateway, never()).updateStoreOnLegacySystem(any());
-  }
-
-  @Test
-  @DisplayName("UPDATED event invokes updateStoreOnLegacySystem")
-  void onStoreCreated_updatedEvent_invokesUpdate() {
-    Store store = new Store("TEST-STORE");
-    StoreEvent event = new StoreEvent(store, StoreEvent.Type.UPDATED);
+  @DisplayName("in-transaction event is recorded in the outbox")
+  void onStoreChanged_recordsEventInOutbox() {
+    StoreEvent event = new StoreEvent(new Store("TEST-STORE"), StoreEvent.Type.CREATED);
 
-    observer.onStoreCreated(event);
+    observer.onStoreChanged(event);
 
-    verify(legacyGateway).updateStoreOnLegacySystem(store);
-    verify(legacyGateway, never()).createStoreOnLegacySystem(any());
+    verify(outbox).record(event);
+    verifyNoInteractions(relay);
   }
 
   @Test
-  @DisplayName("DELETED event invokes deleteStoreOnLegacySystem")
-  void onStoreCreated_deletedEvent_invokesDelete() {
-    Store store = new Store("TEST-STORE");
-    StoreEvent event = new StoreEvent(store, StoreEvent.Type.DELETED);
+  @DisplayName("committed event wakes the relay without touching the outbox")
+  void onStoreCommitted_wakesRelay() {
+    StoreEvent event = new StoreEvent(new Store("TEST-STORE"), StoreEvent.Type.UPDATED);
 
-    observer.onStoreCreated(event);
+    observer.onStoreCommitted(event);
 
-    verify(legacyGateway).deleteStoreOnLegacySystem(store);
-    verify(legacyGateway, never()).createStoreOnLegacySystem(any());
-    verify(legacyGateway, never()).updateStoreOnLegacySystem(any());
+    verify(relay).wakeUp();
+    verifyNoInteractions(outbox);
   }
 }
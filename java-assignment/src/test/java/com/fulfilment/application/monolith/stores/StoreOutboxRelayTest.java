@@ -0,0 +1,156 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreOutboxRelay Tests")
+class StoreOutboxRelayTest {
+
+  private static final Duration LEASE = Duration.ofSeconds(30);
+
+  @Mock private StoreOutbox outbox;
+  @Mock private LegacyStoreManagerGateway gateway;
+  @Mock private LegacyStoreDispatcher dispatcher;
+
+  private StoreOutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    relay = new StoreOutboxRelay(outbox, gateway, dispatcher, new StoreEventCoalescer(), false, 2,
+        Duration.ofSeconds(1), LEASE, Duration.ZERO, Optional.of("node-a"));
+    // Run deliveries inline so the gateway interaction can be verified synchronously
+    lenient().when(dispatcher.submit(any())).thenAnswer(invocation -> {
+      invocation.getArgument(0, Runnable.class).run();
+      return true;
+    });
+  }
+
+  @Test
+  @DisplayName("claimed batches are delivered in one gateway call each and then completed")
+  void relayPending_deliversBatchesUntilOutboxIsDrained() {
+    when(outbox.claim("node-a", 2, LEASE))
+        .thenReturn(List.of(entry(1L, StoreEvent.Type.CREATED), entry(2L, StoreEvent.Type.UPDATED)))
+        .thenReturn(List.of(entry(3L, StoreEvent.Type.DELETED)));
+    when(outbox.complete(eq("node-a"), anyList())).thenAnswer(invocation -> (long) invocation.getArgument(1, List.class).size());
+
+    assertEquals(3, relay.relayPending());
+
+    verify(gateway, times(2)).propagateAll(anyList());
+    verify(outbox).complete("node-a", List.of(1L, 2L));
+    verify(outbox).complete("node-a", List.of(3L));
+    // a short batch means the outbox is drained; no third claim is needed
+    verify(outbox, times(2)).claim("node-a", 2, LEASE);
+  }
+
+  @Test
+  @DisplayName("a batch is forced to disk before its entries leave the outbox")
+  void deliver_forcesLogBeforeCompleting() {
+    relay.deliver(List.of(entry(1L, StoreEvent.Type.UPDATED)));
+
+    InOrder order = inOrder(gateway, outbox);
+    order.verify(gateway).propagateAll(anyList());
+    order.verify(gateway).force();
+    order.verify(outbox).complete("node-a", List.of(1L));
+  }
+
+  @Test
+  @DisplayName("a failed force leaves the batch claimed for a retry after the lease")
+  void deliver_forceFailure_doesNotComplete() {
+    doThrow(new UncheckedIOException(new IOException("disk full"))).when(gateway).force();
+
+    assertThrows(UncheckedIOException.class,
+        () -> relay.deliver(List.of(entry(1L, StoreEvent.Type.UPDATED))));
+
+    verify(outbox, never()).complete(anyString(), anyList());
+  }
+
+  @Test
+  @DisplayName("records keep the outbox order inside a batch")
+  void deliver_preservesOrder() {
+    List<List<StoreLogRecord>> delivered = new ArrayList<>();
+    doAnswer(invocation -> delivered.add(invocation.getArgument(0))).when(gateway).propagateAll(anyList());
+
+    relay.deliver(List.of(entry(7L, StoreEvent.Type.CREATED), entry(8L, StoreEvent.Type.DELETED)));
+
+    assertEquals(1, delivered.size());
+    assertEquals(StoreEvent.Type.CREATED, delivered.get(0).get(0).type);
+    assertEquals(StoreEvent.Type.DELETED, delivered.get(0).get(1).type);
+  }
+
+  @Test
+  @DisplayName("a batch that coalesces to nothing completes without a gateway call")
+  void deliver_cancelledBatch_completesWithoutGatewayCall() {
+    StoreOutboxEntry created = entry(5L, StoreEvent.Type.CREATED);
+    StoreOutboxEntry deleted = entry(6L, StoreEvent.Type.DELETED);
+    deleted.storeId = created.storeId;
+
+    relay.deliver(List.of(created, deleted));
+
+    verifyNoInteractions(gateway);
+    verify(outbox).complete("node-a", List.of(5L, 6L));
+  }
+
+  @Test
+  @DisplayName("a failed delivery leaves the batch claimed for a retry after the lease")
+  void deliver_gatewayFailure_doesNotComplete() {
+    doThrow(new IllegalStateException("legacy system down")).when(gateway).propagateAll(anyList());
+
+    assertThrows(IllegalStateException.class,
+        () -> relay.deliver(List.of(entry(1L, StoreEvent.Type.UPDATED))));
+
+    verify(outbox, never()).complete(anyString(), anyList());
+  }
+
+  @Test
+  @DisplayName("a batch whose claim expired while queued is dropped, not delivered out of order")
+  void deliver_expiredClaim_isDropped() {
+    StoreOutboxEntry entry = entry(9L, StoreEvent.Type.UPDATED);
+    entry.claimedUntil = LocalDateTime.now().minusSeconds(1);
+
+    relay.deliver(List.of(entry));
+
+    verifyNoInteractions(gateway);
+    verify(outbox, never()).complete(anyString(), anyList());
+  }
+
+  @Test
+  @DisplayName("a batch rejected by the dispatcher is released for the next cycle")
+  void relayPending_rejectedByDispatcher_releasesClaim() {
+    doReturn(false).when(dispatcher).submit(any());
+    when(outbox.claim("node-a", 2, LEASE)).thenReturn(List.of(entry(4L, StoreEvent.Type.UPDATED)));
+
+    assertEquals(0, relay.relayPending());
+
+    verify(outbox).release("node-a", List.of(4L));
+    verifyNoInteractions(gateway);
+  }
+
+  // ─── Helpers ──────────────────────────────────────────────────────────────
+
+  private static StoreOutboxEntry entry(Long id, StoreEvent.Type type) {
+    StoreOutboxEntry entry = new StoreOutboxEntry();
+    entry.id = id;
+    entry.eventType = type;
+    entry.storeId = 100 + id;
+    entry.storeName = "STORE-" + id;
+    entry.quantityProductsInStock = id.intValue();
+    return entry;
+  }
+}
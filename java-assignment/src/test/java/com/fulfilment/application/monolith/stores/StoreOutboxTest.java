@@ -0,0 +1,148 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.agroal.api.AgroalDataSource;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreOutboxTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Inject
+    LegacyStoreManagerGateway gateway;
+
+    @Inject
+    StoreOutbox outbox;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Test
+    public void testCommittedStoreChangeIsRelayedAndRemovedFromOutbox() throws InterruptedException {
+        String name = "OUTBOX_" + System.nanoTime() % 100000;
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 3}")
+                .when()
+                .post("/store")
+                .then()
+                .statusCode(201);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pendingFor(name) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, pendingFor(name));
+
+        gateway.log().flush();
+        List<StoreLogRecord> records = new ArrayList<>();
+        try (SegmentedStoreLog.Cursor cursor = gateway.log().openCursor()) {
+            List<StoreLogRecord> page;
+            while (!(page = cursor.poll(1000)).isEmpty()) {
+                records.addAll(page);
+            }
+        }
+        assertTrue(records.stream()
+                .anyMatch(r -> r.type == StoreEvent.Type.CREATED && name.equals(r.storeName)));
+    }
+
+    @Test
+    public void testStoreWithLiveClaimIsNotClaimedByAnotherNode() {
+        long storeId = fakeStoreId();
+        try {
+            insert(storeId, "node-x", LocalDateTime.now().plusMinutes(5));
+            insert(storeId, null, null);
+
+            List<StoreOutboxEntry> batch = outbox.claim("node-y", 100, LEASE);
+            outbox.release("node-y", StoreOutbox.ids(batch));
+
+            assertTrue(batch.stream().noneMatch(entry -> entry.storeId == storeId));
+        } finally {
+            deleteEntries(storeId);
+        }
+    }
+
+    @Test
+    public void testStoreLockedByAnotherClaimerIsSkipped() throws Exception {
+        long storeId = fakeStoreId();
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement lock = other.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+                lock.setLong(1, storeId);
+                lock.execute();
+            }
+            insert(storeId, null, null);
+            insert(storeId, null, null);
+
+            List<StoreOutboxEntry> batch = outbox.claim("node-y", 100, LEASE);
+            outbox.release("node-y", StoreOutbox.ids(batch));
+
+            assertTrue(batch.stream().noneMatch(entry -> entry.storeId == storeId));
+            deleteEntries(storeId);
+            other.rollback();
+        } finally {
+            deleteEntries(storeId);
+        }
+    }
+
+    @Test
+    public void testClaimTakesEveryPendingEntryOfAStoreInOrder() {
+        long storeId = fakeStoreId();
+        try {
+            insert(storeId, "node-x", LocalDateTime.now().minusSeconds(1));
+            insert(storeId, null, null);
+            insert(storeId, null, null);
+            List<Long> pending = QuarkusTransaction.requiringNew().call(() -> StoreOutbox.ids(
+                    StoreOutboxEntry.<StoreOutboxEntry>list("storeId = ?1 ORDER BY id", storeId)));
+
+            // The running relay may claim the store first; either way no claim splits it.
+            List<StoreOutboxEntry> batch = outbox.claim("node-y", 100, LEASE);
+            outbox.release("node-y", StoreOutbox.ids(batch));
+
+            List<Long> claimed = batch.stream().filter(entry -> entry.storeId == storeId)
+                    .map(entry -> entry.id).toList();
+            assertTrue(claimed.isEmpty() || claimed.equals(pending), "claimed " + claimed + " of " + pending);
+        } finally {
+            deleteEntries(storeId);
+        }
+    }
+
+    private static long fakeStoreId() {
+        return -1 - System.nanoTime() % 1_000_000_000L;
+    }
+
+    private static void insert(long storeId, String claimedBy, LocalDateTime claimedUntil) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            StoreOutboxEntry entry = new StoreOutboxEntry();
+            entry.eventType = StoreEvent.Type.UPDATED;
+            entry.storeId = storeId;
+            entry.storeName = "OUTBOX_CLAIM";
+            entry.createdAt = LocalDateTime.now();
+            entry.claimedBy = claimedBy;
+            entry.claimedUntil = claimedUntil;
+            entry.persist();
+        });
+    }
+
+    private static void deleteEntries(long storeId) {
+        QuarkusTransaction.requiringNew().run(() -> StoreOutboxEntry.delete("storeId", storeId));
+    }
+
+    private long pendingFor(String name) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> StoreOutboxEntry.count("storeName", name));
+    }
+}
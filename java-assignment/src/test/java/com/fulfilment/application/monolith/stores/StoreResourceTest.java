@@ -3,8 +3,12 @@ package com.fulfilment.application.monolith.stores;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
 
+import io.agroal.api.AgroalDataSource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.Statement;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -14,6 +18,9 @@ import org.junit.jupiter.api.TestMethodOrder;
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class StoreResourceTest {
 
+    @Inject
+    AgroalDataSource dataSource;
+
     @Test
     @Order(1)
     public void testListAllStores() {
@@ -110,8 +117,102 @@ public class StoreResourceTest {
 
     @Test
     @Order(9)
+    public void testStockDelta() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"delta\": 7}")
+                .when()
+                .post("/store/2/stock-delta")
+                .then()
+                .statusCode(200)
+                .body(containsString("\"quantityProductsInStock\":12"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"delta\": -12}")
+                .when()
+                .post("/store/2/stock-delta")
+                .then()
+                .statusCode(200)
+                .body(containsString("\"quantityProductsInStock\":0"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"delta\": -1}")
+                .when()
+                .post("/store/2/stock-delta")
+                .then()
+                .statusCode(409);
+        given().when().get("/store/2").then().body(containsString("\"quantityProductsInStock\":0"));
+    }
+
+    @Test
+    @Order(10)
+    public void testStockDeltaMissingDelta() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{}")
+                .when()
+                .post("/store/2/stock-delta")
+                .then()
+                .statusCode(422);
+    }
+
+    @Test
+    @Order(11)
+    public void testStockDeltaStoreNotFound() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"delta\": 1}")
+                .when()
+                .post("/store/999/stock-delta")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @Order(12)
     public void testDeleteStore() {
         given().when().delete("/store/3").then().statusCode(204);
         given().when().get("/store/3").then().statusCode(404);
     }
+
+    @Test
+    @Order(13)
+    public void testAssociateUnknownStore_returns404WithErrorCode() {
+        given()
+                .contentType(ContentType.JSON)
+                .when()
+                .post("/store/999/fulfilment/1")
+                .then()
+                .statusCode(404)
+                .body(containsString("\"errorCode\":\"STORE_NOT_FOUND\""));
+    }
+
+    @Test
+    @Order(14)
+    public void testStockDeltaPastDeadline_returns504() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT id FROM store WHERE id = 2 FOR UPDATE");
+            }
+
+            given()
+                    .header("X-Request-Timeout", "300ms")
+                    .contentType(ContentType.JSON)
+                    .body("{\"delta\": 1}")
+                    .when()
+                    .post("/store/2/stock-delta")
+                    .then()
+                    .statusCode(504);
+            connection.rollback();
+        }
+
+        // The delta was queued before the deadline passed, so it is still written.
+        for (int i = 0; i < 50 && !given().get("/store/2").asString().contains("\"quantityProductsInStock\":1"); i++) {
+            Thread.sleep(100);
+        }
+        given().when().get("/store/2").then().body(containsString("\"quantityProductsInStock\":1"));
+    }
 }
@@ -0,0 +1,159 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreStockDeltaAggregator Tests")
+class StoreStockDeltaAggregatorTest {
+
+  @Mock private StoreStockWriter writer;
+
+  private StoreStockDeltaAggregator aggregator;
+
+  @BeforeEach
+  void setUp() {
+    aggregator = new StoreStockDeltaAggregator(writer, Duration.ofMillis(50), 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    aggregator.shutdown();
+  }
+
+  @Test
+  @DisplayName("deltas for the same store within the window are merged into one write")
+  void submit_sameStoreWithinWindow_mergesIntoSingleWrite() {
+    Store store = storeWith(1L, 17);
+    when(writer.applyDeltas(eq(1L), aryEq(new int[] {5, -3, 5}))).thenReturn(applied(store));
+
+    List<CompletableFuture<Store>> results = new ArrayList<>();
+    results.add(aggregator.submit(1L, 5));
+    results.add(aggregator.submit(1L, -3));
+    results.add(aggregator.submit(1L, 5));
+
+    results.forEach(result -> assertSame(store, result.join()));
+    verify(writer, times(1)).applyDeltas(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("deltas for different stores are written separately")
+  void submit_differentStores_writesEachStore() {
+    when(writer.applyDeltas(eq(1L), aryEq(new int[] {2}))).thenReturn(applied(storeWith(1L, 12)));
+    when(writer.applyDeltas(eq(2L), aryEq(new int[] {4}))).thenReturn(applied(storeWith(2L, 9)));
+
+    CompletableFuture<Store> first = aggregator.submit(1L, 2);
+    CompletableFuture<Store> second = aggregator.submit(2L, 4);
+
+    assertEquals(12, first.join().quantityProductsInStock);
+    assertEquals(9, second.join().quantityProductsInStock);
+  }
+
+  @Test
+  @DisplayName("a delta after a flush opens a new batch")
+  void submit_afterFlush_opensNewBatch() {
+    when(writer.applyDeltas(eq(1L), any())).thenReturn(applied(storeWith(1L, 0)));
+
+    aggregator.submit(1L, 1).join();
+    aggregator.submit(1L, 1).join();
+
+    verify(writer, times(2)).applyDeltas(eq(1L), aryEq(new int[] {1}));
+  }
+
+  @Test
+  @DisplayName("unknown store completes with null")
+  void submit_unknownStore_completesWithNull() {
+    when(writer.applyDeltas(eq(99L), any())).thenReturn(null);
+
+    assertNull(aggregator.submit(99L, 3).join());
+  }
+
+  @Test
+  @DisplayName("write failure is propagated to every caller of the batch")
+  void submit_writeFails_completesExceptionally() {
+    when(writer.applyDeltas(eq(1L), any())).thenThrow(new IllegalStateException("boom"));
+
+    CompletableFuture<Store> first = aggregator.submit(1L, 1);
+    CompletableFuture<Store> second = aggregator.submit(1L, 1);
+
+    CompletionException ex = assertThrows(CompletionException.class, first::join);
+    assertInstanceOf(IllegalStateException.class, ex.getCause());
+    assertThrows(CompletionException.class, second::join);
+  }
+
+  @Test
+  @DisplayName("a rejected delta fails only its own caller")
+  void submit_rejectedDelta_failsOnlyThatCaller() {
+    Store store = storeWith(1L, 3);
+    BitSet rejected = new BitSet();
+    rejected.set(1);
+    when(writer.applyDeltas(eq(1L), aryEq(new int[] {2, -10, 1})))
+        .thenReturn(new StoreStockWriter.Outcome(store, rejected));
+
+    CompletableFuture<Store> first = aggregator.submit(1L, 2);
+    CompletableFuture<Store> second = aggregator.submit(1L, -10);
+    CompletableFuture<Store> third = aggregator.submit(1L, 1);
+
+    assertSame(store, first.join());
+    CompletionException ex = assertThrows(CompletionException.class, second::join);
+    assertEquals(409, assertInstanceOf(RequestRejectedException.class, ex.getCause()).getResponse().getStatus());
+    assertSame(store, third.join());
+  }
+
+  @Test
+  @DisplayName("batches of one store are flushed one after another, even with several lanes")
+  void flush_sameStore_neverOverlaps() throws InterruptedException {
+    aggregator.shutdown();
+    aggregator = new StoreStockDeltaAggregator(writer, Duration.ofMillis(1), 4);
+    AtomicInteger writing = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    when(writer.applyDeltas(eq(1L), any())).thenAnswer(invocation -> {
+      if (writing.incrementAndGet() > 1) {
+        overlaps.incrementAndGet();
+      }
+      Thread.sleep(20);
+      writing.decrementAndGet();
+      return applied(storeWith(1L, 0));
+    });
+
+    List<CompletableFuture<Store>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(aggregator.submit(1L, 1));
+      Thread.sleep(5);
+    }
+
+    results.forEach(CompletableFuture::join);
+    assertEquals(0, overlaps.get());
+  }
+
+  // ─── Helper ───────────────────────────────────────────────────────────────
+
+  private static StoreStockWriter.Outcome applied(Store store) {
+    return new StoreStockWriter.Outcome(store, new BitSet());
+  }
+
+  private Store storeWith(Long id, int quantity) {
+    Store store = new Store("STORE-" + id);
+    store.id = id;
+    store.quantityProductsInStock = quantity;
+    return store;
+  }
+}
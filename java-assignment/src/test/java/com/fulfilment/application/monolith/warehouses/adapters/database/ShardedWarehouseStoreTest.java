@@ -0,0 +1,244 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.deadline.DeadlineExceededException;
+import com.fulfilment.application.monolith.deadline.RequestDeadline;
+import com.fulfilment.application.monolith.sqlaccounting.SqlRequestStats;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs with HELMOND and EINDHOVEN warehouses on a second shard: the same database, but the
+ * {@code warehouse_shard} schema.
+ */
+@QuarkusTest
+@TestProfile(ShardedWarehouseStoreTest.TwoShards.class)
+@DisplayName("Sharded Warehouse Store Tests")
+class ShardedWarehouseStoreTest {
+
+  public static class TwoShards implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "warehouse-sharding.regions", "HELMOND=warehouse-shard,EINDHOVEN=warehouse-shard",
+          "quarkus.datasource.warehouse-shard.db-kind", "postgresql",
+          "quarkus.datasource.warehouse-shard.devservices.enabled", "false",
+          "quarkus.datasource.warehouse-shard.jdbc.url", "${quarkus.datasource.jdbc.url}",
+          "quarkus.datasource.warehouse-shard.username", "${quarkus.datasource.username}",
+          "quarkus.datasource.warehouse-shard.password", "${quarkus.datasource.password}",
+          "quarkus.datasource.warehouse-shard.jdbc.additional-jdbc-properties.currentSchema", "warehouse_shard",
+          "warmup.enabled", "false");
+    }
+  }
+
+  @Inject
+  WarehouseStore store;
+
+  @Inject
+  RequestDeadline deadline;
+
+  @Inject
+  SqlRequestStats sqlStats;
+
+  // Looked up rather than injected: the datasource only exists under this profile.
+  @Inject
+  @Any
+  Instance<AgroalDataSource> dataSources;
+
+  AgroalDataSource shard;
+
+  @BeforeEach
+  void provisionShard() throws SQLException {
+    shard = dataSources.select(new DataSource.DataSourceLiteral("warehouse-shard")).get();
+    try (Connection connection = shard.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS warehouse_shard");
+      statement.execute("""
+          CREATE TABLE IF NOT EXISTS warehouse_shard.warehouse (
+            id bigint PRIMARY KEY, businessUnitCode varchar(255), location varchar(255),
+            capacity integer, stock integer, createdAt timestamp(6), archivedAt timestamp(6),
+            version bigint NOT NULL)""");
+      statement.execute("""
+          CREATE TABLE IF NOT EXISTS warehouse_shard.warehouse_archive (
+            id bigint PRIMARY KEY, businessUnitCode varchar(255), location varchar(255),
+            capacity integer, stock integer, createdAt timestamp(6), archivedAt timestamp(6) NOT NULL,
+            version bigint NOT NULL)""");
+      statement.execute("DELETE FROM warehouse_shard.warehouse");
+      statement.execute("DELETE FROM warehouse_shard.warehouse_archive");
+    }
+  }
+
+  @Test
+  @DisplayName("Warehouses are written to the shard owning their region")
+  void testCreateGoesToRegionShard() throws SQLException {
+    store.create(warehouse("SHD.001", "HELMOND-001"));
+
+    assertEquals(1, shardCount("SHD.001"));
+    assertEquals(1, store.findActiveByLocation("HELMOND-001").size());
+    assertTrue(store.findActiveByLocation("ZWOLLE-001").stream().noneMatch(w -> w.businessUnitCode.equals("SHD.001")));
+  }
+
+  @Test
+  @DisplayName("getAll and lookups gather results from every shard")
+  void testScatterGatherAcrossShards() {
+    store.create(warehouse("SHD.002", "EINDHOVEN-001"));
+
+    List<Warehouse> all = store.getAll();
+    assertTrue(all.stream().anyMatch(w -> w.businessUnitCode.equals("MWH.001")));
+    assertTrue(all.stream().anyMatch(w -> w.businessUnitCode.equals("SHD.002")));
+
+    Warehouse sharded = store.findByBusinessUnitCode("SHD.002");
+    assertNotNull(sharded);
+    assertTrue(sharded.id >= 1_000_000);
+    assertEquals("SHD.002", store.findWarehouseById(sharded.id).businessUnitCode);
+    assertEquals("MWH.001", store.findByBusinessUnitCode("MWH.001").businessUnitCode);
+  }
+
+  @Test
+  @DisplayName("Updates and removals stay on the owning shard")
+  void testUpdateAndRemoveOnShard() throws SQLException {
+    store.create(warehouse("SHD.003", "EINDHOVEN-001"));
+
+    Warehouse existing = store.findByBusinessUnitCode("SHD.003");
+    existing.stock = 7;
+    store.update(existing);
+    assertEquals(7, store.findByBusinessUnitCode("SHD.003").stock);
+
+    store.remove(existing);
+    assertNull(store.findByBusinessUnitCode("SHD.003"));
+    assertEquals(0, shardCount("SHD.003"));
+  }
+
+  @Test
+  @DisplayName("Archived versions move to the owning shard's archive table")
+  void testArchiveOnShard() throws SQLException {
+    store.create(warehouse("SHD.004", "HELMOND-001"));
+
+    Warehouse existing = store.findByBusinessUnitCode("SHD.004");
+    existing.archivedAt = LocalDateTime.now();
+    store.update(existing);
+
+    assertNull(store.findByBusinessUnitCode("SHD.004"));
+    assertEquals(0, shardCount("SHD.004"));
+    assertEquals(1, store.findArchivedByBusinessUnitCode("SHD.004").size());
+    assertNotNull(store.findWarehouseById(existing.id).archivedAt);
+    assertEquals(1, store.findHistoryByBusinessUnitCode("SHD.004").size());
+  }
+
+  @Test
+  @DisplayName("A replacement on a shard archives and creates in one transaction")
+  void testReplaceOnShardIsAtomic() throws SQLException {
+    store.create(warehouse("SHD.005", "HELMOND-001"));
+    Warehouse existing = store.findByBusinessUnitCode("SHD.005");
+    existing.archivedAt = LocalDateTime.now();
+
+    // Too long for the column: the insert fails after the archive statement ran.
+    assertThrows(RuntimeException.class, () -> store.replace(existing, warehouse("X".repeat(300), "EINDHOVEN-001")));
+    assertEquals(1, shardCount("SHD.005"));
+    assertTrue(store.findArchivedByBusinessUnitCode("SHD.005").isEmpty());
+
+    store.replace(existing, warehouse("SHD.005", "EINDHOVEN-001"));
+    assertEquals("EINDHOVEN-001", store.findByBusinessUnitCode("SHD.005").location);
+    assertEquals(2, store.findHistoryByBusinessUnitCode("SHD.005").size());
+  }
+
+  @Test
+  @DisplayName("A replacement that would move a unit to another shard is refused before any write")
+  void testCrossShardReplaceIsRefused() throws SQLException {
+    store.create(warehouse("SHD.006", "HELMOND-001"));
+    Warehouse existing = store.findByBusinessUnitCode("SHD.006");
+    existing.archivedAt = LocalDateTime.now();
+
+    WarehouseValidationException refused = assertThrows(WarehouseValidationException.class,
+        () -> store.replace(existing, warehouse("SHD.006", "ZWOLLE-001")));
+
+    assertEquals(ErrorCode.REPLACEMENT_CHANGES_SHARD, refused.getCode());
+    assertEquals(1, shardCount("SHD.006"));
+    assertEquals("HELMOND-001", store.findByBusinessUnitCode("SHD.006").location);
+  }
+
+  @Test
+  @DisplayName("A transaction that wrote to one shard cannot write to another")
+  void testTransactionWritesToOneShardOnly() throws SQLException {
+    assertThrows(IllegalStateException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+      store.create(warehouse("SHD.007", "ZWOLLE-001"));
+      store.create(warehouse("SHD.008", "HELMOND-001"));
+    }));
+
+    assertNull(store.findByBusinessUnitCode("SHD.007"));
+    assertEquals(0, shardCount("SHD.008"));
+  }
+
+  @Test
+  @DisplayName("Shard workers carry the request deadline")
+  void testShardWorkCarriesDeadline() {
+    ManagedContext requestContext = Arc.container().requestContext();
+    requestContext.activate();
+    try {
+      deadline.continueFrom(System.nanoTime() - 1_000_000, "ShardedWarehouseStoreTest");
+
+      assertThrows(DeadlineExceededException.class, () -> store.findActiveByLocation("HELMOND-001"));
+    } finally {
+      requestContext.terminate();
+    }
+  }
+
+  @Test
+  @DisplayName("SQL run on shard workers counts towards the request")
+  void testShardWorkCountsTowardsRequest() {
+    ManagedContext requestContext = Arc.container().requestContext();
+    requestContext.activate();
+    try {
+      store.findActiveByLocation("HELMOND-001");
+      assertEquals(1, sqlStats.statements());
+
+      // One query on each shard.
+      store.getAll();
+      assertEquals(3, sqlStats.statements());
+    } finally {
+      requestContext.terminate();
+    }
+  }
+
+  private static Warehouse warehouse(String businessUnitCode, String location) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = location;
+    warehouse.capacity = 40;
+    warehouse.stock = 5;
+    return warehouse;
+  }
+
+  private long shardCount(String businessUnitCode) throws SQLException {
+    try (Connection connection = shard.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT count(*) FROM warehouse_shard.warehouse WHERE businessUnitCode = '" + businessUnitCode + "'")) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+}
@@ -2,11 +2,16 @@ package com.fulfilment.application.monolith.warehouses.adapters.database;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fulfilment.application.monolith.stores.Store;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -15,6 +20,9 @@ public class WarehouseRepositoryTest {
     @Inject
     WarehouseRepository repository;
 
+    @Inject
+    EntityManager entityManager;
+
     @Test
     @TestTransaction
     public void testGetAllActive() {
@@ -23,6 +31,17 @@ public class WarehouseRepositoryTest {
         assertTrue(active.stream().allMatch(w -> w.businessUnitCode.startsWith("MWH.")));
     }
 
+    @Test
+    @TestTransaction
+    public void testGetAllWithLimit() {
+        List<Warehouse> all = repository.getAll();
+        assertTrue(all.size() > 1);
+
+        List<Warehouse> limited = repository.getAll(1);
+        assertEquals(1, limited.size());
+        assertEquals(all.stream().mapToLong(w -> w.id).min().getAsLong(), limited.get(0).id);
+    }
+
     @Test
     @TestTransaction
     public void testFindByBusinessUnitCode() {
@@ -75,4 +94,71 @@ public class WarehouseRepositoryTest {
         Warehouse removed = repository.findByBusinessUnitCode("MWH.023");
         assertNull(removed);
     }
+
+    @Test
+    @TestTransaction
+    public void testArchiveMovesRowOutOfActiveTable() {
+        Warehouse w = repository.findByBusinessUnitCode("MWH.012");
+        Store store = Store.findById(1L);
+        store.fulfilmentUnits.add(repository.findById(w.id));
+        entityManager.flush();
+
+        w.archivedAt = LocalDateTime.now();
+        repository.update(w);
+
+        assertNull(repository.findByBusinessUnitCode("MWH.012"));
+        assertTrue(repository.getAll().stream().noneMatch(a -> a.businessUnitCode.equals("MWH.012")));
+        assertEquals(0L, entityManager.createNativeQuery("SELECT count(*) FROM warehouse WHERE id = ?1")
+                .setParameter(1, w.id).getSingleResult());
+        assertEquals(0L, entityManager.createNativeQuery("SELECT count(*) FROM store_warehouse WHERE warehouse_id = ?1")
+                .setParameter(1, w.id).getSingleResult());
+        assertEquals(Set.of(1L), entityManager.find(DbArchivedWarehouse.class, w.id).storeIds);
+
+        Warehouse archived = repository.findWarehouseById(w.id);
+        assertNotNull(archived.archivedAt);
+        assertEquals(List.of(w.id), repository.findArchivedByBusinessUnitCode("MWH.012").stream().map(a -> a.id).toList());
+        assertTrue(repository.isArchived(w.id));
+    }
+
+    @Test
+    @TestTransaction
+    public void testHistoryAndAsOfAcrossReplacement() {
+        Warehouse original = repository.findByBusinessUnitCode("MWH.023");
+        original.archivedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        repository.update(original);
+        Warehouse replacement = new Warehouse();
+        replacement.businessUnitCode = "MWH.023";
+        replacement.location = "TILBURG-001";
+        replacement.capacity = 40;
+        replacement.stock = 27;
+        repository.create(replacement);
+
+        List<Warehouse> history = repository.findHistoryByBusinessUnitCode("MWH.023");
+        assertEquals(2, history.size());
+        assertEquals(original.id, history.get(0).id);
+        assertNotNull(history.get(0).archivedAt);
+        assertNull(history.get(1).archivedAt);
+
+        assertEquals(original.id, repository.findByBusinessUnitCodeAsOf("MWH.023", LocalDateTime.of(2022, 1, 1, 0, 0)).id);
+        assertNull(repository.findByBusinessUnitCodeAsOf("MWH.023", LocalDateTime.of(2020, 1, 1, 0, 0)));
+        // Archived before the replacement was created: nothing was active in between.
+        assertNull(repository.findByBusinessUnitCodeAsOf("MWH.023", LocalDateTime.of(2024, 6, 1, 0, 0)));
+        assertEquals(history.get(1).id, repository.findByBusinessUnitCodeAsOf("MWH.023", LocalDateTime.now()).id);
+    }
+
+    @Test
+    @TestTransaction
+    public void testAsOfLookupIsAnIndexRangeScan() {
+        // The tables are tiny here; with sequential scans ruled out the plan shows whether the index
+        // can serve both the range and the order, i.e. without a sort step.
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        List<?> rows = entityManager.createNativeQuery("""
+                EXPLAIN SELECT * FROM warehouse_archive
+                WHERE businessUnitCode = 'MWH.001' AND createdAt <= now()
+                ORDER BY createdAt DESC LIMIT 1""", String.class).getResultList();
+        String plan = rows.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+
+        assertTrue(plan.contains("Index Scan Backward using warehouse_archive_buc_created_idx"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
 }
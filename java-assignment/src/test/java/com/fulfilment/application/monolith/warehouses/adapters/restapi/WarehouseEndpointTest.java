@@ -3,9 +3,17 @@ package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import com.fulfilment.application.monolith.sqlaccounting.SqlBudget;
+import io.agroal.api.AgroalDataSource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -17,7 +25,11 @@ class WarehouseEndpointTest {
 
   private static final String BASE_PATH = "warehouse";
 
+  @Inject
+  AgroalDataSource dataSource;
+
   @Test
+  @SqlBudget(statements = 1)
   @Order(1)
   void testSimpleListWarehouses() {
     given()
@@ -29,6 +41,7 @@ class WarehouseEndpointTest {
   }
 
   @Test
+  @SqlBudget(statements = 1)
   @Order(2)
   void testGetWarehouseById() {
     given()
@@ -40,6 +53,7 @@ class WarehouseEndpointTest {
   }
 
   @Test
+  @SqlBudget(statements = 1)
   @Order(3)
   void testGetWarehouseNotFound_returns404() {
     given().when().get(BASE_PATH + "/999").then().statusCode(404);
@@ -88,6 +102,7 @@ class WarehouseEndpointTest {
   }
 
   @Test
+  @SqlBudget(statements = 3)
   @Order(6)
   void testSimpleCheckingArchivingWarehouses() {
     // List all, should have all 3 warehouses
@@ -161,6 +176,7 @@ class WarehouseEndpointTest {
   }
 
   @Test
+  @SqlBudget(statements = 6)
   @Order(9)
   void testReplaceWarehouse_success() {
     String payload = """
@@ -201,4 +217,83 @@ class WarehouseEndpointTest {
         .statusCode(400)
         .body(containsString("must match the current stock"));
   }
+
+  @Test
+  @SqlBudget(statements = 1)
+  @Order(11)
+  void testHistoryListsArchivedAndActiveVersions() {
+    given()
+        .when()
+        .get(BASE_PATH + "/MWH.012/history")
+        .then()
+        .statusCode(200)
+        .body(containsString("2023-07-01T00:00"), containsString("\"capacity\":80"), containsString("archivedAt"));
+  }
+
+  @Test
+  @SqlBudget(statements = 1)
+  @Order(12)
+  void testHistoryAsOfReturnsVersionActiveThen() {
+    given()
+        .when()
+        .get(BASE_PATH + "/MWH.012/history?asOf=2024-01-01T00:00:00")
+        .then()
+        .statusCode(200)
+        .body(containsString("\"capacity\":50"), not(containsString("\"capacity\":80")));
+  }
+
+  @Test
+  @Order(13)
+  void testHistory_unknownOrBeforeFirstVersion_returns404() {
+    given().when().get(BASE_PATH + "/MWH.999/history").then().statusCode(404);
+    given().when().get(BASE_PATH + "/MWH.012/history?asOf=2020-01-01T00:00:00").then().statusCode(404);
+  }
+
+  @Test
+  @Order(14)
+  void testHistory_invalidAsOf_returns400() {
+    given().when().get(BASE_PATH + "/MWH.012/history?asOf=yesterday").then().statusCode(400);
+  }
+
+  @Test
+  @Order(15)
+  void testArchivingKeepsStoreAndProductLinks() throws SQLException {
+    long warehouseId = given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\": \"MWH.LNK\", \"location\": \"VETSBY-001\", \"capacity\": 10, \"stock\": 1}")
+        .when()
+        .post(BASE_PATH)
+        .then()
+        .statusCode(200)
+        .extract().jsonPath().getLong("id");
+    long storeId = given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"LINKED-STORE\", \"quantityProductsInStock\": 1}")
+        .when().post("store").then().statusCode(201)
+        .extract().jsonPath().getLong("id");
+    long productId = given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"LINKED-PRODUCT\", \"stock\": 1}")
+        .when().post("product").then().statusCode(201)
+        .extract().jsonPath().getLong("id");
+    given().contentType(ContentType.JSON).when().post("store/" + storeId + "/fulfilment/" + warehouseId).then().statusCode(204);
+    given().contentType(ContentType.JSON).when().post("product/" + productId + "/fulfilment/" + warehouseId).then().statusCode(204);
+
+    given().when().delete(BASE_PATH + "/" + warehouseId).then().statusCode(204);
+
+    assertEquals(0, count("SELECT count(*) FROM store_warehouse WHERE warehouse_id = ?", warehouseId));
+    assertEquals(1, count("SELECT count(*) FROM store_warehouse_archive WHERE warehouse_id = ?", warehouseId));
+    assertEquals(1, count("SELECT count(*) FROM product_warehouse_archive WHERE warehouse_id = ?", warehouseId));
+  }
+
+  private long count(String sql, long warehouseId) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setLong(1, warehouseId);
+      try (ResultSet rows = statement.executeQuery()) {
+        rows.next();
+        return rows.getLong(1);
+      }
+    }
+  }
 }
@@ -47,13 +47,13 @@ class ReplaceWarehouseUseCaseTest {
 
         assertDoesNotThrow(() -> useCase.replace(newWarehouse));
 
-        // Old warehouse should be archived
-        ArgumentCaptor<Warehouse> updateCaptor = ArgumentCaptor.forClass(Warehouse.class);
-        verify(warehouseStore).update(updateCaptor.capture());
-        assertNotNull(updateCaptor.getValue().archivedAt);
-
-        // New warehouse should be created
-        verify(warehouseStore).create(newWarehouse);
+        // Old warehouse archived and new one created in one store call
+        ArgumentCaptor<Warehouse> archivedCaptor = ArgumentCaptor.forClass(Warehouse.class);
+        verify(warehouseStore).replace(archivedCaptor.capture(), eq(newWarehouse));
+        assertSame(existing, archivedCaptor.getValue());
+        assertNotNull(archivedCaptor.getValue().archivedAt);
+        verify(warehouseStore, never()).update(any());
+        verify(warehouseStore, never()).create(any());
     }
 
     // ─── Non-existent warehouse ───────────────────────────────────────────────
@@ -68,8 +68,7 @@ class ReplaceWarehouseUseCaseTest {
         WarehouseValidationException ex = assertThrows(WarehouseValidationException.class,
                 () -> useCase.replace(newWarehouse));
         assertTrue(ex.getMessage().contains("No active warehouse found"));
-        verify(warehouseStore, never()).update(any());
-        verify(warehouseStore, never()).create(any());
+        verify(warehouseStore, never()).replace(any(), any());
     }
 
     // ─── Invalid location ─────────────────────────────────────────────────────
@@ -0,0 +1,46 @@
+package com.fulfilment.application.monolith.warmup;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("Warmup Readiness Tests")
+class WarmupReadinessTest {
+
+  @Inject
+  JitWarmup warmup;
+
+  @Test
+  @DisplayName("Readiness turns UP once the warmup has run all iterations")
+  void testReadyAfterWarmup() throws InterruptedException {
+    for (int i = 0; i < 300 && !warmup.isComplete(); i++) {
+      Thread.sleep(100);
+    }
+    assertTrue(warmup.isComplete());
+    assertEquals(50, warmup.completedIterations());
+    assertEquals(10, warmup.completedQueries());
+
+    given()
+        .when()
+        .get("/q/health/ready")
+        .then()
+        .statusCode(200)
+        .body("status", is("UP"))
+        .body("checks.find { it.name == 'jit-warmup' }.data.iterations", is(50));
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("warmup_duration_seconds"), containsString("warmup_iterations 50.0"),
+            containsString("warmup_queries 10.0"));
+  }
+}